@@ -0,0 +1,223 @@
+package seprini.benchmark;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import seprini.controllers.components.CollisionComponent;
+import seprini.controllers.components.FlightPlanComponent;
+import seprini.data.Art;
+import seprini.data.Config;
+import seprini.data.FakeArtEnabler;
+import seprini.data.GameDifficulty;
+import seprini.data.GameMode;
+import seprini.data.TextureId;
+import seprini.models.Aircraft;
+import seprini.models.Entrypoint;
+import seprini.models.Waypoint;
+import seprini.models.types.AircraftType;
+
+/**
+ * Measures a single tick of collision and separation detection, the same work
+ * as AircraftController.updateCollision, for growing amounts of traffic.
+ * <p>
+ * Run with: mvn -Pbenchmark -DskipTests verify
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+	/**
+	 * How the aircraft are spread over the airspace
+	 */
+	public enum Distribution {
+		/** evenly over the whole screen, at random flight levels */
+		UNIFORM,
+
+		/**
+		 * in a few tight groups, like around the entry points and airport, at
+		 * random flight levels
+		 */
+		CLUSTERED,
+
+		/**
+		 * on top of each other over a small area, taking turns between the
+		 * flight levels, so many of the close pairs are apart vertically
+		 */
+		STACKED
+	}
+
+	private static final int CLUSTERS = 8;
+	private static final float CLUSTER_SPREAD = 60;
+	private static final float STACK_SIZE = 300;
+
+	// the flight levels aircraft can be told to fly at
+	private static final int FIRST_LEVEL = 3, LEVELS = 3;
+
+	@Param({ "10", "100", "1000", "10000" })
+	int aircraft;
+
+	@Param({ "UNIFORM", "CLUSTERED", "STACKED" })
+	Distribution distribution;
+
+	private final GameDifficulty difficulty = GameDifficulty.MEDIUM;
+
+	private final ArrayList<Aircraft> aircraftList = new ArrayList<Aircraft>();
+
+	private CollisionComponent grid;
+
+	private CountingListener listener;
+
+	/**
+	 * Counts the results, so that the narrow-phase can't be optimised away
+	 */
+	private static class CountingListener implements
+			CollisionComponent.Listener {
+		int collisions, breaches;
+
+		@Override
+		public boolean collisionOccured(Aircraft a, Aircraft b) {
+			collisions++;
+			return false;
+		}
+
+		@Override
+		public void separationBreached(Aircraft a, Aircraft b) {
+			breaches++;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		FakeArtEnabler.enableFakeArt();
+
+		AircraftType type = new AircraftType().setMaxClimbRate(600)
+				.setMinSpeed(30f).setMaxSpeed(90f).setMaxTurningSpeed(48f)
+				.setRadius(15)
+				.setSeparationRadius(difficulty.getSeparationRadius())
+				.setTexture(Art.getTextureRegion(TextureId.AIRCRAFT))
+				.setInitialSpeed(60f);
+
+		ArrayList<Waypoint> waypoints = new ArrayList<Waypoint>();
+		ArrayList<Waypoint> exitpoints = new ArrayList<Waypoint>();
+		ArrayList<Entrypoint> entrypoints = new ArrayList<Entrypoint>();
+
+		waypoints.add(new Waypoint(640, 400, true));
+		exitpoints.add(new Waypoint(Config.SCREEN_WIDTH, 600, true));
+		entrypoints.add(new Entrypoint(0, 120));
+
+		// same traffic every run
+		Random rand = new Random(42);
+
+		FlightPlanComponent flightPlan = new FlightPlanComponent(waypoints,
+				exitpoints, entrypoints, rand.nextLong());
+
+		grid = new CollisionComponent(Math.max(type.getSeparationRadius(),
+				type.getRadius() * 2));
+		listener = new CountingListener();
+
+		float[] clusters = new float[CLUSTERS * 2];
+
+		for (int i = 0; i < CLUSTERS; i++) {
+			clusters[i * 2] = rand.nextFloat() * Config.SCREEN_WIDTH;
+			clusters[i * 2 + 1] = rand.nextFloat() * Config.SCREEN_HEIGHT;
+		}
+
+		for (int i = 0; i < aircraft; i++) {
+			Aircraft a = new Aircraft(type, flightPlan, i, GameMode.SINGLE,
+					difficulty);
+
+			float x, y;
+			int level;
+
+			switch (distribution) {
+			case CLUSTERED:
+				int cluster = rand.nextInt(CLUSTERS);
+				x = clusters[cluster * 2] + (float) rand.nextGaussian()
+						* CLUSTER_SPREAD;
+				y = clusters[cluster * 2 + 1] + (float) rand.nextGaussian()
+						* CLUSTER_SPREAD;
+				level = FIRST_LEVEL + rand.nextInt(LEVELS);
+				break;
+			case STACKED:
+				x = (Config.SCREEN_WIDTH - STACK_SIZE) / 2 + rand.nextFloat()
+						* STACK_SIZE;
+				y = (Config.SCREEN_HEIGHT - STACK_SIZE) / 2
+						+ rand.nextFloat() * STACK_SIZE;
+				level = FIRST_LEVEL + i % LEVELS;
+				break;
+			default:
+				x = rand.nextFloat() * Config.SCREEN_WIDTH;
+				y = rand.nextFloat() * Config.SCREEN_HEIGHT;
+				level = FIRST_LEVEL + rand.nextInt(LEVELS);
+				break;
+			}
+
+			flyToLevel(a, level);
+			a.getCoords().set(x, y);
+
+			aircraftList.add(a);
+			grid.add(a);
+		}
+	}
+
+	/**
+	 * Climbs or descends an aircraft to a flight level, circling so it
+	 * doesn't leave the screen on the way
+	 * 
+	 * @param level
+	 *            index into {@link Config#ALTITUDES}
+	 */
+	private static void flyToLevel(Aircraft a, int level) {
+		a.getCoords().set(Config.SCREEN_WIDTH / 2, Config.SCREEN_HEIGHT / 2);
+		a.turnLeft(true);
+
+		for (int i = 0; i < LEVELS; i++)
+			a.decreaseAltitude();
+
+		for (int i = FIRST_LEVEL; i < level; i++)
+			a.increaseAltitude();
+
+		while (a.getAltitude() != Config.ALTITUDES[level])
+			a.act(0.5f);
+
+		a.turnLeft(false);
+	}
+
+	/**
+	 * Collision and separation detection for every aircraft, as done once
+	 * per simulation tick
+	 */
+	@Benchmark
+	public void tick(Blackhole blackhole) {
+		int verticalSeparation = difficulty.getVerticalSeparationRadius();
+
+		for (int i = 0; i < aircraftList.size(); i++) {
+			Aircraft a = aircraftList.get(i);
+
+			a.setBreaching(false);
+			grid.test(a, verticalSeparation, listener);
+		}
+
+		blackhole.consume(listener.collisions);
+		blackhole.consume(listener.breaches);
+	}
+}
@@ -1,12 +1,21 @@
 package seprini;
 
+import java.io.File;
+import java.io.IOException;
+
 import seprini.data.Art;
+import seprini.data.Config;
+import seprini.data.Debug;
+import seprini.data.EventLog;
 import seprini.data.GameDifficulty;
+import seprini.data.Profiler;
 import seprini.screens.EndScreen;
 import seprini.screens.GameScreen;
+import seprini.screens.LoadingScreen;
 import seprini.screens.MenuScreen;
 import seprini.screens.MultiplayerEndScreen;
 import seprini.screens.MultiplayerScreen;
+import seprini.screens.ReplayScreen;
 
 import com.badlogic.gdx.Game;
 
@@ -17,7 +26,29 @@ import com.badlogic.gdx.Game;
 public class ATC extends Game {
 	@Override
 	public void create() {
+		EventLog.startDefault();
+
+		// the menu is shown by the loading screen once it's loaded
 		Art.load();
+		setScreen(new LoadingScreen(this));
+	}
+
+	/**
+	 * Shows the menu screen, or plays the replay given with
+	 * -Dseprini.replay instead
+	 */
+	public void showFirstScreen() {
+		if (Config.REPLAY_FILE != null) {
+			Art.finishLoading();
+
+			try {
+				setScreen(new ReplayScreen(this, new File(Config.REPLAY_FILE)));
+				return;
+			} catch (IOException e) {
+				Debug.error("could not play the replay: " + e.getMessage());
+			}
+		}
+
 		showMenuScreen();
 	}
 
@@ -32,6 +63,7 @@ public class ATC extends Game {
 	 * Shows the game screen based on the selected difficulty
 	 */
 	public void showGameScreen(GameDifficulty difficulty) {
+		Art.finishLoading();
 		setScreen(new GameScreen(this, difficulty));
 	}
 
@@ -41,6 +73,7 @@ public class ATC extends Game {
 	 * @param difficulty
 	 */
 	public void showMultiplayerScreen(GameDifficulty difficulty) {
+		Art.finishLoading();
 		setScreen(new MultiplayerScreen(this, difficulty));
 	}
 
@@ -61,4 +94,14 @@ public class ATC extends Game {
 		setScreen(new MultiplayerEndScreen(this, time, scoreOne, scoreTwo,
 				totalScore));
 	}
+
+	@Override
+	public void dispose() {
+		super.dispose();
+
+		// keep the timings of the session, if the profiler has been used
+		Profiler.dump(Config.PROFILE_FILE);
+
+		EventLog.stop();
+	}
 }
@@ -0,0 +1,102 @@
+package seprini;
+
+import seprini.controllers.AircraftController;
+import seprini.controllers.MultiplayerController;
+import seprini.data.Config;
+import seprini.data.EventLog;
+import seprini.data.GameDifficulty;
+import seprini.data.GameMode;
+import seprini.data.Profiler;
+import seprini.models.Airspace;
+
+/**
+ * Runs games without a window, graphics or sound, as fast as possible. Used
+ * for balancing and regression testing on machines without a display.
+ * <p>
+ * The airspace is still a scene2d group, which is plain Java and doesn't need
+ * a GL context as long as nothing draws it. Nobody controls the aircraft, so
+ * they just follow their flight plans.
+ * <p>
+ * Usage: HeadlessRunner [games] [EASY|MEDIUM|HARD] [SINGLE|MULTI]
+ * [max seconds per game]
+ */
+public class HeadlessRunner {
+
+	/**
+	 * Simulates a single game until it ends or the time limit is reached
+	 * 
+	 * @param difficulty
+	 * @param mode
+	 * @param maxTime
+	 *            game time in seconds after which the game is stopped
+	 * @return the controller of the finished game, to read the results from
+	 */
+	public static AircraftController runGame(GameDifficulty difficulty,
+			GameMode mode, float maxTime) {
+		Airspace airspace = new Airspace();
+
+		AircraftController controller = (mode == GameMode.MULTI) ? new MultiplayerController(
+				difficulty, airspace) : new AircraftController(difficulty,
+				airspace);
+
+		controller.setHeadless(true);
+
+		float step = 1f / Config.SIMULATION_TICK_RATE;
+
+		while (!controller.gameHasEnded && controller.getTimer() < maxTime) {
+			controller.advance(step);
+		}
+
+		return controller;
+	}
+
+	public static void main(String[] args) {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		GameDifficulty difficulty = args.length > 1 ? difficulty(args[1])
+				: GameDifficulty.MEDIUM;
+		GameMode mode = args.length > 2 ? GameMode.valueOf(args[2])
+				: GameMode.SINGLE;
+		float maxTime = args.length > 3 ? Float.parseFloat(args[3]) : 600;
+
+		EventLog.startDefault();
+
+		int crashed = 0;
+		double totalTime = 0, totalScore = 0;
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < games; i++) {
+			AircraftController controller = runGame(difficulty, mode, maxTime);
+
+			if (controller.gameHasEnded)
+				crashed++;
+
+			totalTime += controller.getTimer();
+			totalScore += (mode == GameMode.MULTI) ? ((MultiplayerController) controller)
+					.getTotalScore() : controller.getPlayerScore();
+		}
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.println("games: " + games + " (" + mode + ")");
+		System.out.println("ended by a crash: " + crashed);
+		System.out.println("average game time: " + totalTime / games);
+		System.out.println("average score: " + totalScore / games);
+		System.out.println("real time: " + seconds + "s, "
+				+ (int) (games / seconds * 60) + " games per minute");
+
+		// only written when run with -Dseprini.profile=true
+		Profiler.dump(Config.PROFILE_FILE);
+
+		EventLog.stop();
+	}
+
+	private static GameDifficulty difficulty(String name) {
+		if (name.equalsIgnoreCase("EASY"))
+			return GameDifficulty.EASY;
+		if (name.equalsIgnoreCase("HARD"))
+			return GameDifficulty.HARD;
+
+		return GameDifficulty.MEDIUM;
+	}
+}
@@ -10,7 +10,8 @@ public class Main {
 	public static void main(String[] args) {
 		LwjglApplicationConfiguration cfg = new LwjglApplicationConfiguration();
 		cfg.title = Config.GAME_TITLE;
-		cfg.useGL20 = false;
+		// needed for the frame buffer of the airspace's static layer
+		cfg.useGL20 = true;
 		cfg.width = Config.SCREEN_WIDTH;
 		cfg.height = Config.SCREEN_HEIGHT;
 
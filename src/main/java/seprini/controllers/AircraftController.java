@@ -1,20 +1,37 @@
 package seprini.controllers;
 
 import java.util.ArrayList;
-import java.util.Random;
 
+import seprini.controllers.components.CollisionComponent;
+import seprini.controllers.components.Command;
+import seprini.controllers.components.Command.Action;
+import seprini.controllers.components.CommandQueue;
+import seprini.controllers.components.ConflictProbeComponent;
 import seprini.controllers.components.FlightPlanComponent;
+import seprini.controllers.components.KeyMap;
+import seprini.controllers.components.ReplayRecorder;
+import seprini.controllers.components.SchedulerComponent;
 import seprini.controllers.components.ScoreComponent;
+import seprini.controllers.components.TimestepComponent;
 import seprini.controllers.components.WaypointComponent;
 import seprini.data.Art;
 import seprini.data.Config;
-import seprini.data.Debug;
+import seprini.data.EventLog;
+import seprini.data.EventLog.Event;
 import seprini.data.GameDifficulty;
 import seprini.data.GameMode;
+import seprini.data.GameRandom;
+import seprini.data.GameState;
+import seprini.data.Profiler;
+import seprini.data.Profiler.Phase;
+import seprini.data.TextureId;
 import seprini.models.Aircraft;
+import seprini.models.Airport;
 import seprini.models.Airspace;
+import seprini.models.Explosion;
 import seprini.models.GameMap;
 import seprini.models.Waypoint;
+import seprini.models.WorldSnapshot;
 import seprini.models.types.AircraftType;
 import seprini.models.types.Player;
 
@@ -24,16 +41,38 @@ import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 
-public class AircraftController extends InputListener {
+public class AircraftController extends InputListener implements
+		CollisionComponent.Listener, ConflictProbeComponent.Listener {
 
-	private Random rand = new Random();
+	// the controller's own random choices, the seed of all the others
+	private final GameRandom rand;
+
+	// tells the random choices of the flight plans apart from the
+	// controller's own
+	private final static long FLIGHT_PLAN_SALT = 1;
+
+	// task of timers which are only used for the time they're running
+	private static final Runnable NOTHING = new Runnable() {
+		@Override
+		public void run() {
+		}
+	};
 
 	// aircraft and aircraft type lists
 	private final ArrayList<AircraftType> aircraftTypeList = new ArrayList<AircraftType>();
 	protected final ArrayList<Aircraft> aircraftList = new ArrayList<Aircraft>();
 
-	private float lastGenerated, lastWarned;
-	private boolean breachingSound, breachingIsPlaying, allowRedirection;
+	private boolean breachingSound, allowRedirection;
+
+	// ids of the last aircraft breaching separation, for the event log
+	private final int[] breachingPair = new int[2];
+
+	// time until the next aircraft is generated, and the pause between
+	// separation warnings
+	private SchedulerComponent.Timer spawnTimer, warningCooldown;
+
+	// an aircraft is due but the airspace was full
+	private boolean spawnDue;
 
 	protected Aircraft selectedAircraft;
 
@@ -43,6 +82,20 @@ public class AircraftController extends InputListener {
 	public WaypointComponent waypoints;
 	public FlightPlanComponent flightPlanComponent;
 
+	// broad-phase for collision detection
+	protected final CollisionComponent collisionGrid;
+
+	// predicts separation breaches before they happen
+	protected final ConflictProbeComponent conflictProbe;
+
+	// splits frame time into fixed simulation ticks
+	protected final TimestepComponent timestep = new TimestepComponent(
+			Config.SIMULATION_TICK_RATE, Config.MAX_TICKS_PER_FRAME);
+
+	// game timers, advanced with the simulation
+	protected final SchedulerComponent scheduler = new SchedulerComponent(
+			timestep.getStep());
+
 	// ui related
 	protected final Airspace airspace;
 
@@ -59,12 +112,38 @@ public class AircraftController extends InputListener {
 
 	protected GameMode mode;
 
-	// public variables to keep track of game state
-	public boolean paused, exitToMenu, gameHasEnded;
+	// public variables to keep track of game state, read by the screen while
+	// the simulation thread may be changing them
+	public volatile boolean paused, exitToMenu, gameHasEnded;
+
+	// times faster than real time the game runs, 0 for as fast as it can
+	private volatile int timeScale = 1;
+
+	protected GameState state = GameState.PLAYING;
+
+	// the crash which is ending the game, and how long ago it happened
+	protected Aircraft crashedAircraft;
+	private Explosion explosion;
+	private float crashTime;
+
+	// sounds and other presentation, none when running headless
+	protected final ArrayList<GameListener> listeners = new ArrayList<GameListener>();
+
+	// skips the delays which are only there for the player to see
+	private boolean headless;
 
 	// lives until the game ends
 	protected int[] lives = { 2, 2 };
 
+	// player commands, applied at the start of each tick
+	protected final CommandQueue commands = new CommandQueue();
+
+	// command of each key
+	protected final KeyMap keys = new KeyMap();
+
+	// writes the game to a replay, if it's being recorded
+	private ReplayRecorder recorder;
+
 	/**
 	 * 
 	 * @param diff
@@ -75,6 +154,17 @@ public class AircraftController extends InputListener {
 	 *            added
 	 */
 	public AircraftController(GameDifficulty diff, Airspace airspace) {
+		this(diff, airspace, new GameRandom().getSeed());
+	}
+
+	/**
+	 * @param seed
+	 *            of everything random in the game, the same seed and
+	 *            commands always give the same game
+	 */
+	public AircraftController(GameDifficulty diff, Airspace airspace,
+			long seed) {
+		this.rand = new GameRandom(seed);
 		this.difficulty = diff;
 		this.airspace = airspace;
 
@@ -82,12 +172,41 @@ public class AircraftController extends InputListener {
 		aircraftTypeList.add(new AircraftType().setMaxClimbRate(600)
 				.setMinSpeed(30f).setMaxSpeed(90f).setMaxTurningSpeed(48f)
 				.setRadius(15).setSeparationRadius(diff.getSeparationRadius())
-				.setTexture(Art.getTextureRegion("aircraft"))
+				.setTexture(Art.getTextureRegion(TextureId.AIRCRAFT))
 				.setInitialSpeed(60f));
 
+		scheduleSpawn();
+
+		this.collisionGrid = new CollisionComponent(largestTestedDistance());
+		this.conflictProbe = new ConflictProbeComponent(
+				Config.CONFLICT_PROBE_HORIZON, diff.getVelocityMultiplier(),
+				collisionGrid);
+		conflictProbe.addListener(this);
+
 		this.init();
 	}
 
+	/**
+	 * Starts the timer for the next aircraft, replacing the current one. The
+	 * time between aircraft depends on the difficulty, with a bit of random
+	 * variation.
+	 */
+	private void scheduleSpawn() {
+		spawnDue = false;
+
+		if (spawnTimer != null)
+			spawnTimer.cancel();
+
+		spawnTimer = scheduler.schedule(difficulty.getTimeBetweenGenerations()
+				+ rand.nextFloat() * Config.SPAWN_JITTER, new Runnable() {
+			@Override
+			public void run() {
+				// generated in update, once there's room for it
+				spawnDue = true;
+			}
+		});
+	}
+
 	/**
 	 * Initialise helpers and main components
 	 */
@@ -101,45 +220,385 @@ public class AircraftController extends InputListener {
 		this.waypoints = new WaypointComponent(this, GameMode.SINGLE);
 
 		// helper for creating the flight plan of an aircraft
-		this.flightPlanComponent = new FlightPlanComponent(waypoints);
+		this.flightPlanComponent = new FlightPlanComponent(waypoints,
+				flightPlanSeed());
+
+		keys.bind(players[Player.ONE], false);
+	}
+
+	/**
+	 * Advances the game by the time of a rendered frame. The simulation runs
+	 * in fixed size ticks so it behaves the same at any frame rate; the
+	 * remainder is passed to the airspace to interpolate the drawn positions.
+	 * 
+	 * @param frameDelta
+	 *            seconds since the last frame
+	 * @return number of ticks which were run
+	 */
+	public int advance(float frameDelta) {
+		if (state == GameState.CRASHED) {
+			updateCrash(frameDelta);
+			return 0;
+		}
+
+		int scale = timeScale;
+
+		if (scale == 0)
+			return advanceUnbounded();
+
+		int ticks = timestep.advance(frameDelta * scale,
+				Config.MAX_TICKS_PER_FRAME * scale);
+
+		for (int i = 0; i < ticks && state == GameState.PLAYING; i++)
+			tick();
+
+		// faster than real time only where the last tick left the aircraft
+		// is shown, there's nothing to smooth between frames
+		airspace.setInterpolationAlpha(scale == 1 ? timestep.getAlpha() : 1);
+
+		return ticks;
+	}
+
+	/**
+	 * Runs ticks until {@link Config#UNBOUNDED_FRAME_NANOS} have passed, so
+	 * the frames still get drawn
+	 */
+	private int advanceUnbounded() {
+		long end = System.nanoTime() + Config.UNBOUNDED_FRAME_NANOS;
+		int ticks = 0;
+
+		while (state == GameState.PLAYING
+				&& (ticks == 0 || System.nanoTime() < end)) {
+			tick();
+			ticks++;
+		}
+
+		timestep.skip(ticks);
+		airspace.setInterpolationAlpha(1);
+
+		return ticks;
+	}
+
+	/**
+	 * Sets how much faster than real time the game runs. Every tick is still
+	 * run, with its separation and collision checks, only more of them for
+	 * each frame.
+	 *
+	 * @param timeScale
+	 *            one of {@link Config#TIME_SCALES}, 0 runs as many ticks as
+	 *            fit in a frame
+	 */
+	public void setTimeScale(int timeScale) {
+		if (timeScale < 0)
+			throw new IllegalArgumentException("timeScale can't be negative");
+
+		this.timeScale = timeScale;
+	}
+
+	public int getTimeScale() {
+		return timeScale;
+	}
+
+	/**
+	 * Switches to the next of {@link Config#TIME_SCALES}, after the fastest
+	 * back to real time
+	 */
+	public void nextTimeScale() {
+		int next = 0;
+
+		for (int i = 0; i < Config.TIME_SCALES.length; i++) {
+			if (Config.TIME_SCALES[i] == timeScale)
+				next = (i + 1) % Config.TIME_SCALES.length;
+		}
+
+		setTimeScale(Config.TIME_SCALES[next]);
+	}
+
+	/**
+	 * Runs a single simulation tick, without waiting for the time of it to
+	 * pass
+	 */
+	public void tick() {
+		float step = timestep.getStep();
+
+		long start = Profiler.start();
+		update(step);
+		Profiler.end(Phase.UPDATE, start);
+
+		airspace.step(step);
+
+		if (recorder != null)
+			recorder.endTick(commands.getTick(), aircraftList);
+	}
+
+	/**
+	 * Writes everything which is drawn into a snapshot
+	 */
+	public void writeSnapshot(WorldSnapshot snapshot) {
+		snapshot.step = timestep.getStep();
+
+		snapshot.clearAircraft();
+		airspace.writeAircraft(snapshot);
+
+		if (state == GameState.CRASHED) {
+			snapshot.crashed = true;
+			snapshot.explosionX = explosion.getX();
+			snapshot.explosionY = explosion.getY();
+			snapshot.explosionProgress = crashTime / Config.CRASH_DURATION;
+		}
+
+		writeHud(snapshot);
+	}
+
+	/**
+	 * Writes what the sidebar or overlay shows into a snapshot
+	 */
+	public void writeHud(WorldSnapshot snapshot) {
+		snapshot.timer = timer;
+		snapshot.score = getPlayerScore();
+		snapshot.lives[Player.ONE] = lives[Player.ONE];
+		snapshot.lives[Player.TWO] = lives[Player.TWO];
+
+		Aircraft selected = selectedAircraft;
+
+		if (selected == null) {
+			snapshot.selectedAltitude = WorldSnapshot.NONE;
+			snapshot.selectedSpeed = WorldSnapshot.NONE;
+			snapshot.turningLeft = snapshot.turningRight = false;
+		} else {
+			snapshot.selectedAltitude = selected.getAltitude();
+			snapshot.selectedSpeed = Math.round(selected.getSpeed()
+					* Config.AIRCRAFT_SPEED_MULTIPLIER);
+			snapshot.turningLeft = selected.isTurningLeft();
+			snapshot.turningRight = selected.isTurningRight();
+		}
+
+		ArrayList<Airport> airports = waypoints.getAirportList();
+
+		for (int i = 0; i < airports.size()
+				&& i < snapshot.airportSlots.length; i++) {
+			Airport airport = airports.get(i);
+
+			for (int j = 0; j < Airport.MAX_AIRCRAFT_NUMBER; j++)
+				snapshot.airportSlots[i][j] = airport.getSlot(j);
+
+			snapshot.takeoffTimeLeft[i] = (int) airport.getTakeoffTimeLeft();
+		}
+	}
+
+	/**
+	 * Queues a player command for the next tick. Can be called from any
+	 * thread.
+	 * 
+	 * @param player
+	 *            player whose selected aircraft the command is for
+	 */
+	public void submit(Action action, int player, int target, int value) {
+		commands.submit(action, player, target, value);
+	}
+
+	public void submit(Action action, int player) {
+		commands.submit(action, player, 0, 0);
+	}
+
+	/**
+	 * Queues a command for the tick it's stamped with, e.g. from a replay
+	 */
+	public void submit(Command command) {
+		commands.submit(command);
+	}
+
+	/**
+	 * Records the game from the next tick on
+	 */
+	public void setRecorder(ReplayRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	/**
+	 * Applies a player command, at the start of a tick
+	 */
+	protected void apply(Command command) {
+		switch (command.action) {
+		case SELECT:
+			selectAircraft(command.target);
+			return;
+
+		case SWITCH:
+			switchAircraft(command.player);
+			return;
+
+		case TOGGLE_REDIRECTION:
+			allowRedirection = !allowRedirection;
+			return;
+
+		case REDIRECT:
+			if (allowRedirection)
+				redirectAircraft(waypoints.getPermanentList().get(
+						command.target));
+			return;
+
+		case TAKEOFF:
+			Airport airport = waypoints.getAirportList().get(command.target);
+
+			if (command.value < airport.aircraftList.size())
+				takeoff(airport.takeoff(command.value));
+			return;
+
+		default:
+			break;
+		}
+
+		// the rest are for the selected aircraft of the player
+		Aircraft aircraft = getSelectedAircraft(command.player);
+
+		if (aircraft == null)
+			return;
+
+		switch (command.action) {
+		case TURN_LEFT:
+			aircraft.turnLeft(command.value != 0);
+			break;
+
+		case TURN_RIGHT:
+			aircraft.turnRight(command.value != 0);
+			break;
+
+		case CLIMB:
+			aircraft.increaseAltitude();
+			break;
+
+		case DESCEND:
+			aircraft.decreaseAltitude();
+			break;
+
+		case ACCELERATE:
+			aircraft.increaseSpeed();
+			break;
+
+		case DECELERATE:
+			aircraft.decreaseSpeed();
+			break;
+
+		case RETURN_TO_PATH:
+			aircraft.returnToPath();
+			break;
+
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Plays the explosion after a crash while the simulation is stopped, then
+	 * ends the game
+	 * 
+	 * @param frameDelta
+	 *            seconds since the last frame
+	 */
+	private void updateCrash(float frameDelta) {
+		crashTime += frameDelta;
+
+		explosion.setProgress(crashTime / Config.CRASH_DURATION);
+
+		if (crashTime >= Config.CRASH_DURATION)
+			endGame();
+	}
+
+	/**
+	 * Stops the simulation and shows an explosion where the aircraft crashed.
+	 * The game ends once the explosion is over, or straight away if nobody is
+	 * watching.
+	 */
+	protected void crash(Aircraft a, Aircraft b) {
+		EventLog.log(Event.CRASH, a.getId(), b.getId(), 0);
+		fireCrashed(a, b);
+
+		crashedAircraft = a;
+
+		if (headless) {
+			endGame();
+			return;
+		}
+
+		state = GameState.CRASHED;
+		crashTime = 0;
+
+		explosion = new Explosion((a.getX() + b.getX()) / 2,
+				(a.getY() + b.getY()) / 2);
+		airspace.addActor(explosion);
+	}
+
+	/**
+	 * Ends the game, which makes the screen move on to the end screen
+	 */
+	protected void endGame() {
+		state = GameState.ENDED;
+		gameHasEnded = true;
 	}
 
 	/**
 	 * Updates the aircraft positions. Generates a new aircraft and adds it to
 	 * the stage. Collision Detection. Removes aircraft if inactive.
-	 * 
-	 * @throws InterruptedException
 	 */
-	public void update(float delta) throws InterruptedException {
+	public void update(float delta) {
+		if (state != GameState.PLAYING)
+			return;
+
+		// apply what the players have done since the last tick
+		commands.startTick();
+
+		Command command;
+		while ((command = commands.poll()) != null) {
+			if (recorder != null)
+				recorder.command(commands.getTick(), command);
+
+			apply(command);
+		}
+
 		// Update timer
 		timer += delta;
 		// Update score
 		// score += difficulty.getScoreMultiplier() * delta;
 
-		breachingSound = false;
+		// run the timers which have expired
+		scheduler.update(delta);
 
-		// wait at least 2 seconds before allowing to warn again
-		breachingIsPlaying = (timer - lastWarned < 2);
+		breachingSound = false;
 
 		// Checks for collisions or separation rule breaches and
 		// removes aircraft which are no longer active from aircraftList.
+		long start = Profiler.start();
 		updateCollision();
+		Profiler.end(Phase.COLLISION, start);
+
+		// a crash stops everything else
+		if (state != GameState.PLAYING)
+			return;
+
+		// Warns about separation breaches which are likely to happen soon
+		conflictProbe.update(aircraftList, timer,
+				difficulty.getVerticalSeparationRadius());
 
 		// make sure the breaching sound plays only when a separation breach
 		// occurs. Also makes sure it start playing it only one time so there
 		// aren't multiple warning sounds at the same time
-		if (breachingSound && !breachingIsPlaying) {
-			breachingIsPlaying = true;
-			lastWarned = timer;
-			Art.getSound("warning").play(1.0f);
+		if (breachingSound
+				&& (warningCooldown == null || !warningCooldown.isScheduled())) {
+			// wait at least 2 seconds before allowing to warn again
+			warningCooldown = scheduler.schedule(2, NOTHING);
+
+			EventLog.log(Event.BREACH, breachingPair[0], breachingPair[1], 0);
+
+			for (int i = 0; i < listeners.size(); i++)
+				listeners.get(i).separationWarning();
 		}
 
-		// If the number of aircraft is below the maximum permitted and the time
-		// elapsed since the last generation is greater than the preset
-		// time difference between aircraft generated, create a new aircraft
-		if (aircraftList.size() < difficulty.getMaxAircraft()
-				&& timer - lastGenerated > difficulty
-						.getTimeBetweenGenerations() + rand.nextInt(100)) {
+		// If an aircraft is due and the number of aircraft is below the
+		// maximum permitted, create a new aircraft
+		if (spawnDue && aircraftList.size() < difficulty.getMaxAircraft()) {
+			start = Profiler.start();
+
 			final Aircraft generatedAircraft = generateAircraft();
 
 			// makes the aircraft clickable. Once clicked it is set as the
@@ -148,7 +607,8 @@ public class AircraftController extends InputListener {
 
 				@Override
 				public void clicked(InputEvent event, float x, float y) {
-					selectAircraft(generatedAircraft);
+					submit(Action.SELECT, Player.ONE,
+							generatedAircraft.getId(), 0);
 				}
 
 			});
@@ -161,14 +621,62 @@ public class AircraftController extends InputListener {
 			// upon calling root.draw()
 			airspace.addActor(generatedAircraft);
 
-			// play a sound to audibly inform the player that an aircraft has
-			// spawned
-			Art.getSound("ding").play(0.5f);
+			fireAircraftSpawned(generatedAircraft);
+
+			Profiler.end(Phase.SPAWN, start);
 		}
+	}
+
+	/**
+	 * Adds a listener which is told about the events of the game, e.g. to play
+	 * sounds
+	 */
+	public void addGameListener(GameListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Runs the game without a player watching - crashes end the game straight
+	 * away instead of showing the explosion
+	 */
+	public void setHeadless(boolean headless) {
+		this.headless = headless;
+	}
+
+	public boolean isHeadless() {
+		return headless;
+	}
+
+	protected void fireAircraftSpawned(Aircraft aircraft) {
+		for (int i = 0; i < listeners.size(); i++)
+			listeners.get(i).aircraftSpawned(aircraft);
+	}
 
-		// sort aircraft so they appear in the right order
-		airspace.sortAircraft();
+	protected void fireLifeLost(int player) {
+		for (int i = 0; i < listeners.size(); i++)
+			listeners.get(i).lifeLost(player);
+	}
 
+	protected void fireCrashed(Aircraft a, Aircraft b) {
+		for (int i = 0; i < listeners.size(); i++)
+			listeners.get(i).crashed(a, b);
+	}
+
+	/**
+	 * Finds the largest distance at which two aircraft of the known types can
+	 * still interact, used as the cell size of the broad-phase grid
+	 *
+	 * @return the largest separation radius or collision distance
+	 */
+	private float largestTestedDistance() {
+		float largest = 0;
+
+		for (AircraftType type : aircraftTypeList) {
+			largest = Math.max(largest, type.getSeparationRadius());
+			largest = Math.max(largest, type.getRadius() * 2);
+		}
+
+		return largest;
 	}
 
 	/**
@@ -179,10 +687,8 @@ public class AircraftController extends InputListener {
 	 * @return <b>true</b> if player is out of lives, need to end the game <br>
 	 *         <b>false</b> player still has lives, do nothing beside reduce
 	 *         count of lives
-	 * @throws InterruptedException
 	 */
-	protected boolean collisionHasOccured(Aircraft a, Aircraft b)
-			throws InterruptedException {
+	protected boolean collisionHasOccured(Aircraft a, Aircraft b) {
 
 		// if both aircraft have collided it (probably) means they both have
 		// collided last few frames, so do nothing.
@@ -198,26 +704,21 @@ public class AircraftController extends InputListener {
 
 			if (lives[Player.ONE] - 1 > 0) {
 				lives[Player.ONE]--;
-				Art.getSound("lifedown").play(1f);
+				fireLifeLost(Player.ONE);
 				return false;
 			}
 		}
 
-		// stop the ambience sound and play the crash sound
-		Art.getSound("ambience").stop();
-		Art.getSound("crash").play(0.6f);
-
-		// change the screen to the endScreen
-		// TODO: hold the screen for n seconds while asplosion animation is
-		// played, while ceasing all other updates.
-
-		Thread.sleep(3000);
-
-		gameHasEnded = true;
+		crash(a, b);
 
 		return true;
 	}
 
+	@Override
+	public boolean collisionOccured(Aircraft a, Aircraft b) {
+		return collisionHasOccured(a, b);
+	}
+
 	/**
 	 * Handles what happens after the separation rules have been breached
 	 * 
@@ -226,12 +727,33 @@ public class AircraftController extends InputListener {
 	 * @param b
 	 *            second aircraft that breached
 	 */
+	@Override
+	public void separationBreached(Aircraft a, Aircraft b) {
+		separationRulesBreached(a, b);
+	}
+
+	/**
+	 * Tells the listeners that two aircraft are going to breach separation
+	 * unless one of them changes course
+	 */
+	@Override
+	public void conflictPredicted(Aircraft a, Aircraft b,
+			float timeToConflict, float missDistance) {
+		EventLog.log(Event.CONFLICT, a.getId(), b.getId(), timeToConflict,
+				missDistance);
+
+		for (int i = 0; i < listeners.size(); i++)
+			listeners.get(i).conflictPredicted(a, b, timeToConflict);
+	}
+
 	private void separationRulesBreached(Aircraft a, Aircraft b) {
 		// for scoring mechanisms, if applicable
 		a.setBreaching(true);
 		b.setBreaching(true);
 
 		breachingSound = true;
+		breachingPair[0] = a.getId();
+		breachingPair[1] = b.getId();
 	}
 
 	/**
@@ -267,10 +789,10 @@ public class AircraftController extends InputListener {
 		newAircraft.setLineColor(Color.RED);
 
 		aircraftList.add(newAircraft);
+		collisionGrid.add(newAircraft);
 
-		// store the time when an aircraft was last generated to know when to
-		// generate the next aircraft
-		lastGenerated = timer;
+		// the time until the next aircraft starts from now
+		scheduleSpawn();
 
 		return newAircraft;
 	}
@@ -289,6 +811,7 @@ public class AircraftController extends InputListener {
 
 		// removes the aircraft from the list of aircrafts on screen
 		aircraftList.remove(i);
+		collisionGrid.remove(aircraft);
 
 		// adds removed aircrafts' points to player score
 		incrementScore(aircraft);
@@ -322,6 +845,19 @@ public class AircraftController extends InputListener {
 		selectedAircraft.selected(true);
 	}
 
+	/**
+	 * Selects the aircraft with an id, e.g. one clicked in a snapshot. Does
+	 * nothing if it has gone since.
+	 */
+	public void selectAircraft(int id) {
+		for (int i = 0; i < aircraftList.size(); i++) {
+			if (aircraftList.get(i).getId() == id) {
+				selectAircraft(aircraftList.get(i));
+				return;
+			}
+		}
+	}
+
 	/**
 	 * Switch the currently selected aircraft
 	 */
@@ -357,11 +893,12 @@ public class AircraftController extends InputListener {
 	 *            Waypoint to redirect to
 	 */
 	public void redirectAircraft(Waypoint waypoint) {
-		Debug.msg("Redirecting aircraft " + 0 + " to " + waypoint);
-
 		if (getSelectedAircraft() == null)
 			return;
 
+		EventLog.log(Event.REDIRECT, getSelectedAircraft().getId(),
+				waypoint.getX(), waypoint.getY());
+
 		getSelectedAircraft().insertWaypoint(waypoint);
 	}
 
@@ -370,41 +907,27 @@ public class AircraftController extends InputListener {
 	 * Enables Keyboard Shortcuts as alternatives to the on screen buttons
 	 */
 	public boolean keyDown(InputEvent event, int keycode) {
-		if (!paused) {
-
-			if (selectedAircraft != null) {
-				if (keycode == selectedAircraft.getPlayer().getLeft())
-					selectedAircraft.turnLeft(true);
+		Action action = keys.action(keycode);
 
-				if (keycode == selectedAircraft.getPlayer().getRight())
-					selectedAircraft.turnRight(true);
-
-				if (keycode == selectedAircraft.getPlayer().getAltIncrease())
-					selectedAircraft.increaseAltitude();
-
-				if (keycode == selectedAircraft.getPlayer().getAltDecrease())
-					selectedAircraft.decreaseAltitude();
-
-				if (keycode == selectedAircraft.getPlayer().getSpeedIncrease())
-					selectedAircraft.increaseSpeed();
-
-				if (keycode == selectedAircraft.getPlayer().getSpeedDecrease())
-					selectedAircraft.decreaseSpeed();
-
-				if (keycode == selectedAircraft.getPlayer().getReturnToPath())
-					selectedAircraft.returnToPath();
-			}
-		}
-
-		if (keycode == players[Player.ONE].getSwitchPlane()) {
-			switchAircraft(Player.ONE);
-		}
+		// turning keys turn until they are released. Only switching aircraft
+		// works while paused
+		if (action != null && (!paused || action == Action.SWITCH))
+			submit(action, keys.player(keycode), keys.target(keycode),
+					isTurn(action) ? 1 : 0);
 
 		if (keycode == Keys.SPACE)
 			paused = !paused;
 
+		if (keycode == Keys.F3)
+			Profiler.enabled = !Profiler.enabled;
+
+		if (keycode == Keys.F4)
+			nextTimeScale();
+
 		if (keycode == Keys.ESCAPE) {
-			Art.getSound("ambience").stop();
+			for (int i = 0; i < listeners.size(); i++)
+				listeners.get(i).exited();
+
 			exitToMenu = true;
 		}
 
@@ -416,20 +939,18 @@ public class AircraftController extends InputListener {
 	 * Enables Keyboard Shortcuts to disable the turn left and turn right buttons on screen
 	 */
 	public boolean keyUp(InputEvent event, int keycode) {
+		Action action = keys.action(keycode);
 
-		if (selectedAircraft != null) {
-
-			if (keycode == selectedAircraft.getPlayer().getLeft())
-				selectedAircraft.turnLeft(false);
-
-			if (keycode == selectedAircraft.getPlayer().getRight())
-				selectedAircraft.turnRight(false);
-
-		}
+		if (isTurn(action))
+			submit(action, keys.player(keycode), 0, 0);
 
 		return false;
 	}
 
+	private static boolean isTurn(Action action) {
+		return action == Action.TURN_LEFT || action == Action.TURN_RIGHT;
+	}
+
 	/**
 	 * Makes an aircraft takeoff from the airport. <br>
 	 * Basically adds to airspace, adds the click listener and starts the
@@ -443,11 +964,13 @@ public class AircraftController extends InputListener {
 		if (aircraft == null)
 			return;
 
+		EventLog.log(Event.TAKEOFF, aircraft.getId());
+
 		aircraft.addListener(new ClickListener() {
 
 			@Override
 			public void clicked(InputEvent event, float x, float y) {
-				selectAircraft(aircraft);
+				submit(Action.SELECT, Player.ONE, aircraft.getId(), 0);
 			}
 
 		});
@@ -460,11 +983,10 @@ public class AircraftController extends InputListener {
 		// upon calling root.draw()
 		airspace.addActor(aircraft);
 
-		// play a sound to inform the player that an aircraft has
-		// spawned
-		Art.getSound("ding").play(0.5f);
+		fireAircraftSpawned(aircraft);
 
 		aircraftList.add(aircraft);
+		collisionGrid.add(aircraft);
 		aircraft.takingOff();
 	}
 
@@ -475,10 +997,8 @@ public class AircraftController extends InputListener {
 
 	/**
 	 * Collision detection for both collisions and breaches of separation rules.
-	 * 
-	 * @throws InterruptedException
 	 */
-	private void updateCollision() throws InterruptedException {
+	private void updateCollision() {
 		// Manages collision detection.
 		for (int i = 0; i < aircraftList.size(); i++) {
 			Aircraft planeI = aircraftList.get(i);
@@ -492,35 +1012,11 @@ public class AircraftController extends InputListener {
 					return;
 			}
 
-			// Collision Detection + Separation breach detection.
-			for (Aircraft planeJ : aircraftList) {
-
-				// Quite simply checks if distance between the centres of both
-				// the aircraft <= the radius of aircraft i + radius of aircraft
-				// j
-
-				if (!planeI.equals(planeJ)
-						// Check difference in altitude.
-						&& Math.abs(planeI.getAltitude() - planeJ.getAltitude()) < Config.MIN_ALTITUDE_DIFFERENCE
-						// Check difference in horizontal 2d plane.
-						&& planeI.getCoords().dst(planeJ.getCoords()) < planeI
-								.getRadius() + planeJ.getRadius()) {
-					if (collisionHasOccured(planeI, planeJ))
-						return;
-				}
-
-				// Checking for breach of separation.
-				if (!planeI.equals(planeJ)
-						// Check difference in altitude.
-						&& Math.abs(planeI.getAltitude() - planeJ.getAltitude()) < difficulty
-								.getVerticalSeparationRadius()
-						// Check difference in horizontal 2d plane.
-						&& planeI.getCoords().dst(planeJ.getCoords()) < planeI
-								.getSeparationRadius()) {
-
-					separationRulesBreached(planeI, planeJ);
-				}
-			}
+			// Collision Detection + Separation breach detection, only against
+			// the aircraft in the neighbouring cells of the grid
+			if (collisionGrid.test(planeI,
+					difficulty.getVerticalSeparationRadius(), this))
+				return;
 
 			// Remove inactive aircraft.
 			if (!planeI.isActive()) {
@@ -529,7 +1025,7 @@ public class AircraftController extends InputListener {
 
 			// This should never happen but...
 			if (planeI.getAltitude() < 0) {
-				gameHasEnded = true;
+				endGame();
 			}
 		}
 	}
@@ -546,10 +1042,25 @@ public class AircraftController extends InputListener {
 		return selectedAircraft;
 	}
 
+	/**
+	 * @return aircraft selected by a player, or null
+	 */
+	protected Aircraft getSelectedAircraft(int player) {
+		return selectedAircraft;
+	}
+
 	public ArrayList<Aircraft> getAircraftList() {
 		return aircraftList;
 	}
 
+	public ConflictProbeComponent getConflictProbe() {
+		return conflictProbe;
+	}
+
+	public SchedulerComponent getScheduler() {
+		return scheduler;
+	}
+
 	public Airspace getAirspace() {
 		return airspace;
 	}
@@ -562,6 +1073,35 @@ public class AircraftController extends InputListener {
 		allowRedirection = value;
 	}
 
+	/**
+	 * @return seed the game was started with
+	 */
+	public long getSeed() {
+		return rand.getSeed();
+	}
+
+	/**
+	 * @return seed of the flight plans, and of the aircraft they are made for
+	 */
+	protected long flightPlanSeed() {
+		return GameRandom.mix(getSeed(), FLIGHT_PLAN_SALT);
+	}
+
+	/**
+	 * @return number of ticks played so far
+	 */
+	public long getTick() {
+		return commands.getTick();
+	}
+
+	public GameState getState() {
+		return state;
+	}
+
+	public GameDifficulty getDifficulty() {
+		return difficulty;
+	}
+
 	public GameMode getGameMode() {
 		return mode;
 	}
@@ -0,0 +1,49 @@
+package seprini.controllers;
+
+import seprini.models.Aircraft;
+
+/**
+ * Receives the events of a game which are of interest to the presentation,
+ * such as sounds. The simulation itself doesn't depend on any of them, so a
+ * game can run without listeners, e.g. headless.
+ */
+public interface GameListener {
+
+	/**
+	 * A new aircraft has entered the airspace, either generated or taking off
+	 */
+	void aircraftSpawned(Aircraft aircraft);
+
+	/**
+	 * Separation rules are being breached. Not called more than once every
+	 * couple of seconds.
+	 */
+	void separationWarning();
+
+	/**
+	 * Two aircraft are going to breach separation if neither changes course.
+	 * Called once for each new prediction.
+	 * 
+	 * @param timeToConflict
+	 *            seconds until separation is breached
+	 */
+	void conflictPredicted(Aircraft a, Aircraft b, float timeToConflict);
+
+	/**
+	 * A collision happened, but the player still has lives left
+	 * 
+	 * @param player
+	 *            the player who lost a life
+	 */
+	void lifeLost(int player);
+
+	/**
+	 * A collision happened which ends the game
+	 */
+	void crashed(Aircraft a, Aircraft b);
+
+	/**
+	 * The player has left the game before it ended
+	 */
+	void exited();
+}
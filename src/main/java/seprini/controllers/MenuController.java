@@ -4,6 +4,7 @@ import java.util.HashMap;
 
 import seprini.data.Art;
 import seprini.data.GameDifficulty;
+import seprini.data.SoundId;
 import seprini.screens.MenuScreen;
 
 import com.badlogic.gdx.Gdx;
@@ -104,7 +105,7 @@ public final class MenuController extends ChangeListener {
 	public void changed(ChangeEvent event, Actor actor) {
 
 		// stop the anthem after entering the game
-		Art.getSound("comeflywithme").stop();
+		Art.getSound(SoundId.COME_FLY_WITH_ME).stop();
 		Art.getSkin().getFont("default").setScale(1f);
 
 		// Pass difficulty to the newly created GameScreen so the game can
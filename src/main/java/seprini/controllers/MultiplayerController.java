@@ -5,19 +5,16 @@ import java.util.ArrayList;
 import seprini.controllers.components.FlightPlanComponent;
 import seprini.controllers.components.ScoreComponent;
 import seprini.controllers.components.WaypointComponent;
-import seprini.data.Art;
 import seprini.data.Config;
 import seprini.data.GameDifficulty;
 import seprini.data.GameMode;
 import seprini.models.Aircraft;
-import seprini.models.Airport;
 import seprini.models.Airspace;
 import seprini.models.GameMap;
+import seprini.models.WorldSnapshot;
 import seprini.models.types.Player;
 
-import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.scenes.scene2d.InputEvent;
 
 public class MultiplayerController extends AircraftController {
 
@@ -44,6 +41,11 @@ public class MultiplayerController extends AircraftController {
 		super(diff, airspace);
 	}
 
+	public MultiplayerController(GameDifficulty diff, Airspace airspace,
+			long seed) {
+		super(diff, airspace, seed);
+	}
+
 	@Override
 	protected void init() {
 		this.mode = GameMode.MULTI;
@@ -55,29 +57,17 @@ public class MultiplayerController extends AircraftController {
 		this.waypoints = new WaypointComponent(this, mode);
 
 		// helper for creating the flight plan of an aircraft
-		this.flightPlanComponent = new FlightPlanComponent(waypoints);
+		this.flightPlanComponent = new FlightPlanComponent(waypoints,
+				flightPlanSeed());
 
+		keys.bind(players[Player.ONE], true);
+		keys.bind(players[Player.TWO], true);
 	}
 
 	@Override
-	public void update(float delta) throws InterruptedException {
+	public void update(float delta) {
 		super.update(delta);
 
-		// Update the timer values in each airport.
-		for (Airport airport : waypoints.getAirportList()) {
-			// resets countdown for boarding times
-			for (int i = 0; i <= 4; i++) {
-				if (airport.countdown[i] <= 0)
-					airport.countdown[i] = Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY;
-				if (airport.timeElapsed[i] >= Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY)
-					airport.timeElapsed[i] = 0;
-			}
-
-			// resets countdown for time between takeoffs
-			if (airport.countdown[5] == 0)
-				airport.countdown[5] = airport.timeTillFreeRunway;
-		}
-
 		// go over the aircraft list, hand over aircraft if they passed the
 		// midline
 		for (Aircraft aircraft : aircraftList) {
@@ -119,8 +109,7 @@ public class MultiplayerController extends AircraftController {
 	 * directs the game to the multiplayer end screen.
 	 */
 	@Override
-	protected boolean collisionHasOccured(Aircraft a, Aircraft b)
-			throws InterruptedException {
+	protected boolean collisionHasOccured(Aircraft a, Aircraft b) {
 		// prevents game from ending if collision occurs in no-mans land.
 		if (withinNoMansLand(a) && withinNoMansLand(b)) {
 			return false;
@@ -140,29 +129,31 @@ public class MultiplayerController extends AircraftController {
 
 			if (withinPlayerZone(a, Player.ONE) && lives[Player.ONE] - 1 != 0) {
 				lives[Player.ONE]--;
-				Art.getSound("lifedown").play(1f);
+				fireLifeLost(Player.ONE);
 				return false;
 			} else if (withinPlayerZone(a, Player.TWO)
 					&& lives[Player.TWO] - 1 != 0) {
 				lives[Player.TWO]--;
-				Art.getSound("lifedown").play(1f);
+				fireLifeLost(Player.TWO);
 				return false;
 			}
 		}
 
-		// stop the ambience sound and play the crash sound
-		Art.getSound("ambience").stop();
-		Art.getSound("crash").play(0.6f);
-
-		// change the screen to the endScreen
-		// TODO: hold the screen for n seconds while asplosion animation is
-		// played, while ceasing all other updates.
+		crash(a, b);
 
-		Thread.sleep(3000);
+		return true;
+	}
 
-		showGameOverMulti(a);
+	/**
+	 * Gives the crash bonus to the player who didn't crash before ending the
+	 * game
+	 */
+	@Override
+	protected void endGame() {
+		super.endGame();
 
-		return true;
+		if (crashedAircraft != null)
+			showGameOverMulti(crashedAircraft);
 	}
 
 	/**
@@ -394,91 +385,12 @@ public class MultiplayerController extends AircraftController {
 		}
 	}
 
-	@Override
 	/**
-	 * Enables Keyboard Shortcuts as alternatives to the on screen buttons
+	 * @return aircraft selected by a player, or null
 	 */
-	public boolean keyDown(InputEvent event, int keycode) {
-		if (!paused) {
-
-			for (int i = 0; i < selectedAircraft.length; i++) {
-
-				if (selectedAircraft[i] != null) {
-					if (keycode == selectedAircraft[i].getPlayer().getLeft())
-						selectedAircraft[i].turnLeft(true);
-
-					if (keycode == selectedAircraft[i].getPlayer().getRight())
-						selectedAircraft[i].turnRight(true);
-
-					if (keycode == selectedAircraft[i].getPlayer()
-							.getAltIncrease())
-						selectedAircraft[i].increaseAltitude();
-
-					if (keycode == selectedAircraft[i].getPlayer()
-							.getAltDecrease())
-						selectedAircraft[i].decreaseAltitude();
-
-					if (keycode == selectedAircraft[i].getPlayer()
-							.getSpeedIncrease())
-						selectedAircraft[i].increaseSpeed();
-
-					if (keycode == selectedAircraft[i].getPlayer()
-							.getSpeedDecrease())
-						selectedAircraft[i].decreaseSpeed();
-
-					if (keycode == selectedAircraft[i].getPlayer()
-							.getReturnToPath())
-						selectedAircraft[i].returnToPath();
-				}
-
-			}
-
-			if (keycode == players[Player.ONE].getTakeoff()) {
-				takeoff(waypoints.getAirportList().get(Player.ONE).takeoff(0));
-			} else if (keycode == players[Player.TWO].getTakeoff()) {
-				takeoff(waypoints.getAirportList().get(Player.TWO).takeoff(0));
-			}
-
-			if (keycode == players[Player.ONE].getSwitchPlane()) {
-				switchAircraft(Player.ONE);
-			} else if (keycode == players[Player.TWO].getSwitchPlane()) {
-				switchAircraft(Player.TWO);
-			}
-
-		}
-
-		if (keycode == Keys.SPACE)
-			paused = !paused;
-
-		if (keycode == Keys.ESCAPE) {
-			Art.getSound("ambience").stop();
-			exitToMenu = true;
-		}
-
-		return false;
-	}
-
 	@Override
-	/**
-	 * Enables Keyboard Shortcuts to disable the turn left and turn right buttons on screen
-	 */
-	public boolean keyUp(InputEvent event, int keycode) {
-
-		for (int i = 0; i < selectedAircraft.length; i++) {
-
-			if (selectedAircraft[i] != null) {
-
-				if (keycode == selectedAircraft[i].getPlayer().getLeft())
-					selectedAircraft[i].turnLeft(false);
-
-				if (keycode == selectedAircraft[i].getPlayer().getRight())
-					selectedAircraft[i].turnRight(false);
-
-			}
-
-		}
-
-		return false;
+	protected Aircraft getSelectedAircraft(int player) {
+		return selectedAircraft[player];
 	}
 
 	/**
@@ -571,6 +483,18 @@ public class MultiplayerController extends AircraftController {
 		addToListByPlayer(aircraft);
 	}
 
+	/**
+	 * Adds the scores of both players to what the overlay shows
+	 */
+	@Override
+	public void writeHud(WorldSnapshot snapshot) {
+		super.writeHud(snapshot);
+
+		snapshot.scores[Player.ONE] = playerScore[Player.ONE].getScore();
+		snapshot.scores[Player.TWO] = playerScore[Player.TWO].getScore();
+		snapshot.totalScore = totalScore.getScore();
+	}
+
 	/**
 	 * Get the player scores in an array
 	 * 
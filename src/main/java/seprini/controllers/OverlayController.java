@@ -3,9 +3,12 @@ package seprini.controllers;
 import java.util.ArrayList;
 import java.util.HashMap;
 
+import seprini.controllers.components.BoundLabel;
+import seprini.controllers.components.Command.Action;
 import seprini.data.Art;
 import seprini.data.Config;
 import seprini.models.Airport;
+import seprini.models.WorldSnapshot;
 
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
@@ -30,6 +33,27 @@ public class OverlayController extends ChangeListener {
 
 	private ArrayList<Airport> airportList = new ArrayList<Airport>();
 
+	// text of an airport slot button, the button is hidden when it's empty
+	private final static BoundLabel.Format SLOT_FORMAT = new BoundLabel.Format() {
+		@Override
+		public void format(int value, StringBuilder text) {
+			if (value == Airport.SLOT_EMPTY)
+				text.append(" ");
+			else if (value == Airport.SLOT_READY)
+				text.append("R!");
+			else
+				text.append("B: ").append(value);
+		}
+	};
+
+	// slot buttons of each airport, and their texts
+	private final TextButton[][] slotButtons =
+			new TextButton[2][Airport.MAX_AIRCRAFT_NUMBER];
+	private final BoundLabel[][] slots =
+			new BoundLabel[2][Airport.MAX_AIRCRAFT_NUMBER];
+
+	private final BoundLabel[] takeoffCountdowns = new BoundLabel[2];
+
 	/**
 	 * Handler for the overlay present in the multiplayer controller
 	 * 
@@ -57,10 +81,14 @@ public class OverlayController extends ChangeListener {
 
 			ui.addActor(landedAircraft[i]);
 
-			for (int j = 0; j <= 4; j++) {
+			for (int j = 0; j < Airport.MAX_AIRCRAFT_NUMBER; j++) {
 				createButton("aircraft" + i + "_" + j, "A", landedAircraft[i],
 						false).width(40);
 				landedAircraft[i].row();
+
+				slotButtons[i][j] = buttons.get("aircraft" + i + "_" + j);
+				slots[i][j] = new BoundLabel(slotButtons[i][j].getLabel(),
+						SLOT_FORMAT);
 			}
 		}
 
@@ -77,58 +105,33 @@ public class OverlayController extends ChangeListener {
 		createLabel("leftTakeoffCountdown", " 0", landedAircraft[0]).width(40);
 		createLabel("rightTakeoffCountdown", " 0", landedAircraft[1]).width(40);
 
+		takeoffCountdowns[LEFT] = new BoundLabel(
+				labels.get("leftTakeoffCountdown"), " ", "");
+		takeoffCountdowns[RIGHT] = new BoundLabel(
+				labels.get("rightTakeoffCountdown"), " ", "");
+
 		airportList = controller.waypoints.getAirportList();
 	}
 
 	/**
-	 * Update the tag texts
+	 * Update the tag texts from what the controller has written into a
+	 * snapshot. Only the ones whose value has changed are updated.
 	 * 
-	 * @param delta
+	 * @param snapshot
 	 */
-	public void update(float delta) {
+	public void update(WorldSnapshot snapshot) {
 
 		// updates timers and text for all of the landed aircraft
-		for (int i = 0; i < controller.waypoints.getAirportList().size(); i++) {
-			Airport airport = controller.waypoints.getAirportList().get(i);
-
-			for (int j = 0; j < 5; j++) {
-				buttons.get("aircraft" + i + "_" + j).setText(" ");
-				buttons.get("aircraft" + i + "_" + j).setVisible(false);
-			}
+		for (int i = 0; i < airportList.size(); i++) {
+			for (int j = 0; j < Airport.MAX_AIRCRAFT_NUMBER; j++) {
+				int slot = snapshot.airportSlots[i][j];
 
-			for (int j = 0; j < airport.waitingAircraft.size(); j++) {
-				buttons.get(
-						"aircraft" + i + "_"
-								+ (j + airport.aircraftList.size()))
-						.setVisible(true);
-				buttons.get(
-						"aircraft" + i + "_"
-								+ (j + airport.aircraftList.size())).setText(
-						"B: " + (int) airport.countdown[j]);
+				slots[i][j].set(slot);
+				slotButtons[i][j].setVisible(slot != Airport.SLOT_EMPTY);
 			}
 
-			for (int j = 0; j < airport.aircraftList.size(); j++) {
-				buttons.get("aircraft" + i + "_" + j).setVisible(true);
-				buttons.get("aircraft" + i + "_" + j).setText("R!");
-			}
+			takeoffCountdowns[i].set(snapshot.takeoffTimeLeft[i]);
 		}
-
-		// update timer for the left takeoff countdown
-		if (airportList.get(0).countdown[5] == 5) {
-			labels.get("leftTakeoffCountdown").setText(" 0");
-		} else {
-			labels.get("leftTakeoffCountdown").setText(
-					" " + (int) airportList.get(0).countdown[5]);
-		}
-
-		// update timer for the right takeoff countdown
-		if (airportList.get(1).countdown[5] == 5) {
-			labels.get("rightTakeoffCountdown").setText(" 0");
-		} else {
-			labels.get("rightTakeoffCountdown").setText(
-					" " + (int) airportList.get(1).countdown[5]);
-		}
-
 	}
 
 	/**
@@ -167,18 +170,14 @@ public class OverlayController extends ChangeListener {
 
 	@Override
 	public void changed(ChangeEvent event, Actor actor) {
-
 		// go through all airports in the screen
-		for (int i = 0; i < controller.waypoints.getAirportList().size(); i++) {
-			Airport airport = controller.waypoints.getAirportList().get(i);
+		for (int i = 0; i < airportList.size(); i++) {
 
-			// go through all buttons, 5 for each airport
-			for (int j = 0; j < 5; j++) {
-				if (actor.equals(buttons.get("aircraft" + i + "_" + j)))
-					controller.takeoff(airport.takeoff(j));
+			// go through all buttons, one for each slot of the airport
+			for (int j = 0; j < Airport.MAX_AIRCRAFT_NUMBER; j++) {
+				if (actor.equals(slotButtons[i][j]))
+					controller.submit(Action.TAKEOFF, i, i, j);
 			}
 		}
-
 	}
-
 }
@@ -0,0 +1,79 @@
+package seprini.controllers;
+
+import seprini.models.Aircraft;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Passes the events of a game running on the simulation thread on to a
+ * listener on the render thread, e.g. so sounds are played from there
+ */
+public class RenderThreadListener implements GameListener {
+
+	private final GameListener listener;
+
+	public RenderThreadListener(GameListener listener) {
+		this.listener = listener;
+	}
+
+	@Override
+	public void aircraftSpawned(final Aircraft aircraft) {
+		Gdx.app.postRunnable(new Runnable() {
+			@Override
+			public void run() {
+				listener.aircraftSpawned(aircraft);
+			}
+		});
+	}
+
+	@Override
+	public void separationWarning() {
+		Gdx.app.postRunnable(new Runnable() {
+			@Override
+			public void run() {
+				listener.separationWarning();
+			}
+		});
+	}
+
+	@Override
+	public void conflictPredicted(final Aircraft a, final Aircraft b,
+			final float timeToConflict) {
+		Gdx.app.postRunnable(new Runnable() {
+			@Override
+			public void run() {
+				listener.conflictPredicted(a, b, timeToConflict);
+			}
+		});
+	}
+
+	@Override
+	public void lifeLost(final int player) {
+		Gdx.app.postRunnable(new Runnable() {
+			@Override
+			public void run() {
+				listener.lifeLost(player);
+			}
+		});
+	}
+
+	@Override
+	public void crashed(final Aircraft a, final Aircraft b) {
+		Gdx.app.postRunnable(new Runnable() {
+			@Override
+			public void run() {
+				listener.crashed(a, b);
+			}
+		});
+	}
+
+	@Override
+	public void exited() {
+		Gdx.app.postRunnable(new Runnable() {
+			@Override
+			public void run() {
+				listener.exited();
+			}
+		});
+	}
+}
@@ -3,10 +3,14 @@ package seprini.controllers;
 import java.util.ArrayList;
 import java.util.HashMap;
 
+import seprini.controllers.components.BoundLabel;
+import seprini.controllers.components.Command.Action;
 import seprini.data.Art;
 import seprini.data.Config;
+import seprini.data.SoundId;
 import seprini.models.Aircraft;
 import seprini.models.Airport;
+import seprini.models.WorldSnapshot;
 import seprini.models.types.Player;
 import seprini.screens.ScreenBase;
 
@@ -24,7 +28,6 @@ public final class SidebarController extends ChangeListener {
 
 	private final AircraftController controller;
 
-	private Aircraft selectedAircraft;
 	private ArrayList<Airport> airportList;
 
 	private final HashMap<String, TextButton> buttons = new HashMap<String, TextButton>();
@@ -35,8 +38,20 @@ public final class SidebarController extends ChangeListener {
 	// UI wrappers for the controls and the buttons at the bottom
 	private Table sidebar, aircraftControls, bottomButtons, landedAircraft;
 
-	// stores state of the turn left/right buttons
-	private boolean turningLeft, turningRight;
+	// set while the sidebar changes its own buttons
+	private boolean updating;
+
+	// labels which are updated every frame, only redrawn when they change
+	private BoundLabel timer, score, lives, speed, altitude;
+
+	// left and right airport
+	private final BoundLabel[] takeoffTimers = new BoundLabel[2];
+	private final BoundLabel[][] slots =
+			new BoundLabel[2][Airport.MAX_AIRCRAFT_NUMBER];
+	private final TextButton[][] slotButtons =
+			new TextButton[2][Airport.MAX_AIRCRAFT_NUMBER];
+
+	private TextButton leftButton, rightButton;
 
 	/**
 	 * 
@@ -55,6 +70,7 @@ public final class SidebarController extends ChangeListener {
 		this.controller = controller;
 		this.screen = screen;
 		this.init();
+		this.bind();
 		this.airportList = controller.waypoints.getAirportList();
 	}
 
@@ -205,120 +221,89 @@ public final class SidebarController extends ChangeListener {
 	}
 
 	/**
-	 * Update the sidebar according to changes in the AircraftController
+	 * Binds the labels and the airport slots, after they have been created
 	 */
-	public void update() {
-		String altitudeText;
-		String speedText;
-
-		// update timer
-		labels.get("timer").setText(
-				"" + (int) Math.round(controller.getTimer()));
-
-		// update score
-		labels.get("score").setText(
-				"" + (int) Math.round(controller.getPlayerScore()));
-
-		// update lives
-		labels.get("lives").setText(
-				"" + controller.getPlayerLives()[Player.ONE]);
-
-		// if there is no selected aircraft, return immediately to avoid errors
-		// otherwise set it to the local selectedAircraft variable and update
-		// the text
-		if ((selectedAircraft = controller.getSelectedAircraft()) == null) {
-			altitudeText = " Altitude: ";
-			speedText = " Speed: ";
-		} else {
-			altitudeText = " Altitude: " + selectedAircraft.getAltitude() + "m";
-			speedText = " Speed: "
-					+ Math.round(selectedAircraft.getSpeed()
-							* Config.AIRCRAFT_SPEED_MULTIPLIER) + "km/h";
-		}
-
-		// force left + right buttons to be checked correctly
-		buttons.get("left").setChecked(
-				selectedAircraft != null && selectedAircraft.isTurningLeft());
-		buttons.get("right").setChecked(
-				selectedAircraft != null && selectedAircraft.isTurningRight());
-
-		// update aircraft altitude text
-		labels.get("altitude").setText(altitudeText);
-
-		// update aircraft speed text
-		labels.get("speed").setText(speedText);
-
-		// resets countdown for boarding times
-		for (Airport airport : controller.waypoints.getAirportList()) {
-			for (int i = 0; i <= 4; i++) {
-				if (airport.countdown[i] <= 0)
-					airport.countdown[i] = Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY;
-				if (airport.timeElapsed[i] >= Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY)
-					airport.timeElapsed[i] = 0;
+	private void bind() {
+		timer = new BoundLabel(labels.get("timer"), "", "");
+		score = new BoundLabel(labels.get("score"), "", "");
+		lives = new BoundLabel(labels.get("lives"), "", "");
+
+		speed = new BoundLabel(labels.get("speed"), new BoundLabel.Format() {
+			@Override
+			public void format(int value, StringBuilder text) {
+				text.append(" Speed: ");
+
+				if (value != WorldSnapshot.NONE)
+					text.append(value).append("km/h");
 			}
+		});
+
+		altitude = new BoundLabel(labels.get("altitude"),
+				new BoundLabel.Format() {
+					@Override
+					public void format(int value, StringBuilder text) {
+						text.append(" Altitude: ");
+
+						if (value != WorldSnapshot.NONE)
+							text.append(value).append("m");
+					}
+				});
+
+		takeoffTimers[0] = new BoundLabel(labels.get("leftTakeoffTimer"),
+				" Left Airport: ", " seconds");
+		takeoffTimers[1] = new BoundLabel(labels.get("rightTakeoffTimer"),
+				" Right Airport: ", " seconds");
+
+		BoundLabel.Format slotFormat = new BoundLabel.Format() {
+			@Override
+			public void format(int value, StringBuilder text) {
+				if (value == Airport.SLOT_EMPTY)
+					text.append(" ");
+				else if (value == Airport.SLOT_READY)
+					text.append("Ready for take off");
+				else
+					text.append("Aircraft boarding: ").append(value);
+			}
+		};
 
-			// resets countdown for time between takeoffs
-			if (airport.countdown[5] == 0)
-				airport.countdown[5] = airport.timeTillFreeRunway;
-		}
-
-		// if there is no selected airport, return immediately to avoid errors
-		// otherwise set it to the local selectedAirport variable and update
-		// the text
-
-		for (int i = 0; i < 5; i++) {
-			buttons.get("leftAircraft" + Integer.toString(i)).setText(" ");
-		}
+		for (int i = 0; i < Airport.MAX_AIRCRAFT_NUMBER; i++) {
+			slotButtons[0][i] = buttons.get("leftAircraft" + i);
+			slotButtons[1][i] = buttons.get("rightAircraft" + i);
 
-		for (int i = 0; i < airportList.get(0).waitingAircraft.size(); i++) {
-			buttons.get(
-					"leftAircraft"
-							+ Integer.toString(airportList.get(0).aircraftList
-									.size() + i)).setText(
-					"Aircraft boarding: "
-							+ (int) airportList.get(0).countdown[i]);
+			slots[0][i] = new BoundLabel(slotButtons[0][i].getLabel(),
+					slotFormat);
+			slots[1][i] = new BoundLabel(slotButtons[1][i].getLabel(),
+					slotFormat);
 		}
 
-		for (int i = 0; i < airportList.get(0).aircraftList.size(); i++) {
-			buttons.get("leftAircraft" + Integer.toString(i)).setText(
-					"Ready for take off");
-		}
+		leftButton = buttons.get("left");
+		rightButton = buttons.get("right");
+	}
 
-		if (airportList.get(0).countdown[5] == 5) {
-			labels.get("leftTakeoffTimer").setText(" Left Airport: 0 seconds");
-		} else {
-			labels.get("leftTakeoffTimer").setText(
-					" Left Airport: " + (int) airportList.get(0).countdown[5]
-							+ " seconds");
-		}
+	/**
+	 * Update the sidebar from what the AircraftController has written into a
+	 * snapshot. Only the labels whose value has changed are updated.
+	 */
+	public void update(WorldSnapshot snapshot) {
+		timer.set((int) Math.round(snapshot.timer));
+		score.set((int) Math.round(snapshot.score));
+		lives.set(snapshot.lives[Player.ONE]);
 
-		for (int i = 0; i < 5; i++) {
-			buttons.get("rightAircraft" + Integer.toString(i)).setText(" ");
-		}
+		altitude.set(snapshot.selectedAltitude);
+		speed.set(snapshot.selectedSpeed);
 
-		for (int i = 0; i < airportList.get(1).waitingAircraft.size(); i++) {
-			buttons.get(
-					"rightAircraft"
-							+ Integer.toString(airportList.get(1).aircraftList
-									.size() + i)).setText(
-					"Aircraft boarding: "
-							+ (int) airportList.get(1).countdown[i]);
-		}
+		// force left + right buttons to be checked correctly
+		updating = true;
+		leftButton.setChecked(snapshot.turningLeft);
+		rightButton.setChecked(snapshot.turningRight);
+		updating = false;
 
-		for (int i = 0; i < airportList.get(1).aircraftList.size(); i++) {
-			buttons.get("rightAircraft" + Integer.toString(i)).setText(
-					"Ready for take off");
-		}
+		for (int i = 0; i < takeoffTimers.length; i++) {
+			for (int j = 0; j < Airport.MAX_AIRCRAFT_NUMBER; j++)
+				slots[i][j].set(snapshot.airportSlots[i][j]);
 
-		if (airportList.get(1).countdown[5] == 5) {
-			labels.get("rightTakeoffTimer")
-					.setText(" Right Airport: 0 seconds");
-		} else {
-			labels.get("rightTakeoffTimer").setText(
-					" Right Aiport: " + (int) airportList.get(1).countdown[5]
-							+ " seconds");
+			takeoffTimers[i].set(snapshot.takeoffTimeLeft[i]);
 		}
-
 	}
 
 	/**
@@ -372,67 +357,61 @@ public final class SidebarController extends ChangeListener {
 
 	@Override
 	public void changed(ChangeEvent event, Actor actor) {
-		if (!screen.isPaused()) {
-
-			if (actor.equals(buttons.get("assignWaypoint")))
-				controller.setAllowRedirection(!controller.allowRedirection());
-
-			if (selectedAircraft != null) {
-				if (actor.equals(buttons.get("returnToPath")))
-					selectedAircraft.returnToPath();
+		// the turn buttons being set to match the aircraft
+		if (updating)
+			return;
 
-				if (actor.equals(buttons.get("left")))
-					selectedAircraft.turnLeft(turningLeft = (!turningLeft));
+		if (!screen.isPaused())
+			submitCommand(actor);
 
-				if (actor.equals(buttons.get("right")))
-					selectedAircraft.turnRight(turningRight = (!turningRight));
-
-				if (actor.equals(buttons.get("up")))
-					selectedAircraft.increaseAltitude();
+		if (actor.equals(buttons.get("menu"))) {
+			Art.getSound(SoundId.AMBIENCE).stop();
+			screen.getGame().showMenuScreen();
+		}
 
-				if (actor.equals(buttons.get("down")))
-					selectedAircraft.decreaseAltitude();
+		if (actor.equals(buttons.get("pause"))) {
+			screen.setPaused(!screen.isPaused());
 
-				if (actor.equals(buttons.get("accelerate")))
-					selectedAircraft.increaseSpeed();
+		}
 
-				if (actor.equals(buttons.get("decelerate")))
-					selectedAircraft.decreaseSpeed();
+	}
 
-			}
+	/**
+	 * Sends the command of a button which controls the game, they are all
+	 * for the aircraft of player one
+	 */
+	private void submitCommand(Actor actor) {
+		if (actor.equals(buttons.get("assignWaypoint")))
+			controller.submit(Action.TOGGLE_REDIRECTION, Player.ONE);
 
-			if ((airportList.get(0).aircraftList.size() != 0)
-					&& (airportList.get(0).takeoffReady)) {
+		if (actor.equals(buttons.get("returnToPath")))
+			controller.submit(Action.RETURN_TO_PATH, Player.ONE);
 
-				for (int i = 0; i < airportList.get(0).aircraftList.size(); i++) {
-					if (actor.equals(buttons.get("leftAircraft" + i)))
-						controller.takeoff(airportList.get(0).takeoff(i));
+		if (actor.equals(leftButton))
+			controller.submit(Action.TURN_LEFT, Player.ONE, 0,
+					leftButton.isChecked() ? 1 : 0);
 
-				}
+		if (actor.equals(rightButton))
+			controller.submit(Action.TURN_RIGHT, Player.ONE, 0,
+					rightButton.isChecked() ? 1 : 0);
 
-			}
+		if (actor.equals(buttons.get("up")))
+			controller.submit(Action.CLIMB, Player.ONE);
 
-			if ((airportList.get(1).aircraftList.size() != 0)
-					&& (airportList.get(1).takeoffReady)) {
+		if (actor.equals(buttons.get("down")))
+			controller.submit(Action.DESCEND, Player.ONE);
 
-				for (int i = 0; i < airportList.get(1).aircraftList.size(); i++) {
-					if (actor.equals(buttons.get("rightAircraft" + i)))
-						controller.takeoff(airportList.get(1).takeoff(i));
+		if (actor.equals(buttons.get("accelerate")))
+			controller.submit(Action.ACCELERATE, Player.ONE);
 
-				}
+		if (actor.equals(buttons.get("decelerate")))
+			controller.submit(Action.DECELERATE, Player.ONE);
 
+		for (int i = 0; i < slotButtons.length; i++) {
+			for (int j = 0; j < Airport.MAX_AIRCRAFT_NUMBER; j++) {
+				if (actor.equals(slotButtons[i][j]))
+					controller.submit(Action.TAKEOFF, Player.ONE, i, j);
 			}
 		}
-
-		if (actor.equals(buttons.get("menu"))) {
-			Art.getSound("ambience").stop();
-			screen.getGame().showMenuScreen();
-		}
-
-		if (actor.equals(buttons.get("pause"))) {
-			screen.setPaused(!screen.isPaused());
-
-		}
-
 	}
 }
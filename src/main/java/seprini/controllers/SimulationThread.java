@@ -0,0 +1,139 @@
+package seprini.controllers;
+
+import java.util.concurrent.locks.LockSupport;
+
+import seprini.controllers.components.Command.Action;
+import seprini.models.Airspace;
+import seprini.models.SnapshotBuffer;
+import seprini.models.WorldSnapshot;
+import seprini.models.types.Player;
+
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.InputListener;
+
+/**
+ * Runs the game on its own thread, so a slow frame doesn't hold up the
+ * simulation and a slow tick doesn't drop frames.
+ * <p>
+ * After its ticks it publishes a snapshot of everything which is drawn, which
+ * the airspace and the HUD draw from. The other way, player commands go
+ * through the controller's command queue. Nothing else is shared between the
+ * two threads.
+ */
+public class SimulationThread extends Thread {
+
+	private final AircraftController controller;
+
+	private final SnapshotBuffer snapshots = new SnapshotBuffer();
+
+	private final long stepNanos;
+
+	private volatile boolean running = true;
+
+	private final InputListener inputListener = new InputListener() {
+
+		/**
+		 * Selects the aircraft which was clicked, as it was drawn
+		 */
+		@Override
+		public boolean touchDown(InputEvent event, float x, float y,
+				int pointer, int button) {
+			if (event.getTarget() != controller.getAirspace())
+				return false;
+
+			WorldSnapshot snapshot = snapshots.latest();
+			int i = snapshot.aircraftAt(x, y);
+
+			if (i == -1)
+				return false;
+
+			controller.submit(Action.SELECT, Player.ONE, snapshot.ids[i], 0);
+
+			return true;
+		}
+	};
+
+	/**
+	 * Makes the game run on this thread, and its airspace draw the snapshots
+	 * this publishes
+	 */
+	public SimulationThread(AircraftController controller) {
+		super("simulation");
+		setDaemon(true);
+
+		this.controller = controller;
+		this.stepNanos = (long) (controller.timestep.getStep() * 1e9);
+
+		controller.getAirspace().setSnapshots(snapshots);
+
+		// something to draw before the first tick
+		publish(System.nanoTime());
+	}
+
+	@Override
+	public void run() {
+		long last = System.nanoTime();
+
+		while (running) {
+			long now = System.nanoTime();
+			float delta = (now - last) / 1e9f;
+			last = now;
+
+			// the time spent paused is skipped
+			if (!controller.paused) {
+				controller.advance(delta);
+				publish(System.nanoTime());
+			}
+
+			long wait = stepNanos - (System.nanoTime() - now);
+
+			if (wait > 0)
+				LockSupport.parkNanos(this, wait);
+		}
+	}
+
+	/**
+	 * Writes and publishes a snapshot
+	 *
+	 * @param now
+	 *            System.nanoTime() after the ticks
+	 */
+	private void publish(long now) {
+		WorldSnapshot snapshot = snapshots.back();
+		Airspace airspace = controller.getAirspace();
+
+		controller.writeSnapshot(snapshot);
+
+		// the time left over after the last tick has already passed
+		snapshot.tickTime = now
+				- (long) (airspace.getInterpolationAlpha() * stepNanos);
+
+		snapshots.publish();
+	}
+
+	/**
+	 * @return listener for the airspace, which selects the aircraft clicked
+	 *         in the snapshot being drawn
+	 */
+	public InputListener getInputListener() {
+		return inputListener;
+	}
+
+	public SnapshotBuffer getSnapshots() {
+		return snapshots;
+	}
+
+	/**
+	 * Stops the thread and waits for it to finish its tick
+	 */
+	public void shutdown() {
+		running = false;
+		LockSupport.unpark(this);
+
+		try {
+			join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package seprini.controllers;
+
+import seprini.data.Art;
+import seprini.data.SoundId;
+import seprini.models.Aircraft;
+
+/**
+ * Plays the sound effects of a game
+ */
+public class SoundController implements GameListener {
+
+	@Override
+	public void aircraftSpawned(Aircraft aircraft) {
+		// audibly inform the player that an aircraft has spawned
+		Art.getSound(SoundId.DING).play(0.5f);
+	}
+
+	@Override
+	public void separationWarning() {
+		Art.getSound(SoundId.WARNING).play(1.0f);
+	}
+
+	@Override
+	public void conflictPredicted(Aircraft a, Aircraft b, float timeToConflict) {
+		// quieter than a breach, there's still time to do something about it
+		Art.getSound(SoundId.WARNING).play(0.3f);
+	}
+
+	@Override
+	public void lifeLost(int player) {
+		Art.getSound(SoundId.LIFE_DOWN).play(1f);
+	}
+
+	@Override
+	public void crashed(Aircraft a, Aircraft b) {
+		// stop the ambience sound and play the crash sound
+		Art.getSound(SoundId.AMBIENCE).stop();
+		Art.getSound(SoundId.CRASH).play(0.6f);
+	}
+
+	@Override
+	public void exited() {
+		Art.getSound(SoundId.AMBIENCE).stop();
+	}
+}
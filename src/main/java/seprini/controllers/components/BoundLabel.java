@@ -0,0 +1,62 @@
+package seprini.controllers.components;
+
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+
+/**
+ * A label showing a single number. The text is only rebuilt, and the label
+ * only laid out again, when the number changes. The text is built in a
+ * StringBuilder which is reused.
+ */
+public class BoundLabel {
+
+	/**
+	 * Turns the number into the text of the label
+	 */
+	public interface Format {
+		void format(int value, StringBuilder text);
+	}
+
+	private final Label label;
+	private final Format format;
+
+	private final StringBuilder text = new StringBuilder();
+
+	private int value;
+	private boolean valid;
+
+	public BoundLabel(Label label, Format format) {
+		this.label = label;
+		this.format = format;
+	}
+
+	/**
+	 * Shows the number between a prefix and a suffix
+	 */
+	public BoundLabel(Label label, final String prefix, final String suffix) {
+		this(label, new Format() {
+			@Override
+			public void format(int value, StringBuilder text) {
+				text.append(prefix).append(value).append(suffix);
+			}
+		});
+	}
+
+	/**
+	 * Shows a new number, does nothing if it's the same as the last one
+	 */
+	public void set(int value) {
+		if (valid && value == this.value)
+			return;
+
+		this.value = value;
+		valid = true;
+
+		text.setLength(0);
+		format.format(value, text);
+		label.setText(text);
+	}
+
+	public Label getLabel() {
+		return label;
+	}
+}
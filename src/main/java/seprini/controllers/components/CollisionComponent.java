@@ -0,0 +1,238 @@
+package seprini.controllers.components;
+
+import java.util.ArrayList;
+
+import seprini.data.Config;
+import seprini.models.Aircraft;
+
+/**
+ * Uniform grid used as the broad-phase for collision and separation
+ * detection.
+ * <p>
+ * Each cell is at least as large as the biggest range that is tested, so only
+ * aircraft in the 3x3 block of cells around an aircraft can ever collide with
+ * or breach the separation of that aircraft. Aircraft outside the screen are
+ * kept in the closest edge cell.
+ */
+public class CollisionComponent {
+
+	/**
+	 * Receives the results of the narrow-phase tests
+	 */
+	public interface Listener {
+		/**
+		 * Called when two aircraft have collided
+		 *
+		 * @return <b>true</b> if testing should stop, for example because the
+		 *         game has ended
+		 */
+		boolean collisionOccured(Aircraft a, Aircraft b);
+
+		/**
+		 * Called when the second aircraft is within the separation radius of
+		 * the first one
+		 */
+		void separationBreached(Aircraft a, Aircraft b);
+	}
+
+	private final float cellSize;
+	private final int columns, rows;
+
+	private final ArrayList<ArrayList<Aircraft>> cells;
+
+	/**
+	 * @param cellSize
+	 *            size of a single cell, must not be smaller than the largest
+	 *            separation radius or collision distance
+	 */
+	public CollisionComponent(float cellSize) {
+		if (cellSize <= 0)
+			throw new IllegalArgumentException("cellSize must be positive");
+
+		this.cellSize = cellSize;
+		this.columns = (int) Math.ceil(Config.SCREEN_WIDTH / cellSize);
+		this.rows = (int) Math.ceil(Config.SCREEN_HEIGHT / cellSize);
+
+		cells = new ArrayList<ArrayList<Aircraft>>(columns * rows);
+
+		for (int i = 0; i < columns * rows; i++) {
+			cells.add(new ArrayList<Aircraft>());
+		}
+	}
+
+	/**
+	 * Adds an aircraft to the grid and makes it update its own cell whenever
+	 * it moves
+	 *
+	 * @param aircraft
+	 */
+	public void add(Aircraft aircraft) {
+		if (aircraft.getCollisionCell() != -1)
+			remove(aircraft);
+
+		int cell = cellOf(aircraft);
+
+		cells.get(cell).add(aircraft);
+		aircraft.setCollisionCell(cell);
+		aircraft.setCollisionGrid(this);
+	}
+
+	/**
+	 * Removes an aircraft from the grid
+	 *
+	 * @param aircraft
+	 */
+	public void remove(Aircraft aircraft) {
+		int cell = aircraft.getCollisionCell();
+
+		if (cell == -1)
+			return;
+
+		removeFromCell(cells.get(cell), aircraft);
+		aircraft.setCollisionCell(-1);
+		aircraft.setCollisionGrid(null);
+	}
+
+	/**
+	 * Moves an aircraft to a different cell if it has crossed a cell border
+	 * since the last call. Does nothing otherwise.
+	 *
+	 * @param aircraft
+	 */
+	public void move(Aircraft aircraft) {
+		int oldCell = aircraft.getCollisionCell();
+
+		if (oldCell == -1)
+			return;
+
+		int newCell = cellOf(aircraft);
+
+		if (newCell == oldCell)
+			return;
+
+		removeFromCell(cells.get(oldCell), aircraft);
+		cells.get(newCell).add(aircraft);
+		aircraft.setCollisionCell(newCell);
+	}
+
+	/**
+	 * Tests an aircraft against every aircraft in the neighbouring cells, for
+	 * both collisions and separation breaches
+	 *
+	 * @param aircraft
+	 *            aircraft to test
+	 * @param verticalSeparation
+	 *            altitude difference under which separation is breached
+	 * @param listener
+	 *            receives collisions and breaches
+	 * @return <b>true</b> if the listener asked to stop testing
+	 */
+	public boolean test(Aircraft aircraft, int verticalSeparation,
+			Listener listener) {
+		int cell = aircraft.getCollisionCell();
+
+		if (cell == -1)
+			return false;
+
+		int column = cell % columns;
+		int row = cell / columns;
+
+		float x = aircraft.getX();
+		float y = aircraft.getY();
+		float separation = aircraft.getSeparationRadius();
+		float separationSquared = separation * separation;
+
+		for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+			for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1,
+					columns - 1); c++) {
+
+				ArrayList<Aircraft> neighbours = cells.get(r * columns + c);
+
+				for (int i = 0; i < neighbours.size(); i++) {
+					Aircraft other = neighbours.get(i);
+
+					if (other == aircraft)
+						continue;
+
+					int altitudeDifference = Math.abs(aircraft.getAltitude()
+							- other.getAltitude());
+
+					float dx = x - other.getX();
+					float dy = y - other.getY();
+					float distanceSquared = dx * dx + dy * dy;
+
+					float collision = aircraft.getRadius() + other.getRadius();
+
+					// Quite simply checks if distance between the centres of
+					// both the aircraft <= the sum of their radii
+					if (altitudeDifference < Config.MIN_ALTITUDE_DIFFERENCE
+							&& distanceSquared < collision * collision) {
+						if (listener.collisionOccured(aircraft, other))
+							return true;
+					}
+
+					// Checking for breach of separation.
+					if (altitudeDifference < verticalSeparation
+							&& distanceSquared < separationSquared) {
+						listener.separationBreached(aircraft, other);
+					}
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Calculates which cell the aircraft is in, clamping to the edges of the
+	 * grid
+	 *
+	 * @param aircraft
+	 * @return index of the cell
+	 */
+	private int cellOf(Aircraft aircraft) {
+		int column = (int) (aircraft.getX() / cellSize);
+		int row = (int) (aircraft.getY() / cellSize);
+
+		if (column < 0)
+			column = 0;
+		else if (column >= columns)
+			column = columns - 1;
+
+		if (row < 0)
+			row = 0;
+		else if (row >= rows)
+			row = rows - 1;
+
+		return row * columns + column;
+	}
+
+	/**
+	 * Removes an aircraft from a cell by swapping it with the last one, since
+	 * the order within a cell doesn't matter
+	 */
+	private static void removeFromCell(ArrayList<Aircraft> cell,
+			Aircraft aircraft) {
+		int index = cell.indexOf(aircraft);
+
+		if (index == -1)
+			return;
+
+		int last = cell.size() - 1;
+
+		cell.set(index, cell.get(last));
+		cell.remove(last);
+	}
+
+	public float getCellSize() {
+		return cellSize;
+	}
+
+	public int getColumns() {
+		return columns;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+}
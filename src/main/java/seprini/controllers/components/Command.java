@@ -0,0 +1,54 @@
+package seprini.controllers.components;
+
+/**
+ * Something a player does to the game, e.g. turning the selected aircraft.
+ * Commands are applied at the start of the tick they are stamped with, so the
+ * same stream of commands always plays out the same way.
+ */
+public final class Command {
+
+	public enum Action {
+		/** selects the aircraft with the id in target */
+		SELECT,
+
+		/** selects the next aircraft of the player */
+		SWITCH,
+
+		/** starts turning if value is 1, stops if it's 0 */
+		TURN_LEFT, TURN_RIGHT,
+
+		CLIMB, DESCEND, ACCELERATE, DECELERATE, RETURN_TO_PATH,
+
+		/** sends the selected aircraft to the waypoint at index target */
+		REDIRECT,
+
+		/** switches whether clicking a waypoint redirects to it */
+		TOGGLE_REDIRECTION,
+
+		/** takes off the aircraft in slot value of airport target */
+		TAKEOFF
+	}
+
+	public final long tick;
+	public final Action action;
+
+	// player whose selected aircraft the command is for
+	public final int player;
+
+	// depend on the action
+	public final int target, value;
+
+	public Command(long tick, Action action, int player, int target, int value) {
+		this.tick = tick;
+		this.action = action;
+		this.player = player;
+		this.target = target;
+		this.value = value;
+	}
+
+	@Override
+	public String toString() {
+		return tick + " " + action + " " + player + " " + target + " "
+				+ value;
+	}
+}
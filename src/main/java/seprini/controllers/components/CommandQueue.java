@@ -0,0 +1,77 @@
+package seprini.controllers.components;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import seprini.controllers.components.Command.Action;
+
+/**
+ * Holds player commands until the tick they are for. Commands can be
+ * submitted from any thread without locking; they are taken out all together
+ * at the start of a tick by the thread the game runs on, so the game never
+ * changes in the middle of a tick.
+ * <p>
+ * Usage, once per tick:
+ *
+ * <pre>
+ * queue.startTick();
+ * Command command;
+ * while ((command = queue.poll()) != null)
+ * 	apply(command);
+ * </pre>
+ */
+public class CommandQueue {
+
+	private final ConcurrentLinkedQueue<Command> pending = new ConcurrentLinkedQueue<Command>();
+
+	// ticks started so far, read when stamping commands from other threads
+	private volatile long tick;
+
+	/**
+	 * Queues a command for the next tick
+	 */
+	public void submit(Action action, int player, int target, int value) {
+		submit(new Command(tick + 1, action, player, target, value));
+	}
+
+	/**
+	 * Queues a command for the tick it is stamped with. Commands must be
+	 * submitted in the order of their ticks.
+	 */
+	public void submit(Command command) {
+		pending.add(command);
+	}
+
+	/**
+	 * Starts the next tick, making its commands due
+	 */
+	public void startTick() {
+		tick++;
+	}
+
+	/**
+	 * @return the next command which is due, i.e. for this tick or one which
+	 *         has been missed, or null if there are none
+	 */
+	public Command poll() {
+		Command command = pending.peek();
+
+		if (command == null || command.tick > tick)
+			return null;
+
+		return pending.poll();
+	}
+
+	/**
+	 * @return number of ticks started so far
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * Drops all the commands which haven't been applied yet
+	 */
+	public void clear() {
+		pending.clear();
+	}
+}
@@ -0,0 +1,532 @@
+package seprini.controllers.components;
+
+import java.util.ArrayList;
+
+import seprini.models.Aircraft;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Short-term conflict alert - predicts when two aircraft are going to breach
+ * separation if they both keep their current velocity and target altitude.
+ * <p>
+ * Every aircraft is only able to reach the straight path ahead of it within
+ * the horizon, so the path it flies while it keeps its course is put into the
+ * cells of the collision grid it crosses. Only aircraft whose paths share a
+ * cell can come into conflict, and a pair is only evaluated when one of the
+ * two paths is put into the grid - when the aircraft changes its heading,
+ * speed or target altitude, or when its path runs out. Flying in a straight
+ * line doesn't change the outcome, so nothing is evaluated in between.
+ */
+public class ConflictProbeComponent {
+
+	/**
+	 * Receives newly predicted conflicts
+	 */
+	public interface Listener {
+		/**
+		 * Called once when a conflict between two aircraft is first predicted
+		 * to happen within the horizon
+		 *
+		 * @param a
+		 * @param b
+		 * @param timeToConflict
+		 *            seconds until separation is breached, 0 if it already is
+		 * @param missDistance
+		 *            distance between the two aircraft at the closest point
+		 *            of approach
+		 */
+		void conflictPredicted(Aircraft a, Aircraft b, float timeToConflict,
+				float missDistance);
+	}
+
+	/**
+	 * Predicted conflict of a pair of aircraft. Times are absolute so they
+	 * stay valid while neither aircraft changes course.
+	 */
+	private static class Prediction {
+		Aircraft a, b;
+		Path pathA, pathB;
+		int revisionA, revisionB;
+		boolean conflict, reported;
+		float enterTime, exitTime, missDistance;
+	}
+
+	/**
+	 * Cells an aircraft flies through while it keeps its course, from when
+	 * they were worked out until a horizon after they expire
+	 */
+	private static class Path {
+		Aircraft aircraft;
+		int revision, lastSeen, visited;
+		float expires;
+		final IntArray cells = new IntArray();
+	}
+
+	private final Pool<Prediction> predictionPool = new Pool<Prediction>() {
+		@Override
+		protected Prediction newObject() {
+			return new Prediction();
+		}
+	};
+
+	private final Pool<Path> pathPool = new Pool<Path>() {
+		@Override
+		protected Path newObject() {
+			return new Path();
+		}
+	};
+
+	private final ArrayList<Listener> listeners = new ArrayList<Listener>();
+
+	// predicted conflicts by pair, and paths by aircraft id
+	private final LongMap<Prediction> conflicts = new LongMap<Prediction>();
+	private final IntMap<Path> paths = new IntMap<Path>();
+
+	// paths crossing each cell of the grid
+	private final ArrayList<ArrayList<Path>> cells;
+
+	// marks the cells of the path being replaced, and of the new one
+	private final int[] oldCells, newCells;
+	private int marks;
+
+	// keys to remove, reused between updates
+	private final LongArray staleConflicts = new LongArray();
+	private final IntArray stalePaths = new IntArray();
+
+	// predictions are worked out into this before they are known to be a
+	// conflict
+	private final Prediction scratch = new Prediction();
+
+	private final float cellSize;
+	private final int columns, rows;
+
+	private final float horizon;
+	private final float velocityMultiplier;
+
+	private int updates, visits;
+
+	// number of pairs predicted, for the tests
+	int evaluations;
+
+	/**
+	 * @param horizon
+	 *            how many seconds ahead to look for conflicts
+	 * @param velocityMultiplier
+	 *            difficulty multiplier applied to the aircraft velocities
+	 * @param grid
+	 *            collision grid, whose cells are at least as large as the
+	 *            separation radius
+	 */
+	public ConflictProbeComponent(float horizon, double velocityMultiplier,
+			CollisionComponent grid) {
+		this.horizon = horizon;
+		this.velocityMultiplier = (float) velocityMultiplier;
+
+		this.cellSize = grid.getCellSize();
+		this.columns = grid.getColumns();
+		this.rows = grid.getRows();
+
+		cells = new ArrayList<ArrayList<Path>>(columns * rows);
+
+		for (int i = 0; i < columns * rows; i++) {
+			cells.add(new ArrayList<Path>());
+		}
+
+		oldCells = new int[columns * rows];
+		newCells = new int[columns * rows];
+	}
+
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Evaluates the pairs of aircraft which may have changed, and flags the
+	 * aircraft which are predicted to be in conflict within the horizon
+	 *
+	 * @param aircraftList
+	 *            aircraft currently in the airspace
+	 * @param time
+	 *            current game time in seconds
+	 * @param verticalSeparation
+	 *            altitude difference under which separation is breached
+	 */
+	public void update(ArrayList<Aircraft> aircraftList, float time,
+			int verticalSeparation) {
+		updates++;
+
+		int known = 0;
+
+		for (int i = 0; i < aircraftList.size(); i++) {
+			Aircraft aircraft = aircraftList.get(i);
+			aircraft.setConflictPredicted(false);
+
+			Path path = paths.get(aircraft.getId());
+
+			if (path != null && path.aircraft == aircraft) {
+				path.lastSeen = updates;
+				known++;
+			}
+		}
+
+		// the paths of the aircraft which have left
+		if (known != paths.size)
+			removeStalePaths();
+
+		for (int i = 0; i < aircraftList.size(); i++) {
+			Aircraft aircraft = aircraftList.get(i);
+			Path path = paths.get(aircraft.getId());
+
+			if (path == null || path.aircraft != aircraft) {
+				path = pathPool.obtain();
+				path.aircraft = aircraft;
+				path.cells.clear();
+				path.lastSeen = updates;
+				paths.put(aircraft.getId(), path);
+
+				insert(path, time, verticalSeparation, true);
+			} else if (path.revision != aircraft.getStateRevision()) {
+				insert(path, time, verticalSeparation, true);
+			} else if (time >= path.expires) {
+				insert(path, time, verticalSeparation, false);
+			}
+		}
+
+		flagConflicts(time);
+	}
+
+	/**
+	 * Puts the path of an aircraft into the grid, replacing its old one, and
+	 * evaluates the aircraft against the paths it shares a cell with
+	 *
+	 * @param changed
+	 *            whether the aircraft has changed course, otherwise only the
+	 *            aircraft whose paths didn't meet the old one are evaluated
+	 */
+	private void insert(Path path, float time, int verticalSeparation,
+			boolean changed) {
+		Aircraft aircraft = path.aircraft;
+		int oldMark = ++marks;
+
+		for (int i = 0; i < path.cells.size; i++) {
+			int cell = path.cells.get(i);
+
+			oldCells[cell] = oldMark;
+			removeFromCell(cells.get(cell), path);
+		}
+
+		path.cells.clear();
+		path.revision = aircraft.getStateRevision();
+		path.expires = time + horizon / 2;
+
+		addCells(path);
+
+		int visit = ++visits;
+
+		for (int i = 0; i < path.cells.size; i++) {
+			int cell = path.cells.get(i);
+
+			// paths which met the old one have already been evaluated
+			if (!changed && oldCells[cell] == oldMark)
+				continue;
+
+			ArrayList<Path> others = cells.get(cell);
+
+			for (int j = 0; j < others.size(); j++) {
+				Path other = others.get(j);
+
+				if (other == path || other.visited == visit)
+					continue;
+
+				other.visited = visit;
+
+				if (!changed && crosses(other, oldMark))
+					continue;
+
+				evaluate(path, other, time, verticalSeparation);
+			}
+		}
+	}
+
+	/**
+	 * Works out the cells the aircraft flies through within the horizon after
+	 * its path expires, widened by half a cell so paths within a separation
+	 * radius of each other share a cell
+	 */
+	private void addCells(Path path) {
+		Aircraft aircraft = path.aircraft;
+		int mark = ++marks;
+
+		float spacing = cellSize / 2;
+		float width = cellSize / 2 + spacing / 2;
+
+		float x = aircraft.getX(), y = aircraft.getY();
+		float length = aircraft.getSpeed() * velocityMultiplier * horizon
+				* 1.5f;
+		int samples = (int) Math.ceil(length / spacing) + 1;
+
+		float stepX = 0, stepY = 0;
+
+		if (length > 0) {
+			stepX = aircraft.getVelocity().x / aircraft.getSpeed() * spacing;
+			stepY = aircraft.getVelocity().y / aircraft.getSpeed() * spacing;
+		}
+
+		boolean entered = false;
+
+		for (int s = 0; s < samples; s++, x += stepX, y += stepY) {
+			int c0 = (int) Math.floor((x - width) / cellSize);
+			int c1 = (int) Math.floor((x + width) / cellSize);
+			int r0 = (int) Math.floor((y - width) / cellSize);
+			int r1 = (int) Math.floor((y + width) / cellSize);
+
+			if (c1 < 0 || r1 < 0 || c0 >= columns || r0 >= rows) {
+				// a straight path doesn't come back once it has left
+				if (entered)
+					break;
+
+				continue;
+			}
+
+			entered = true;
+
+			for (int r = Math.max(r0, 0); r <= Math.min(r1, rows - 1); r++) {
+				for (int c = Math.max(c0, 0); c <= Math.min(c1, columns - 1); c++) {
+					int cell = r * columns + c;
+
+					if (newCells[cell] == mark)
+						continue;
+
+					newCells[cell] = mark;
+					cells.get(cell).add(path);
+					path.cells.add(cell);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return whether a path crosses any of the cells marked
+	 */
+	private boolean crosses(Path path, int mark) {
+		for (int i = 0; i < path.cells.size; i++) {
+			if (oldCells[path.cells.get(i)] == mark)
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Predicts the conflict of a pair, unless it has already been predicted
+	 * for their current courses
+	 */
+	private void evaluate(Path first, Path second, float time,
+			int verticalSeparation) {
+		// always in the same order, so a pair has a single key
+		if (first.aircraft.getId() > second.aircraft.getId()) {
+			Path swap = first;
+			first = second;
+			second = swap;
+		}
+
+		Aircraft a = first.aircraft, b = second.aircraft;
+		long key = pairKey(a, b);
+		Prediction prediction = conflicts.get(key);
+
+		if (prediction != null && prediction.pathA == first
+				&& prediction.pathB == second
+				&& prediction.revisionA == a.getStateRevision()
+				&& prediction.revisionB == b.getStateRevision())
+			return;
+
+		evaluations++;
+		predict(scratch, a, b, time, verticalSeparation);
+
+		if (!scratch.conflict) {
+			if (prediction != null)
+				predictionPool.free(conflicts.remove(key));
+
+			return;
+		}
+
+		if (prediction == null) {
+			prediction = predictionPool.obtain();
+			conflicts.put(key, prediction);
+		}
+
+		// a new course is a new conflict, which is reported again
+		prediction.a = a;
+		prediction.b = b;
+		prediction.pathA = first;
+		prediction.pathB = second;
+		prediction.revisionA = a.getStateRevision();
+		prediction.revisionB = b.getStateRevision();
+		prediction.reported = false;
+		prediction.enterTime = scratch.enterTime;
+		prediction.exitTime = scratch.exitTime;
+		prediction.missDistance = scratch.missDistance;
+	}
+
+	/**
+	 * Calculates when the two aircraft will be within separation distance of
+	 * each other, using their closest point of approach
+	 */
+	private void predict(Prediction prediction, Aircraft a, Aircraft b,
+			float time, int verticalSeparation) {
+		prediction.conflict = false;
+
+		if (Math.abs(a.getTargetAltitude() - b.getTargetAltitude()) >= verticalSeparation)
+			return;
+
+		float separation = Math.max(a.getSeparationRadius(),
+				b.getSeparationRadius());
+
+		// relative position and velocity of b as seen from a
+		float dx = b.getX() - a.getX();
+		float dy = b.getY() - a.getY();
+		float vx = (b.getVelocity().x - a.getVelocity().x) * velocityMultiplier;
+		float vy = (b.getVelocity().y - a.getVelocity().y) * velocityMultiplier;
+
+		float speedSquared = vx * vx + vy * vy;
+		float distanceSquared = dx * dx + dy * dy;
+		float separationSquared = separation * separation;
+
+		if (speedSquared == 0) {
+			// moving together, the distance never changes
+			prediction.missDistance = (float) Math.sqrt(distanceSquared);
+
+			if (distanceSquared < separationSquared) {
+				prediction.conflict = true;
+				prediction.enterTime = time;
+				prediction.exitTime = Float.POSITIVE_INFINITY;
+			}
+			return;
+		}
+
+		// time of closest approach, and the distance at that time
+		float closestTime = -(dx * vx + dy * vy) / speedSquared;
+		float closestX = dx + vx * closestTime;
+		float closestY = dy + vy * closestTime;
+		float missSquared = closestX * closestX + closestY * closestY;
+
+		prediction.missDistance = (float) Math.sqrt(missSquared);
+
+		if (missSquared >= separationSquared)
+			return;
+
+		// half the time spent within the separation radius
+		float halfWidth = (float) Math.sqrt((separationSquared - missSquared)
+				/ speedSquared);
+
+		if (closestTime + halfWidth < 0)
+			return;
+
+		prediction.conflict = true;
+		prediction.enterTime = time + closestTime - halfWidth;
+		prediction.exitTime = time + closestTime + halfWidth;
+	}
+
+	/**
+	 * Flags the aircraft of the conflicts within the horizon, reporting the
+	 * new ones, and drops the conflicts which are over or out of date
+	 */
+	private void flagConflicts(float time) {
+		staleConflicts.clear();
+
+		for (LongMap.Entry<Prediction> entry : conflicts.entries()) {
+			Prediction prediction = entry.value;
+
+			if (!current(prediction.pathA, prediction.a, prediction.revisionA)
+					|| !current(prediction.pathB, prediction.b,
+							prediction.revisionB)
+					|| time >= prediction.exitTime) {
+				staleConflicts.add(entry.key);
+				continue;
+			}
+
+			if (prediction.enterTime - time > horizon)
+				continue;
+
+			Aircraft a = prediction.a, b = prediction.b;
+
+			a.setConflictPredicted(true);
+			b.setConflictPredicted(true);
+
+			if (!prediction.reported) {
+				prediction.reported = true;
+
+				float timeToConflict = Math.max(0, prediction.enterTime - time);
+
+				for (int l = 0; l < listeners.size(); l++) {
+					listeners.get(l).conflictPredicted(a, b, timeToConflict,
+							prediction.missDistance);
+				}
+			}
+		}
+
+		// removing through the iterator of this version of LongMap can skip
+		// or repeat entries, so the keys are collected first
+		for (int i = 0; i < staleConflicts.size; i++) {
+			predictionPool.free(conflicts.remove(staleConflicts.get(i)));
+		}
+	}
+
+	/**
+	 * @return whether the path of an aircraft is still in the grid, for the
+	 *         same course
+	 */
+	private boolean current(Path path, Aircraft aircraft, int revision) {
+		return path.aircraft == aircraft && path.lastSeen == updates
+				&& aircraft.getStateRevision() == revision;
+	}
+
+	/**
+	 * Removes the paths of aircraft which weren't in the last update
+	 */
+	private void removeStalePaths() {
+		stalePaths.clear();
+
+		for (IntMap.Entry<Path> entry : paths.entries()) {
+			if (entry.value.lastSeen != updates)
+				stalePaths.add(entry.key);
+		}
+
+		for (int i = 0; i < stalePaths.size; i++) {
+			Path path = paths.remove(stalePaths.get(i));
+
+			for (int j = 0; j < path.cells.size; j++) {
+				removeFromCell(cells.get(path.cells.get(j)), path);
+			}
+
+			// conflicts still pointing at it are dropped as out of date
+			path.lastSeen = -1;
+			pathPool.free(path);
+		}
+	}
+
+	/**
+	 * Removes a path from a cell by swapping it with the last one, since the
+	 * order within a cell doesn't matter
+	 */
+	private static void removeFromCell(ArrayList<Path> cell, Path path) {
+		int index = cell.indexOf(path);
+
+		if (index == -1)
+			return;
+
+		int last = cell.size() - 1;
+
+		cell.set(index, cell.get(last));
+		cell.remove(last);
+	}
+
+	private static long pairKey(Aircraft a, Aircraft b) {
+		return ((long) a.getId() << 32) | (b.getId() & 0xffffffffL);
+	}
+}
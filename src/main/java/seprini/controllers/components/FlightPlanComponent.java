@@ -1,36 +1,59 @@
 package seprini.controllers.components;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.List;
 
-import seprini.data.Config;
-import seprini.models.Airport;
+import seprini.data.GameRandom;
 import seprini.models.Entrypoint;
+import seprini.models.FlightPlan;
 import seprini.models.Waypoint;
 
-import com.badlogic.gdx.math.Vector2;
-
 public class FlightPlanComponent {
 
-	static Random rand = new Random();
-	private final static double airportGradient = 1.3;
+	private final GameRandom rand;
 
-	private final ArrayList<Waypoint> permanentWaypoints, exitPointList;
 	private final ArrayList<Entrypoint> entryPointList;
 
+	// where the routes come from; only one of the two is set
+	private final WaypointComponent waypoints;
+	private final RouteTable routeTable;
+
 	public FlightPlanComponent(WaypointComponent waypoints) {
+		this(waypoints, new GameRandom().getSeed());
+	}
+
+	/**
+	 * @param seed
+	 *            of the random entry and exit points, and of the aircraft's
+	 *            own random choices
+	 */
+	public FlightPlanComponent(WaypointComponent waypoints, long seed) {
+		this.rand = new GameRandom(seed);
+		this.waypoints = waypoints;
+		this.routeTable = null;
 
-		permanentWaypoints = waypoints.getPermanentList();
-		exitPointList = waypoints.getExitList();
 		entryPointList = waypoints.getEntryList();
 	}
 
 	public FlightPlanComponent(ArrayList<Waypoint> permanentWaypoints,
 			ArrayList<Waypoint> exitPointList,
 			ArrayList<Entrypoint> entryPointList) {
+		this(permanentWaypoints, exitPointList, entryPointList,
+				new GameRandom().getSeed());
+	}
 
-		this.permanentWaypoints = permanentWaypoints;
-		this.exitPointList = exitPointList;
+	/**
+	 * @param seed
+	 *            of the random entry and exit points, and of the aircraft's
+	 *            own random choices
+	 */
+	public FlightPlanComponent(ArrayList<Waypoint> permanentWaypoints,
+			ArrayList<Waypoint> exitPointList,
+			ArrayList<Entrypoint> entryPointList, long seed) {
+		this.rand = new GameRandom(seed);
+		this.waypoints = null;
+		this.routeTable = new RouteTable(permanentWaypoints, exitPointList,
+				entryPointList);
 		this.entryPointList = entryPointList;
 	}
 
@@ -40,17 +63,8 @@ public class FlightPlanComponent {
 	 * 
 	 * @return completeFlightPlan
 	 */
-	public ArrayList<Waypoint> generate() {
-
-		// Initialisation of parameters required by flightPlanWaypointGenerator.
-		ArrayList<Waypoint> flightPlan = new ArrayList<Waypoint>();
-		Waypoint entryWaypoint = setStartpoint();
-		Waypoint lastWaypoint = setEndpoint(entryWaypoint,
-				Config.MIN_DIST_BETWEEN_ENTRY_EXIT_WAYPOINTS);
-		// entryWaypoint immediately added to aircrafts flightPlan.
-		flightPlan.add(entryWaypoint);
-		return flightPlanWaypointGenerator(flightPlan, entryWaypoint,
-				lastWaypoint);
+	public FlightPlan generate() {
+		return generate(setStartpoint());
 	}
 
 	/**
@@ -60,141 +74,48 @@ public class FlightPlanComponent {
 	 * @param entryWaypoint
 	 * @return completeFlightPlan
 	 */
-	public ArrayList<Waypoint> generate(Waypoint entryWaypoint) {
-
-		// Initialisation of parameters required by flightPlanWaypointGenerator.
-		ArrayList<Waypoint> flightPlan = new ArrayList<Waypoint>();
-		Waypoint lastWaypoint = setEndpoint(entryWaypoint,
-				Config.MIN_DIST_BETWEEN_ENTRY_EXIT_WAYPOINTS);
-		// entryWaypoint immediately added to aircrafts flightPlan.
-		flightPlan.add(entryWaypoint);
-		if (entryWaypoint instanceof Airport) {
-			flightPlan.add(((Airport) entryWaypoint).runwayEnd);
-		}
-		return flightPlanWaypointGenerator(flightPlan, entryWaypoint,
-				lastWaypoint);
+	public FlightPlan generate(Waypoint entryWaypoint) {
+		// the route is shared, the flight plan only keeps its place in it
+		return new FlightPlan(route(entryWaypoint));
 	}
 
 	/**
-	 * Adds a selection of waypoints + lastWaypoint to flighPlan.
+	 * Same as {@link #generate(Waypoint)}, but reuses a flight plan which has
+	 * been flown to its end instead of allocating a new one
 	 * 
 	 * @param flightPlan
-	 * @param currentWaypoint
-	 * @param lastWaypoint
-	 * @return completeFlightPlan
+	 *            given the new route
+	 * @param entryWaypoint
 	 */
-	private ArrayList<Waypoint> flightPlanWaypointGenerator(
-			ArrayList<Waypoint> flightPlan, Waypoint currentWaypoint,
-			Waypoint lastWaypoint) {
-
-		// Base Case; self explanatory.
-		if (currentWaypoint.equals(lastWaypoint)) {
-			// create an exception here for if lastWaypoint is an airport.
-			if (lastWaypoint instanceof Airport) {
-				// Check which airport it is and insert the start of the runway
-				// to flightplan.
-				Waypoint previousWaypoint = flightPlan
-						.get(flightPlan.size() - 2);
-				flightPlan.add(flightPlan.size() - 1,
-						((Airport) lastWaypoint).runwayStart);
-				// Now decide which landing waypoint aircraft is to use,
-				// dependent on the previous waypoint's position.
-				if ((previousWaypoint.getX() > airportGradient
-						* previousWaypoint.getY() - lastWaypoint.getY()
-						+ lastWaypoint.getX())) {
-					flightPlan.add(flightPlan.size() - 2,
-							((Airport) lastWaypoint).runwayRight);
-				} else {
-					flightPlan.add(flightPlan.size() - 2,
-							((Airport) lastWaypoint).runwayLeft);
-				}
-			}
-			return flightPlan;
-		}
-
-		else {
-			// Find normal vector from currentWaypoint to lastWaypoint and
-			// normalise.
-			Vector2 normalVectorFromCurrentToLast = (lastWaypoint.getCoords()
-					.cpy().sub(currentWaypoint.getCoords())).nor();
-
-			// Create the list of waypoints for the generator to choose from,
-			// including the final waypoint so that the base case can be
-			// satisfied;
-			ArrayList<Waypoint> waypointSelectionList = new ArrayList<Waypoint>(
-					permanentWaypoints);
-			waypointSelectionList.add(lastWaypoint);
-
-			// Call selectNextWaypoint.
-			Waypoint nextWaypoint = selectNextWaypoint(currentWaypoint,
-					lastWaypoint, flightPlan, normalVectorFromCurrentToLast,
-					waypointSelectionList, 30, 100);
-
-			waypointSelectionList.clear();
-
-			// Recurse with updated flightPlan and nextWaypoint.
-			return flightPlanWaypointGenerator(flightPlan, nextWaypoint,
-					lastWaypoint);
-		}
+	public void generate(FlightPlan flightPlan, Waypoint entryWaypoint) {
+		flightPlan.reset(route(entryWaypoint));
 	}
 
 	/**
-	 * Selects a waypoint to insert into flightPlan, under certain constraints.
-	 * 
-	 * @param currentWaypoint
-	 * @param flightPlan
-	 * @param normalVectorFromCurrentToLast
-	 * @param waypointSelectionList
-	 * @param maxAngle
-	 *            - minimum angle from currentWaypoint to nextWaypoint, where 0
-	 *            degrees is the angle from currentWaypoint to lastWaypoint
-	 * @param minDistance
-	 *            - minimum distance from currentWaypoint to nextWaypoint. Ideal
-	 *            value = diameter of the turning circle of the aircraft.
-	 * @return nextWaypoint
+	 * @return a random route from the entry waypoint
+	 */
+	private List<Waypoint> route(Waypoint entryWaypoint) {
+		RouteTable.Routes routes = getRouteTable().routesFrom(entryWaypoint);
+
+		if (routes.size() == 0)
+			throw new IllegalStateException("No exit point is far enough from "
+					+ entryWaypoint);
+
+		return routes.getRoute(setEndpoint(routes));
+	}
+
+	/**
+	 * @return seed of the random choices of an aircraft, e.g. its altitude
 	 */
-	private static Waypoint selectNextWaypoint(Waypoint currentWaypoint,
-			Waypoint lastWaypoint, ArrayList<Waypoint> flightPlan,
-			Vector2 normalVectorFromCurrentToLast,
-			ArrayList<Waypoint> waypointSelectionList, int maxAngle,
-			int minDistance) {
-		Waypoint nextWaypoint = null;
-
-		for (Waypoint waypoint : waypointSelectionList) {
-			// Find normal vector from current item in waypointSelectionList to
-			// lastWaypoint.
-			Vector2 normalVectorFromCurrentToPotential = new Vector2(waypoint
-					.getCoords().cpy().sub(currentWaypoint.getCoords())).nor();
-			// Check that waypoint in waypointSelectoinList:
-			// 1. Is not already in flighPlan
-			// 2. Angle between normalVectorFromCurrentToPotential and
-			// normalVectorFromCurrentToLast is less than specified maxAngle.
-			// 3. Is minDistance away from currentWaypoint
-			if (!flightPlan.contains(waypoint)
-					// the acos returns a value of radians, which is then
-					// converted to degrees.
-					&& (Math.acos(normalVectorFromCurrentToPotential
-							.dot(normalVectorFromCurrentToLast)) * 180 / Math.PI) < maxAngle
-					&& waypoint.getCoords().dst(currentWaypoint.getCoords()) > minDistance
-					&& waypoint.getCoords().dst(lastWaypoint.getCoords()) > minDistance
-					&& waypoint.getCoords().dst(
-							flightPlan.get(flightPlan.size() - 1).getCoords()) <= lastWaypoint
-							.getCoords().dst(
-									flightPlan.get(flightPlan.size() - 1)
-											.getCoords())) {
-				// If all conditions are met, choose this waypoint as the
-				// nextWaypoint.
-				nextWaypoint = waypoint;
-				break;
-			}
-		}
-		if (nextWaypoint == null) {
-			nextWaypoint = lastWaypoint;
-		}
-
-		// add nextWaypoint to flightPlan.
-		flightPlan.add(nextWaypoint);
-		return nextWaypoint;
+	public long aircraftSeed(int id) {
+		return GameRandom.mix(rand.getSeed(), id);
+	}
+
+	/**
+	 * @return the routes of the current waypoint layout
+	 */
+	private RouteTable getRouteTable() {
+		return (waypoints != null) ? waypoints.getRouteTable() : routeTable;
 	}
 
 	/**
@@ -207,28 +128,15 @@ public class FlightPlanComponent {
 	}
 
 	/**
-	 * Selects random exitpoint from exitpointList, that is at least minDistance
-	 * away from the aircrafts entryWaypoint and doesn't lie on either the same
-	 * x or y coord.
+	 * Selects random exitpoint from the exit points which are far enough from
+	 * the aircraft's entryWaypoint, which were worked out when the route
+	 * table was built.
 	 * 
-	 * @param entryWaypoint
-	 *            - where this aircraft entered the game
-	 * @param minDistance
-	 *            - desired minimum distance between aircraft's entryWaypoint
-	 *            and its exitWaypoint. If this is too low, then this may cause
-	 *            a crash as the function will not be able to find a suitable
-	 *            exit point.
-	 * @return Waypoint
+	 * @param routes
+	 *            - routes from where this aircraft entered the game
+	 * @return index of the chosen exit and its route
 	 */
-	private Waypoint setEndpoint(Waypoint entryWaypoint, int minDistance) {
-		Waypoint chosenExitPoint = exitPointList.get(rand.nextInt(exitPointList
-				.size()));
-		if (chosenExitPoint.getCoords().dst(entryWaypoint.getCoords()) < minDistance
-				|| chosenExitPoint.getCoords().x == entryWaypoint.getCoords().x
-				|| chosenExitPoint.getCoords().y == entryWaypoint.getCoords().y) {
-			chosenExitPoint = setEndpoint(entryWaypoint, minDistance);
-		}
-
-		return chosenExitPoint;
+	private int setEndpoint(RouteTable.Routes routes) {
+		return rand.nextInt(routes.size());
 	}
 }
@@ -0,0 +1,65 @@
+package seprini.controllers.components;
+
+import seprini.controllers.components.Command.Action;
+import seprini.models.types.Player;
+
+/**
+ * Table from key codes to the command of each key, built once from the
+ * players' controls, so a key press is a single lookup
+ */
+public class KeyMap {
+
+	// enough for every key code of libgdx
+	private final static int KEYS = 256;
+
+	private final Action[] actions = new Action[KEYS];
+	private final int[] players = new int[KEYS];
+	private final int[] targets = new int[KEYS];
+
+	/**
+	 * Binds the aircraft controls of a player
+	 *
+	 * @param takeoff
+	 *            whether the player can take off from their airport with a key
+	 */
+	public void bind(Player player, boolean takeoff) {
+		int number = player.getNumber();
+
+		bind(player.getLeft(), Action.TURN_LEFT, number, 0);
+		bind(player.getRight(), Action.TURN_RIGHT, number, 0);
+		bind(player.getAltIncrease(), Action.CLIMB, number, 0);
+		bind(player.getAltDecrease(), Action.DESCEND, number, 0);
+		bind(player.getSpeedIncrease(), Action.ACCELERATE, number, 0);
+		bind(player.getSpeedDecrease(), Action.DECELERATE, number, 0);
+		bind(player.getReturnToPath(), Action.RETURN_TO_PATH, number, 0);
+		bind(player.getSwitchPlane(), Action.SWITCH, number, 0);
+
+		// each player takes off from the airport on their side
+		if (takeoff)
+			bind(player.getTakeoff(), Action.TAKEOFF, number, number);
+	}
+
+	public void bind(int keycode, Action action, int player, int target) {
+		actions[keycode] = action;
+		players[keycode] = player;
+		targets[keycode] = target;
+	}
+
+	/**
+	 * @return action of a key, null if it isn't bound
+	 */
+	public Action action(int keycode) {
+		if (keycode < 0 || keycode >= KEYS)
+			return null;
+
+		return actions[keycode];
+	}
+
+	public int player(int keycode) {
+		return players[keycode];
+	}
+
+	public int target(int keycode) {
+		return targets[keycode];
+	}
+}
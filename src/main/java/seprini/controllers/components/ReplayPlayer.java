@@ -0,0 +1,435 @@
+package seprini.controllers.components;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+
+import seprini.controllers.AircraftController;
+import seprini.controllers.MultiplayerController;
+import seprini.controllers.components.Command.Action;
+import seprini.data.Config;
+import seprini.data.Debug;
+import seprini.data.GameDifficulty;
+import seprini.data.GameMode;
+import seprini.data.GameState;
+import seprini.models.Aircraft;
+import seprini.models.Airspace;
+
+/**
+ * Plays back a game recorded by {@link ReplayRecorder}, by playing it again
+ * from its seed and feeding in the recorded commands at their ticks.
+ * <p>
+ * It can run at 1 to {@link Config#REPLAY_MAX_SPEED} times the normal speed.
+ * Seeking runs the ticks in between as fast as possible. Whenever the game
+ * passes a keyframe, the aircraft are checked against it, so a replay which
+ * doesn't play out the same way it was recorded is noticed.
+ * <p>
+ * To go backwards, a few more games are kept at earlier keyframes, every
+ * {@link Config#REPLAY_CHECKPOINT_KEYFRAMES} keyframes. Seeking back carries
+ * on from the latest of them before the tick, and only starts the game again
+ * if there is none. The game can't be copied, so they are played along with
+ * the replay, a few ticks for every tick it plays.
+ */
+public class ReplayPlayer {
+
+	private final static Action[] ACTIONS = Action.values();
+
+	private final MappedByteBuffer data;
+
+	private final GameMode mode;
+	private final GameDifficulty difficulty;
+	private final long seed;
+
+	// last tick of the recorded game
+	private final long length;
+
+	private final boolean headless;
+
+	private final static int CHECKPOINT_TICKS = Config.REPLAY_CHECKPOINT_KEYFRAMES
+			* Config.REPLAY_KEYFRAME_TICKS;
+
+	/**
+	 * A game played from the recording, and where it is in the recording
+	 */
+	private class Game {
+		final Airspace airspace = new Airspace();
+		final AircraftController controller;
+
+		// offset of the next record to read
+		int position = ReplayRecorder.HEADER_SIZE;
+
+		/**
+		 * Starts the game from the beginning
+		 */
+		Game() {
+			controller = (mode == GameMode.MULTI) ? new MultiplayerController(
+					difficulty, airspace, seed) : new AircraftController(
+					difficulty, airspace, seed);
+			controller.setHeadless(headless);
+		}
+
+		long getTick() {
+			return controller.getTick();
+		}
+
+		/**
+		 * Runs the next tick with its recorded commands
+		 *
+		 * @param check
+		 *            whether to check the game against the keyframe of the
+		 *            last tick
+		 */
+		void tick(boolean check) {
+			long next = controller.getTick() + 1;
+
+			while (position < data.limit()) {
+				byte type = data.get(position);
+
+				if (type == ReplayRecorder.COMMAND
+						&& data.getInt(position + 1) <= next) {
+					controller.submit(readCommand(position));
+				} else if (type == ReplayRecorder.KEYFRAME
+						&& data.getInt(position + 1) < next) {
+					if (check)
+						checkKeyframe(position, controller);
+				} else {
+					break;
+				}
+
+				position += recordSize(position);
+			}
+
+			controller.tick();
+		}
+	}
+
+	// the game being played
+	private Game game;
+
+	// games kept at earlier ticks to seek back from, oldest first
+	private final ArrayList<Game> checkpoints = new ArrayList<Game>();
+
+	private int speed = 1;
+	private boolean paused;
+
+	private final TimestepComponent timestep = new TimestepComponent(
+			Config.SIMULATION_TICK_RATE, Config.MAX_TICKS_PER_FRAME);
+
+	// first tick the game differed from a keyframe, -1 if it never did
+	private long desyncTick = -1;
+
+	/**
+	 * Reads a replay and starts its game
+	 *
+	 * @param headless
+	 *            whether nobody is watching, see
+	 *            {@link AircraftController#setHeadless(boolean)}
+	 */
+	public ReplayPlayer(File from, boolean headless) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(from, "r");
+
+		try {
+			FileChannel channel = file.getChannel();
+			data = channel.map(MapMode.READ_ONLY, 0, channel.size());
+		} finally {
+			file.close();
+		}
+
+		if (data.limit() < ReplayRecorder.HEADER_SIZE
+				|| data.getInt() != ReplayRecorder.MAGIC)
+			throw new IOException(from + " is not a replay");
+
+		if (data.getShort() != ReplayRecorder.VERSION)
+			throw new IOException(from + " is from a different version");
+
+		mode = GameMode.values()[data.get()];
+		difficulty = ReplayRecorder.DIFFICULTIES[data.get()];
+		seed = data.getLong();
+
+		if (data.getInt() != Config.SIMULATION_TICK_RATE)
+			throw new IOException(from + " has a different tick rate");
+
+		this.headless = headless;
+		this.length = findLength();
+
+		game = new Game();
+	}
+
+	/**
+	 * @return tick of the end record, or of the last record if the game
+	 *         didn't close the replay
+	 */
+	private long findLength() {
+		long last = 0;
+		int offset = ReplayRecorder.HEADER_SIZE;
+
+		while (offset < data.limit()) {
+			byte type = data.get(offset);
+
+			if (type == ReplayRecorder.END_OF_DATA)
+				break;
+
+			last = data.getInt(offset + 1);
+
+			if (type == ReplayRecorder.END)
+				break;
+
+			offset += recordSize(offset);
+		}
+
+		return last;
+	}
+
+	private int recordSize(int offset) {
+		switch (data.get(offset)) {
+		case ReplayRecorder.COMMAND:
+			return ReplayRecorder.COMMAND_SIZE;
+
+		case ReplayRecorder.KEYFRAME:
+			return ReplayRecorder.KEYFRAME_SIZE + data.getInt(offset + 5)
+					* ReplayRecorder.KEYFRAME_AIRCRAFT_SIZE;
+
+		default:
+			return ReplayRecorder.END_SIZE;
+		}
+	}
+
+	/**
+	 * Plays the replay for the time of a rendered frame, at the current speed
+	 *
+	 * @param frameDelta
+	 *            seconds since the last frame
+	 */
+	public void advance(float frameDelta) {
+		if (paused)
+			return;
+
+		// the explosion after a crash plays at the normal speed
+		if (game.controller.getState() != GameState.PLAYING) {
+			game.controller.advance(frameDelta);
+			return;
+		}
+
+		int ticks = timestep.advance(frameDelta * speed,
+				Config.MAX_TICKS_PER_FRAME * speed);
+
+		for (int i = 0; i < ticks && !isFinished(); i++)
+			game.tick(true);
+
+		game.airspace.setInterpolationAlpha(timestep.getAlpha());
+
+		moveCheckpoints(ticks * Config.REPLAY_CHECKPOINTS);
+	}
+
+	/**
+	 * Jumps to a tick, going back to the latest game kept before it, or
+	 * playing the game again from the start if there is none
+	 */
+	public void seek(long tick) {
+		tick = Math.max(0, Math.min(length, tick));
+
+		if (tick < game.getTick())
+			game = takeCheckpoint(tick);
+
+		long from = game.getTick();
+
+		while (game.getTick() < tick && !isFinished())
+			game.tick(true);
+
+		timestep.skip(0);
+		game.airspace.setInterpolationAlpha(1);
+
+		moveCheckpoints((int) (game.getTick() - from)
+				* Config.REPLAY_CHECKPOINTS);
+	}
+
+	/**
+	 * Drops the kept games after a tick
+	 *
+	 * @return the latest game kept at or before the tick, taken out of the
+	 *         kept ones, or the game started again
+	 */
+	private Game takeCheckpoint(long tick) {
+		while (!checkpoints.isEmpty()) {
+			Game checkpoint = checkpoints.remove(checkpoints.size() - 1);
+
+			if (checkpoint.getTick() <= tick)
+				return checkpoint;
+		}
+
+		return new Game();
+	}
+
+	/**
+	 * Plays the kept games towards the last checkpoint tick the game has
+	 * passed, one at a time and the oldest first, so they end up at the
+	 * latest checkpoint ticks. Starts new games while fewer than
+	 * {@link Config#REPLAY_CHECKPOINTS} are kept.
+	 *
+	 * @param budget
+	 *            most ticks to play
+	 */
+	private void moveCheckpoints(int budget) {
+		long latest = game.getTick() / CHECKPOINT_TICKS * CHECKPOINT_TICKS;
+
+		while (budget > 0 && latest > 0) {
+			int newest = checkpoints.size() - 1;
+
+			if (newest >= 0 && checkpoints.get(newest).getTick() >= latest)
+				return;
+
+			Game moving = takeMoving();
+
+			while (budget > 0 && moving.getTick() < latest) {
+				moving.tick(false);
+				budget--;
+			}
+
+			// keep them in order
+			int i = checkpoints.size();
+
+			while (i > 0 && checkpoints.get(i - 1).getTick() > moving.getTick())
+				i--;
+
+			checkpoints.add(i, moving);
+		}
+	}
+
+	/**
+	 * @return the kept game which ran out of budget before reaching a
+	 *         checkpoint tick, else a new one if there's room, else the
+	 *         oldest, taken out of the kept ones
+	 */
+	private Game takeMoving() {
+		for (int i = 0; i < checkpoints.size(); i++) {
+			if (checkpoints.get(i).getTick() % CHECKPOINT_TICKS != 0)
+				return checkpoints.remove(i);
+		}
+
+		if (checkpoints.size() < Config.REPLAY_CHECKPOINTS)
+			return new Game();
+
+		return checkpoints.remove(0);
+	}
+
+	private Command readCommand(int offset) {
+		return new Command(data.getInt(offset + 1),
+				ACTIONS[data.get(offset + 5)], data.get(offset + 6),
+				data.getInt(offset + 7), data.getInt(offset + 11));
+	}
+
+	/**
+	 * Compares the aircraft with a keyframe of the tick which has just been
+	 * played
+	 */
+	private void checkKeyframe(int offset, AircraftController controller) {
+		if (desyncTick != -1)
+			return;
+
+		int tick = data.getInt(offset + 1);
+		int count = data.getInt(offset + 5);
+		ArrayList<Aircraft> aircraftList = controller.getAircraftList();
+
+		boolean same = count == aircraftList.size();
+		offset += ReplayRecorder.KEYFRAME_SIZE;
+
+		for (int i = 0; same && i < count; i++) {
+			Aircraft aircraft = aircraftList.get(i);
+
+			same = data.getInt(offset) == aircraft.getId()
+					&& data.getFloat(offset + 4) == aircraft.getX()
+					&& data.getFloat(offset + 8) == aircraft.getY()
+					&& data.getFloat(offset + 12) == aircraft.getRotation()
+					&& data.getInt(offset + 16) == aircraft.getAltitude()
+					&& data.getFloat(offset + 20) == aircraft.getSpeed();
+
+			offset += ReplayRecorder.KEYFRAME_AIRCRAFT_SIZE;
+		}
+
+		if (!same) {
+			desyncTick = tick;
+			Debug.error("the replay has played out differently from tick "
+					+ tick);
+		}
+	}
+
+	/**
+	 * @return whether the whole recording has been played, or the game has
+	 *         stopped with a crash
+	 */
+	public boolean isFinished() {
+		return game.getTick() >= length
+				|| game.controller.getState() != GameState.PLAYING;
+	}
+
+	/**
+	 * @param speed
+	 *            from 1 to {@link Config#REPLAY_MAX_SPEED} times the normal
+	 *            speed
+	 */
+	public void setSpeed(int speed) {
+		this.speed = Math.max(1, Math.min(Config.REPLAY_MAX_SPEED, speed));
+	}
+
+	public int getSpeed() {
+		return speed;
+	}
+
+	public void setPaused(boolean paused) {
+		this.paused = paused;
+	}
+
+	public boolean isPaused() {
+		return paused;
+	}
+
+	/**
+	 * @return the game being played, which is replaced when seeking back
+	 */
+	public AircraftController getController() {
+		return game.controller;
+	}
+
+	/**
+	 * @return airspace of the game, which is replaced when seeking back
+	 */
+	public Airspace getAirspace() {
+		return game.airspace;
+	}
+
+	public long getTick() {
+		return game.getTick();
+	}
+
+	public long getLength() {
+		return length;
+	}
+
+	public GameMode getGameMode() {
+		return mode;
+	}
+
+	/**
+	 * @return first tick at which the game differed from the recording, or
+	 *         -1
+	 */
+	public long getDesyncTick() {
+		return desyncTick;
+	}
+
+	/**
+	 * @return ticks of the games kept to seek back from, oldest first
+	 */
+	long[] getCheckpointTicks() {
+		long[] ticks = new long[checkpoints.size()];
+
+		for (int i = 0; i < ticks.length; i++)
+			ticks[i] = checkpoints.get(i).getTick();
+
+		return ticks;
+	}
+}
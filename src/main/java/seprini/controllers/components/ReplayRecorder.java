@@ -0,0 +1,210 @@
+package seprini.controllers.components;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+
+import seprini.controllers.AircraftController;
+import seprini.data.Config;
+import seprini.data.Debug;
+import seprini.data.GameDifficulty;
+import seprini.models.Aircraft;
+
+/**
+ * Records a game into a replay file, which {@link ReplayPlayer} plays back.
+ * <p>
+ * A game is decided by its seed and the player commands, so that is all
+ * that's needed to play it again. Every {@link Config#REPLAY_KEYFRAME_TICKS}
+ * ticks the state of all the aircraft is written as well, which the player
+ * checks its own game against.
+ * <p>
+ * The file is memory mapped and grows a chunk at a time, so recording a tick
+ * is only a few writes to memory. The part of a chunk which hasn't been
+ * written yet is zeros, which reads as the end of the replay - so the file
+ * is readable even if the game didn't close it.
+ * <p>
+ * Layout, all numbers big endian:
+ *
+ * <pre>
+ * header:   int magic, short version, byte mode, byte difficulty, long seed,
+ *           int tick rate
+ * command:  byte 1, int tick, byte action, byte player, int target, int value
+ * keyframe: byte 2, int tick, int count,
+ *           count * (int id, float x, float y, float rotation,
+ *                    int altitude, float speed)
+ * end:      byte 3, int tick
+ * </pre>
+ */
+public class ReplayRecorder {
+
+	final static int MAGIC = 0x41544352, VERSION = 1;
+
+	final static byte END_OF_DATA = 0, COMMAND = 1, KEYFRAME = 2, END = 3;
+
+	final static int HEADER_SIZE = 20, COMMAND_SIZE = 15, END_SIZE = 5;
+	final static int KEYFRAME_SIZE = 9, KEYFRAME_AIRCRAFT_SIZE = 24;
+
+	// difficulties a replay can be recorded at, by their number in the file
+	final static GameDifficulty[] DIFFICULTIES = { GameDifficulty.EASY,
+			GameDifficulty.MEDIUM, GameDifficulty.HARD };
+
+	// how much of the file is mapped at once
+	private final static int CHUNK = 1 << 20;
+
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+
+	private MappedByteBuffer buffer;
+
+	// offset of the mapped chunk in the file
+	private long chunkStart;
+
+	private long lastTick;
+
+	/**
+	 * Creates the file and writes the header, the game should be recorded
+	 * from its first tick
+	 */
+	public ReplayRecorder(File to, AircraftController controller)
+			throws IOException {
+		int difficulty = difficultyNumber(controller.getDifficulty());
+
+		file = new RandomAccessFile(to, "rw");
+		file.setLength(0);
+		channel = file.getChannel();
+
+		map(0, CHUNK);
+
+		buffer.putInt(MAGIC);
+		buffer.putShort((short) VERSION);
+		buffer.put((byte) controller.getGameMode().ordinal());
+		buffer.put((byte) difficulty);
+		buffer.putLong(controller.getSeed());
+		buffer.putInt(Config.SIMULATION_TICK_RATE);
+	}
+
+	/**
+	 * Records a command, as it's applied
+	 *
+	 * @param tick
+	 *            the tick it's applied at
+	 */
+	public void command(long tick, Command command) {
+		ensure(COMMAND_SIZE);
+
+		buffer.put(COMMAND);
+		buffer.putInt((int) tick);
+		buffer.put((byte) command.action.ordinal());
+		buffer.put((byte) command.player);
+		buffer.putInt(command.target);
+		buffer.putInt(command.value);
+	}
+
+	/**
+	 * Called after each tick, writes a keyframe every
+	 * {@link Config#REPLAY_KEYFRAME_TICKS} ticks
+	 */
+	public void endTick(long tick, ArrayList<Aircraft> aircraftList) {
+		lastTick = tick;
+
+		if (tick % Config.REPLAY_KEYFRAME_TICKS != 0)
+			return;
+
+		ensure(KEYFRAME_SIZE + aircraftList.size() * KEYFRAME_AIRCRAFT_SIZE);
+
+		buffer.put(KEYFRAME);
+		buffer.putInt((int) tick);
+		buffer.putInt(aircraftList.size());
+
+		for (int i = 0; i < aircraftList.size(); i++) {
+			Aircraft aircraft = aircraftList.get(i);
+
+			buffer.putInt(aircraft.getId());
+			buffer.putFloat(aircraft.getX());
+			buffer.putFloat(aircraft.getY());
+			buffer.putFloat(aircraft.getRotation());
+			buffer.putInt(aircraft.getAltitude());
+			buffer.putFloat(aircraft.getSpeed());
+		}
+	}
+
+	/**
+	 * Starts recording a game into {@link Config#RECORD_FILE}, if it's set
+	 *
+	 * @return the recorder, which the game has been given, or null if the
+	 *         game isn't recorded
+	 */
+	public static ReplayRecorder record(AircraftController controller) {
+		if (Config.RECORD_FILE == null)
+			return null;
+
+		try {
+			ReplayRecorder recorder = new ReplayRecorder(new File(
+					Config.RECORD_FILE), controller);
+			controller.setRecorder(recorder);
+
+			return recorder;
+		} catch (IOException e) {
+			Debug.error("could not record the game: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Marks the end of the game and closes the file
+	 */
+	public void close() throws IOException {
+		ensure(END_SIZE);
+
+		buffer.put(END);
+		buffer.putInt((int) lastTick);
+
+		long length = chunkStart + buffer.position();
+
+		buffer.force();
+		buffer = null;
+
+		// the rest of the chunk can only be cut off once it's unmapped,
+		// which some systems don't allow yet - it's only zeros anyway
+		try {
+			channel.truncate(length);
+		} catch (IOException e) {
+			Debug.msg("replay left at its mapped length: " + e.getMessage());
+		}
+
+		file.close();
+	}
+
+	/**
+	 * Maps the next chunk if there's no room for a record in this one
+	 */
+	private void ensure(int bytes) {
+		if (buffer.remaining() >= bytes)
+			return;
+
+		try {
+			map(chunkStart + buffer.position(), Math.max(CHUNK, bytes));
+		} catch (IOException e) {
+			throw new IllegalStateException("could not grow the replay", e);
+		}
+	}
+
+	private void map(long start, int size) throws IOException {
+		buffer = channel.map(MapMode.READ_WRITE, start, size);
+		chunkStart = start;
+	}
+
+	static int difficultyNumber(GameDifficulty difficulty) {
+		for (int i = 0; i < DIFFICULTIES.length; i++) {
+			if (DIFFICULTIES[i] == difficulty)
+				return i;
+		}
+
+		throw new IllegalArgumentException(
+				"only the standard difficulties can be recorded");
+	}
+}
@@ -0,0 +1,251 @@
+package seprini.controllers.components;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import seprini.data.Config;
+import seprini.models.Airport;
+import seprini.models.Waypoint;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Every route an aircraft can be given for a layout of waypoints, indexed by
+ * start point and exit point.
+ * <p>
+ * A route only depends on where it starts and ends, so each one is worked out
+ * once when the table is built - routes for the entry points and airports up
+ * front, any other start point the first time it's asked for. The routes
+ * themselves are immutable; callers copy them before changing them.
+ */
+public class RouteTable {
+
+	private final static double airportGradient = 1.3;
+
+	/**
+	 * Valid exits from a single start point, and the route to each of them
+	 */
+	public static class Routes {
+		private final ArrayList<Waypoint> exits = new ArrayList<Waypoint>();
+		private final ArrayList<List<Waypoint>> routes = new ArrayList<List<Waypoint>>();
+
+		public int size() {
+			return exits.size();
+		}
+
+		public Waypoint getExit(int i) {
+			return exits.get(i);
+		}
+
+		public List<Waypoint> getRoute(int i) {
+			return routes.get(i);
+		}
+	}
+
+	private final ArrayList<Waypoint> permanentWaypoints, exitPointList;
+
+	private final HashMap<Waypoint, Routes> table = new HashMap<Waypoint, Routes>();
+
+	/**
+	 * Builds the routes from every entry point and airport
+	 * 
+	 * @param permanentWaypoints
+	 *            waypoints a route can go through
+	 * @param exitPointList
+	 *            where a route can end, including the airports
+	 * @param startPoints
+	 *            where aircraft enter the airspace
+	 */
+	public RouteTable(ArrayList<Waypoint> permanentWaypoints,
+			ArrayList<Waypoint> exitPointList,
+			List<? extends Waypoint> startPoints) {
+		// copied so the table can't be changed from the outside
+		this.permanentWaypoints = new ArrayList<Waypoint>(permanentWaypoints);
+		this.exitPointList = new ArrayList<Waypoint>(exitPointList);
+
+		for (Waypoint start : startPoints)
+			routesFrom(start);
+
+		// aircraft also take off from the airports
+		for (Waypoint exit : this.exitPointList) {
+			if (exit instanceof Airport)
+				routesFrom(exit);
+		}
+	}
+
+	/**
+	 * @param start
+	 *            where the aircraft enters the airspace, or the airport it
+	 *            takes off from
+	 * @return all the routes which start at the start point
+	 */
+	public Routes routesFrom(Waypoint start) {
+		Routes routes = table.get(start);
+
+		if (routes == null) {
+			routes = buildRoutes(start);
+			table.put(start, routes);
+		}
+
+		return routes;
+	}
+
+	private Routes buildRoutes(Waypoint start) {
+		Routes routes = new Routes();
+
+		for (Waypoint exit : exitPointList) {
+			if (!isValidExit(start, exit,
+					Config.MIN_DIST_BETWEEN_ENTRY_EXIT_WAYPOINTS))
+				continue;
+
+			ArrayList<Waypoint> route = new ArrayList<Waypoint>();
+			route.add(start);
+
+			// aircraft taking off leave over the end of the runway
+			if (start instanceof Airport)
+				route.add(((Airport) start).runwayEnd);
+
+			flightPlanWaypointGenerator(route, start, exit);
+
+			routes.exits.add(exit);
+			routes.routes.add(Collections.unmodifiableList(route));
+		}
+
+		return routes;
+	}
+
+	/**
+	 * An exit point is valid if it is at least minDistance away from the
+	 * start point and doesn't lie on either the same x or y coord.
+	 */
+	private static boolean isValidExit(Waypoint start, Waypoint exit,
+			int minDistance) {
+		return exit.getCoords().dst(start.getCoords()) >= minDistance
+				&& exit.getCoords().x != start.getCoords().x
+				&& exit.getCoords().y != start.getCoords().y;
+	}
+
+	/**
+	 * Adds a selection of waypoints + lastWaypoint to flighPlan.
+	 * 
+	 * @param flightPlan
+	 * @param currentWaypoint
+	 * @param lastWaypoint
+	 * @return completeFlightPlan
+	 */
+	private ArrayList<Waypoint> flightPlanWaypointGenerator(
+			ArrayList<Waypoint> flightPlan, Waypoint currentWaypoint,
+			Waypoint lastWaypoint) {
+
+		// Base Case; self explanatory.
+		if (currentWaypoint.equals(lastWaypoint)) {
+			// create an exception here for if lastWaypoint is an airport.
+			if (lastWaypoint instanceof Airport) {
+				// Check which airport it is and insert the start of the runway
+				// to flightplan.
+				Waypoint previousWaypoint = flightPlan
+						.get(flightPlan.size() - 2);
+				flightPlan.add(flightPlan.size() - 1,
+						((Airport) lastWaypoint).runwayStart);
+				// Now decide which landing waypoint aircraft is to use,
+				// dependent on the previous waypoint's position.
+				if ((previousWaypoint.getX() > airportGradient
+						* previousWaypoint.getY() - lastWaypoint.getY()
+						+ lastWaypoint.getX())) {
+					flightPlan.add(flightPlan.size() - 2,
+							((Airport) lastWaypoint).runwayRight);
+				} else {
+					flightPlan.add(flightPlan.size() - 2,
+							((Airport) lastWaypoint).runwayLeft);
+				}
+			}
+			return flightPlan;
+		}
+
+		else {
+			// Find normal vector from currentWaypoint to lastWaypoint and
+			// normalise.
+			Vector2 normalVectorFromCurrentToLast = (lastWaypoint.getCoords()
+					.cpy().sub(currentWaypoint.getCoords())).nor();
+
+			// Create the list of waypoints for the generator to choose from,
+			// including the final waypoint so that the base case can be
+			// satisfied;
+			ArrayList<Waypoint> waypointSelectionList = new ArrayList<Waypoint>(
+					permanentWaypoints);
+			waypointSelectionList.add(lastWaypoint);
+
+			// Call selectNextWaypoint.
+			Waypoint nextWaypoint = selectNextWaypoint(currentWaypoint,
+					lastWaypoint, flightPlan, normalVectorFromCurrentToLast,
+					waypointSelectionList, 30, 100);
+
+			waypointSelectionList.clear();
+
+			// Recurse with updated flightPlan and nextWaypoint.
+			return flightPlanWaypointGenerator(flightPlan, nextWaypoint,
+					lastWaypoint);
+		}
+	}
+
+	/**
+	 * Selects a waypoint to insert into flightPlan, under certain constraints.
+	 * 
+	 * @param currentWaypoint
+	 * @param flightPlan
+	 * @param normalVectorFromCurrentToLast
+	 * @param waypointSelectionList
+	 * @param maxAngle
+	 *            - minimum angle from currentWaypoint to nextWaypoint, where 0
+	 *            degrees is the angle from currentWaypoint to lastWaypoint
+	 * @param minDistance
+	 *            - minimum distance from currentWaypoint to nextWaypoint. Ideal
+	 *            value = diameter of the turning circle of the aircraft.
+	 * @return nextWaypoint
+	 */
+	private static Waypoint selectNextWaypoint(Waypoint currentWaypoint,
+			Waypoint lastWaypoint, ArrayList<Waypoint> flightPlan,
+			Vector2 normalVectorFromCurrentToLast,
+			ArrayList<Waypoint> waypointSelectionList, int maxAngle,
+			int minDistance) {
+		Waypoint nextWaypoint = null;
+
+		for (Waypoint waypoint : waypointSelectionList) {
+			// Find normal vector from current item in waypointSelectionList to
+			// lastWaypoint.
+			Vector2 normalVectorFromCurrentToPotential = new Vector2(waypoint
+					.getCoords().cpy().sub(currentWaypoint.getCoords())).nor();
+			// Check that waypoint in waypointSelectoinList:
+			// 1. Is not already in flighPlan
+			// 2. Angle between normalVectorFromCurrentToPotential and
+			// normalVectorFromCurrentToLast is less than specified maxAngle.
+			// 3. Is minDistance away from currentWaypoint
+			if (!flightPlan.contains(waypoint)
+					// the acos returns a value of radians, which is then
+					// converted to degrees.
+					&& (Math.acos(normalVectorFromCurrentToPotential
+							.dot(normalVectorFromCurrentToLast)) * 180 / Math.PI) < maxAngle
+					&& waypoint.getCoords().dst(currentWaypoint.getCoords()) > minDistance
+					&& waypoint.getCoords().dst(lastWaypoint.getCoords()) > minDistance
+					&& waypoint.getCoords().dst(
+							flightPlan.get(flightPlan.size() - 1).getCoords()) <= lastWaypoint
+							.getCoords().dst(
+									flightPlan.get(flightPlan.size() - 1)
+											.getCoords())) {
+				// If all conditions are met, choose this waypoint as the
+				// nextWaypoint.
+				nextWaypoint = waypoint;
+				break;
+			}
+		}
+		if (nextWaypoint == null) {
+			nextWaypoint = lastWaypoint;
+		}
+
+		// add nextWaypoint to flightPlan.
+		flightPlan.add(nextWaypoint);
+		return nextWaypoint;
+	}
+}
@@ -0,0 +1,264 @@
+package seprini.controllers.components;
+
+/**
+ * Runs callbacks after a delay, once or repeatedly, in game time.
+ * <p>
+ * Timers are kept in a hierarchical timing wheel: four levels of 64 slots,
+ * the first one holding the timers due within the next 64 ticks, each level
+ * above covering 64 times as long. Every tick only looks at the slot of the
+ * current tick, and once every 64 ticks moves the timers of one slot of the
+ * level above down, so timers which aren't due don't cost anything.
+ * Scheduling and cancelling are O(1).
+ */
+public class SchedulerComponent {
+
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+
+	// furthest ahead a timer can be placed, later ones are placed at the end
+	// and placed again when they come down
+	private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+	// frame times are rounded, allow for a tick which comes out just short
+	private static final double TOLERANCE = 1e-4;
+
+	/**
+	 * A scheduled callback. Timers are also the nodes of the circular lists
+	 * which make up the slots of the wheel.
+	 */
+	public static class Timer {
+		private final SchedulerComponent scheduler;
+		private final Runnable task;
+
+		private long expires, interval;
+		private Timer previous, next;
+
+		private Timer(SchedulerComponent scheduler, Runnable task) {
+			this.scheduler = scheduler;
+			this.task = task;
+
+			previous = next = this;
+		}
+
+		/**
+		 * Stops the timer, the task won't run again. Can be called from its
+		 * own task.
+		 */
+		public void cancel() {
+			unlink();
+			interval = 0;
+		}
+
+		/**
+		 * @return <b>true</b> if the task is going to run
+		 */
+		public boolean isScheduled() {
+			return next != this;
+		}
+
+		/**
+		 * @return seconds until the task runs, 0 if it isn't scheduled
+		 */
+		public float getTimeLeft() {
+			if (!isScheduled())
+				return 0;
+
+			return (expires - scheduler.now) * scheduler.tickLength;
+		}
+
+		private void unlink() {
+			previous.next = next;
+			next.previous = previous;
+			previous = next = this;
+		}
+
+		private void linkBefore(Timer slot) {
+			previous = slot.previous;
+			next = slot;
+			slot.previous.next = this;
+			slot.previous = this;
+		}
+	}
+
+	private final float tickLength;
+
+	// the slots are the heads of circular lists of timers
+	private final Timer[][] wheel = new Timer[LEVELS][SLOTS];
+
+	// timers of the slot being run, so tasks can cancel them safely
+	private final Timer expired;
+
+	private long now;
+	private double accumulator;
+
+	/**
+	 * @param tickLength
+	 *            resolution of the timers in seconds
+	 */
+	public SchedulerComponent(float tickLength) {
+		if (tickLength <= 0)
+			throw new IllegalArgumentException("tickLength must be positive");
+
+		this.tickLength = tickLength;
+
+		for (int level = 0; level < LEVELS; level++) {
+			for (int slot = 0; slot < SLOTS; slot++) {
+				wheel[level][slot] = new Timer(this, null);
+			}
+		}
+
+		expired = new Timer(this, null);
+	}
+
+	/**
+	 * Runs a task once after a delay
+	 *
+	 * @param delay
+	 *            seconds until the task is run, at least one tick
+	 * @param task
+	 * @return the timer, which can be used to cancel it
+	 */
+	public Timer schedule(float delay, Runnable task) {
+		return schedule(delay, 0, task);
+	}
+
+	/**
+	 * Runs a task after a delay, and then every interval seconds until
+	 * cancelled
+	 *
+	 * @param delay
+	 *            seconds until the task is first run
+	 * @param interval
+	 *            seconds between runs
+	 * @param task
+	 * @return the timer, which can be used to cancel it
+	 */
+	public Timer scheduleRepeating(float delay, float interval, Runnable task) {
+		if (interval <= 0)
+			throw new IllegalArgumentException("interval must be positive");
+
+		return schedule(delay, interval, task);
+	}
+
+	private Timer schedule(float delay, float interval, Runnable task) {
+		Timer timer = new Timer(this, task);
+
+		timer.expires = now + toTicks(delay);
+		timer.interval = (interval > 0) ? toTicks(interval) : 0;
+
+		place(timer);
+
+		return timer;
+	}
+
+	/**
+	 * Converts seconds to ticks, never less than one so a task always runs
+	 * after the current tick
+	 */
+	private long toTicks(float seconds) {
+		return Math.max(1, Math.round(seconds / tickLength));
+	}
+
+	/**
+	 * Advances the time, running the tasks of every timer which expires
+	 *
+	 * @param delta
+	 *            seconds since the last update
+	 */
+	public void update(float delta) {
+		accumulator += delta;
+
+		long ticks = (long) (accumulator / tickLength + TOLERANCE);
+		accumulator -= ticks * (double) tickLength;
+
+		for (long i = 0; i < ticks; i++)
+			tick();
+	}
+
+	/**
+	 * Advances the time by a single tick
+	 */
+	public void tick() {
+		now++;
+
+		int index = (int) (now & SLOT_MASK);
+
+		// every time the first level wraps around, bring the timers of the
+		// next slot of the level above down, and so on
+		if (index == 0)
+			cascade(1);
+
+		// move the due timers out of the wheel first, so that tasks can
+		// schedule and cancel timers freely
+		Timer slot = wheel[0][index];
+
+		if (!slot.isScheduled())
+			return;
+
+		expired.next = slot.next;
+		expired.previous = slot.previous;
+		slot.next.previous = expired;
+		slot.previous.next = expired;
+		slot.next = slot.previous = slot;
+
+		while (expired.isScheduled()) {
+			Timer timer = expired.next;
+			timer.unlink();
+
+			if (timer.interval > 0) {
+				timer.expires += timer.interval;
+				place(timer);
+			}
+
+			timer.task.run();
+		}
+	}
+
+	private void cascade(int level) {
+		if (level >= LEVELS)
+			return;
+
+		int index = (int) ((now >> (SLOT_BITS * level)) & SLOT_MASK);
+
+		if (index == 0)
+			cascade(level + 1);
+
+		Timer slot = wheel[level][index];
+
+		while (slot.isScheduled()) {
+			Timer timer = slot.next;
+			timer.unlink();
+			place(timer);
+		}
+	}
+
+	/**
+	 * Puts a timer into the slot of the lowest level which reaches its expiry
+	 */
+	private void place(Timer timer) {
+		long delta = Math.min(Math.max(0, timer.expires - now), MAX_DELTA);
+		long expires = now + delta;
+
+		int level = 0;
+
+		while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1)))
+			level++;
+
+		int index = (int) ((expires >> (SLOT_BITS * level)) & SLOT_MASK);
+
+		timer.linkBefore(wheel[level][index]);
+	}
+
+	/**
+	 * @return game time in ticks since the scheduler was created
+	 */
+	public long getTick() {
+		return now;
+	}
+
+	public float getTickLength() {
+		return tickLength;
+	}
+}
@@ -0,0 +1,113 @@
+package seprini.controllers.components;
+
+/**
+ * Fixed timestep accumulator - converts the variable time between rendered
+ * frames into a whole number of simulation ticks of the same length.
+ * <p>
+ * Time which doesn't make up a whole tick is carried over to the next frame
+ * and exposed as an interpolation factor, so positions can be drawn between
+ * the last two ticks. After a stall, at most maxTicksPerFrame ticks are run
+ * and the rest of the time is dropped, so the game slows down instead of
+ * freezing while it catches up.
+ */
+public class TimestepComponent {
+
+	private final float step;
+	private final int maxTicksPerFrame;
+
+	// frame times are rounded, so a frame of exactly n ticks can come out
+	// just short of it - allow for that instead of dropping a tick
+	private static final double TOLERANCE = 1e-4;
+
+	// kept as a double so adding small deltas doesn't lose precision
+	private double accumulator;
+	private float alpha;
+	private long tick;
+
+	/**
+	 * @param tickRate
+	 *            simulation ticks per second
+	 * @param maxTicksPerFrame
+	 *            most ticks to run for a single frame
+	 */
+	public TimestepComponent(int tickRate, int maxTicksPerFrame) {
+		if (tickRate <= 0 || maxTicksPerFrame <= 0)
+			throw new IllegalArgumentException(
+					"tickRate and maxTicksPerFrame must be positive");
+
+		this.step = 1f / tickRate;
+		this.maxTicksPerFrame = maxTicksPerFrame;
+	}
+
+	/**
+	 * Adds the time of a rendered frame
+	 *
+	 * @param frameDelta
+	 *            seconds since the last frame
+	 * @return number of ticks which should be simulated this frame
+	 */
+	public int advance(float frameDelta) {
+		return advance(frameDelta, maxTicksPerFrame);
+	}
+
+	/**
+	 * Adds the time of a rendered frame, with a different limit of ticks,
+	 * e.g. when the game runs faster than real time
+	 *
+	 * @param frameDelta
+	 *            seconds of game time since the last frame
+	 * @param maxTicks
+	 *            most ticks to run for this frame
+	 * @return number of ticks which should be simulated this frame
+	 */
+	public int advance(float frameDelta, int maxTicks) {
+		accumulator += frameDelta;
+
+		int ticks = (int) (accumulator / step + TOLERANCE);
+
+		if (ticks > maxTicks) {
+			// too far behind - drop the time we can't catch up with
+			ticks = maxTicks;
+			accumulator = 0;
+		} else {
+			accumulator -= ticks * (double) step;
+		}
+
+		alpha = (float) Math.max(0, accumulator / step);
+		tick += ticks;
+
+		return ticks;
+	}
+
+	/**
+	 * Counts ticks which were run without waiting for their time, and drops
+	 * the time which was left over
+	 */
+	public void skip(int ticks) {
+		accumulator = 0;
+		alpha = 0;
+		tick += ticks;
+	}
+
+	/**
+	 * @return length of a single tick in seconds
+	 */
+	public float getStep() {
+		return step;
+	}
+
+	/**
+	 * @return how far the current frame is between the last tick and the
+	 *         next one, from 0 to 1
+	 */
+	public float getAlpha() {
+		return alpha;
+	}
+
+	/**
+	 * @return number of ticks simulated since the start
+	 */
+	public long getTick() {
+		return tick;
+	}
+}
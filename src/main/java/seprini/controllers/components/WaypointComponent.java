@@ -5,12 +5,16 @@ import java.util.Collections;
 import java.util.Random;
 
 import seprini.controllers.AircraftController;
-import seprini.data.Debug;
+import seprini.controllers.components.Command.Action;
+import seprini.data.EventLog;
+import seprini.data.EventLog.Event;
 import seprini.data.GameMode;
+import seprini.data.GameRandom;
 import seprini.models.Airport;
 import seprini.models.Entrypoint;
 import seprini.models.Exitpoint;
 import seprini.models.Waypoint;
+import seprini.models.types.Player;
 
 import com.badlogic.gdx.Input.Buttons;
 import com.badlogic.gdx.math.Vector2;
@@ -28,6 +32,13 @@ public class WaypointComponent {
 
 	private Airport selectedAirport;
 
+	// routes between the current entry and exit points, built when needed
+	private RouteTable routeTable;
+
+	// tells the order of the waypoints apart from the game's other random
+	// choices
+	private final static long WAYPOINT_SALT = 2;
+
 	public WaypointComponent(AircraftController controller, GameMode mode) {
 
 		this.controller = controller;
@@ -41,7 +52,8 @@ public class WaypointComponent {
 			break;
 		}
 
-		Collections.shuffle(permanentList, new Random());
+		Collections.shuffle(permanentList, new Random(GameRandom.mix(
+				controller.getSeed(), WAYPOINT_SALT)));
 	}
 
 	/**
@@ -122,13 +134,14 @@ public class WaypointComponent {
 	 * @param y
 	 */
 	public void createWaypoint(float x, float y, boolean visible) {
-		Debug.msg("Creating waypoint at: " + x + ":" + y);
+		EventLog.log(Event.WAYPOINT, 0, x, y);
 
 		final Waypoint waypoint = new Waypoint(x, y, visible);
 
 		// add it to the correct list according to whether it is user created or
 		// not
 		getPermanentList().add(waypoint);
+		routeTable = null;
 
 		// add it to the airspace so it is automatically drawn using root.draw()
 		controller.getAirspace().addActor(waypoint);
@@ -144,10 +157,11 @@ public class WaypointComponent {
 			public boolean touchDown(InputEvent event, float tX, float tY,
 					int pointer, int button) {
 
-				if (button == Buttons.LEFT && controller.allowRedirection()) {
-					controller.redirectAircraft(waypoint);
-					return true;
-				}
+				// commands refer to it by its index, which is only known
+				// once the waypoints have been shuffled
+				if (button == Buttons.LEFT)
+					controller.submit(Action.REDIRECT, Player.ONE,
+							getPermanentList().indexOf(waypoint), 0);
 
 				return true;
 			}
@@ -164,6 +178,7 @@ public class WaypointComponent {
 	private void createExitpoint(float x, float y) {
 		Exitpoint point = new Exitpoint(new Vector2(x, y));
 		getExitList().add(point);
+		routeTable = null;
 		controller.getAirspace().addActor(point);
 	}
 
@@ -177,6 +192,7 @@ public class WaypointComponent {
 	private void createEntrypoint(float x, float y) {
 		Entrypoint point = new Entrypoint(new Vector2(x, y));
 		getEntryList().add(point);
+		routeTable = null;
 		controller.getAirspace().addActor(point);
 	}
 
@@ -187,14 +203,29 @@ public class WaypointComponent {
 	 */
 	private void createAirport(float x, float y) {
 		final Airport airport = new Airport(x, y, true);
+		airport.setScheduler(controller.getScheduler());
 
 		exitList.add(airport);
 		airportList.add(airport);
+		routeTable = null;
 
 		controller.getAirspace().addActor(airport);
 
 	}
 
+	/**
+	 * Gets the table of routes for the current layout of waypoints, building
+	 * it the first time it's needed after the layout has changed
+	 * 
+	 * @return the route table
+	 */
+	public RouteTable getRouteTable() {
+		if (routeTable == null)
+			routeTable = new RouteTable(permanentList, exitList, entryList);
+
+		return routeTable;
+	}
+
 	public ArrayList<Waypoint> getPermanentList() {
 		return permanentList;
 	}
@@ -1,11 +1,9 @@
 package seprini.data;
 
-import java.util.Hashtable;
-
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.TextureLoader.TextureParameter;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Pixmap.Format;
@@ -18,8 +16,8 @@ import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
 
 /**
- * Loads all the requires art (textures), essentially pre-loading all the
- * required texture for later use
+ * Loads all the requires art (textures) and sounds in the background,
+ * essentially pre-loading everything for later use
  * 
  * @author Crembo, Miguel
  * 
@@ -27,14 +25,15 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
 public class Art {
 
 	/**
-	 * A hashtable which stores all of the textures
+	 * All of the textures, indexed by {@link TextureId}
 	 */
-	private final static Hashtable<String, TextureRegion> textures = new Hashtable<String, TextureRegion>();
+	private final static TextureRegion[] textures = new TextureRegion[TextureId
+			.values().length];
 
 	/**
-	 * A hashtable which stores all of the sounds
+	 * All of the sounds, indexed by {@link SoundId}
 	 */
-	private final static Hashtable<String, Playable> sounds = new Hashtable<String, Playable>();
+	private final static Playable[] sounds = new Playable[SoundId.values().length];
 
 	/**
 	 * A skin can be loaded via JSON or defined programmatically, either is
@@ -44,9 +43,15 @@ public class Art {
 	 */
 	private final static Skin skin = new Skin();
 
+	// font used to draw all the text, so it isn't looked up every time
+	private static BitmapFont font;
+
 	/** If true, art is replaced by fake objects used for testing */
 	private static boolean useFakeArt = false;
 
+	private final static TextureRegion fakeTexture = new TextureRegion();
+	private final static Playable fakeSound = new FakeSoundImpl();
+
 	/**
 	 * Enables / disables fake art objects
 	 * 
@@ -57,46 +62,138 @@ public class Art {
 		useFakeArt = value;
 	}
 
+	// files of the textures
+	final static String COMBINED = "data/combinedgraphics.png";
+	final static String EXPLOSION = "data/explosion.png";
+
+	// loads the textures and sounds in the background
+	private static AssetManager manager;
+
 	/**
-	 * Initialises loading of texture, should be called once
-	 * 
+	 * Starts loading the textures and sounds in the background and creates
+	 * the skin, should be called once. The menu's assets are loaded first.
+	 * Loading only progresses through {@link #update()} and
+	 * {@link #finishLoading()}.
 	 */
 	public static void load() {
-		// loads the whole sprite which consists most of the game's textures
-		Texture combined = loadTexture("data/combinedgraphics.png");
-		combined.setFilter(TextureFilter.MipMapLinearLinear,
-				TextureFilter.Linear);
-
-		// splits up the sprite into parts and loads them into the table
-		textures.put("airspace", split(combined, 0, 0, 1079, 720));
-		textures.put("mp-airspace", split(combined, 0, 740, 1280, 720));
-		textures.put("sidebar", split(combined, 1080, 0, 200, 720));
-		textures.put("aircraft", split(combined, 1281, 0, 72, 63));
-		textures.put("waypoint", split(combined, 0, 721, 20, 19));
-		textures.put("menuAircraft", split(combined, 1281, 64, 727, 249));
-		textures.put("libgdx", split(combined, 1353, 0, 53, 10));
-		textures.put("entrypoint", split(combined, 20, 720, 20, 20));
-		textures.put("exitpoint", split(combined, 40, 720, 20, 20));
-		textures.put("airport", split(combined, 1281, 312, 164, 124));
-		textures.put("pauseOverlay", split(combined, 1280, 436, 720, 1280));
-
-		Texture explosion = loadTexture("data/explosion.png");
-		textures.put("explosion", split(explosion, 0, 0, 1024, 1024));
-
-		// load the default skin
+		manager = new AssetManager();
+
+		// the whole sprite which consists most of the game's textures
+		TextureParameter mipMapped = new TextureParameter();
+		mipMapped.genMipMaps = true;
+		mipMapped.minFilter = TextureFilter.MipMapLinearLinear;
+		mipMapped.magFilter = TextureFilter.Linear;
+
+		manager.load(COMBINED, Texture.class, mipMapped);
+
+		// the menu music, only needed by the menu
+		queueSound(SoundId.COME_FLY_WITH_ME);
+
+		// the rest is only needed once a game starts
+		manager.load(EXPLOSION, Texture.class);
+
+		for (SoundId id : SoundId.values()) {
+			if (id != SoundId.COME_FLY_WITH_ME)
+				queueSound(id);
+		}
+
+		// load the default skin, it only uses the built in font
 		loadSkin();
+	}
+
+	private static void queueSound(SoundId id) {
+		if (id.music)
+			manager.load(id.file, Music.class);
+		else
+			manager.load(id.file, Sound.class);
+	}
 
-		// load the sound effects
-		loadSounds();
+	/**
+	 * Continues loading for a little while, should be called every frame
+	 * until everything is loaded
+	 * 
+	 * @return <b>true</b> once everything is loaded
+	 */
+	public static boolean update() {
+		boolean done = manager.update();
+
+		collectLoaded();
+
+		if (done)
+			checkLoaded();
+
+		return done;
 	}
 
-	private static void loadSounds() {
-		sounds.put("ding", loadSound("ding.wav", false));
-		sounds.put("warning", loadSound("warning.mp3", false));
-		sounds.put("crash", loadSound("crash.mp3", false));
-		sounds.put("comeflywithme", loadSound("comeflywithme.mp3", true));
-		sounds.put("ambience", loadSound("ambience.mp3", true));
-		sounds.put("lifedown", loadSound("lifedown.mp3", false));
+	/**
+	 * Loads everything which is left, blocking until it's done
+	 */
+	public static void finishLoading() {
+		manager.finishLoading();
+
+		collectLoaded();
+		checkLoaded();
+	}
+
+	/**
+	 * @return <b>true</b> once everything needed by the menu is loaded
+	 */
+	public static boolean isMenuLoaded() {
+		return textures[TextureId.MENU_AIRCRAFT.ordinal()] != null
+				&& sounds[SoundId.COME_FLY_WITH_ME.ordinal()] != null;
+	}
+
+	/**
+	 * @return how much has been loaded, from 0 to 1
+	 */
+	public static float getProgress() {
+		return manager.getProgress();
+	}
+
+	/**
+	 * Puts the assets which have finished loading into the tables
+	 */
+	private static void collectLoaded() {
+		for (TextureId id : TextureId.values()) {
+			if (textures[id.ordinal()] != null || !manager.isLoaded(id.file))
+				continue;
+
+			textures[id.ordinal()] = split(manager.get(id.file, Texture.class),
+					id.x, id.y, id.width, id.height);
+		}
+
+		for (SoundId id : SoundId.values()) {
+			if (sounds[id.ordinal()] != null || !manager.isLoaded(id.file))
+				continue;
+
+			if (id.music)
+				sounds[id.ordinal()] = new MusicImpl(manager.get(id.file,
+						Music.class));
+			else
+				sounds[id.ordinal()] = new SoundImpl(manager.get(id.file,
+						Sound.class));
+		}
+	}
+
+	/**
+	 * Makes sure every texture and sound has been loaded, so they never have
+	 * to be checked for null when they are used
+	 * 
+	 * @throws IllegalStateException
+	 *             if any is missing
+	 */
+	private static void checkLoaded() {
+		for (TextureId id : TextureId.values()) {
+			if (textures[id.ordinal()] == null)
+				throw new IllegalStateException("Texture " + id
+						+ " was not loaded from " + id.file);
+		}
+
+		for (SoundId id : SoundId.values()) {
+			if (sounds[id.ordinal()] == null)
+				throw new IllegalStateException("Sound " + id
+						+ " was not loaded from " + id.file);
+		}
 	}
 
 	/**
@@ -110,7 +207,7 @@ public class Art {
 		skin.add("white", new Texture(pixmap));
 
 		// Add the font to the skin; TODO: use a different one?
-		BitmapFont font = new BitmapFont();
+		font = new BitmapFont();
 
 		skin.add("default", font);
 
@@ -164,62 +261,37 @@ public class Art {
 		return new TextureRegion(texture, x, y, width, height);
 	}
 
-	/**
-	 * Wrapper for loading a texture
-	 * 
-	 * @param textureName
-	 * @return Texture
-	 */
-	private static Texture loadTexture(String textureName) {
-		return new Texture(Gdx.files.internal(textureName), true);
-	}
-
-	/**
-	 * Loads a sound effects file
-	 * 
-	 * @param soundName
-	 *            filename of the sound file
-	 * @return the new sound
-	 */
-	private static Playable loadSound(String soundName, boolean music) {
-		FileHandle file = Gdx.files.internal("sounds/" + soundName);
-
-		if (music)
-			return new MusicImpl(Gdx.audio.newMusic(file));
-		else
-			return new SoundImpl(Gdx.audio.newSound(file));
-	}
-
 	/**
 	 * Returns a texture region, should be used for all drawing all models
 	 * 
-	 * @param key
-	 * @return the required texture region or null if doesn't exist
+	 * @param id
+	 * @return the required texture region, null if it hasn't been loaded yet
 	 */
-	public static TextureRegion getTextureRegion(String key) {
+	public static TextureRegion getTextureRegion(TextureId id) {
 		if (useFakeArt)
-			return new TextureRegion();
+			return fakeTexture;
 
-		if (!textures.containsKey(key))
-			return null;
-
-		return textures.get(key);
+		return textures[id.ordinal()];
 	}
 
 	/**
 	 * Get a sound from the sound pool
 	 * 
-	 * @param key
-	 * @return the required sound or null if key doesn't exist
+	 * @param id
+	 * @return the required sound, null if it hasn't been loaded yet
 	 */
-	public static Playable getSound(String key) {
+	public static Playable getSound(SoundId id) {
 		if (useFakeArt)
-			return new FakeSoundImpl();
+			return fakeSound;
 
-		if (!sounds.containsKey(key))
-			return null;
+		return sounds[id.ordinal()];
+	}
 
-		return sounds.get(key);
+	/**
+	 * @return the default font of the skin
+	 */
+	public static BitmapFont getFont() {
+		return font;
 	}
 
 	public static Skin getSkin() {
@@ -20,6 +20,7 @@ public final class Config {
 	public final static Vector2 WAYPOINT_SIZE = new Vector2(20, 20);
 	public final static Vector2 EXIT_WAYPOINT_SIZE = new Vector2(50, 50);
 	public final static Vector2 AIRPORT_SIZE = new Vector2(164, 125);
+	public final static Vector2 EXPLOSION_SIZE = new Vector2(150, 150);
 
 	// Multiplayer config
 	public final static Vector2 MULTIPLAYER_SIZE = new Vector2(SCREEN_WIDTH,
@@ -43,6 +44,47 @@ public final class Config {
 	// lump sum given to player who didn't crash, when a crash occurs.
 	public static final int MULTIPLAYER_CRASH_BONUS = 200;
 	public static final int MIN_DIST_BETWEEN_ENTRY_EXIT_WAYPOINTS = 300;
+	// How many seconds ahead the conflict probe looks for separation breaches
+	public static final float CONFLICT_PROBE_HORIZON = 30f;
+	// Simulation ticks per second, independent of the frame rate
+	public static final int SIMULATION_TICK_RATE = 60;
+	// Most ticks simulated in a single frame before time is dropped
+	public static final int MAX_TICKS_PER_FRAME = 5;
+	// Times faster than real time the game can run, 0 is as fast as it can
+	public static final int[] TIME_SCALES = { 1, 2, 4, 8, 0 };
+	// Most time spent on ticks in a frame when running as fast as it can
+	public static final long UNBOUNDED_FRAME_NANOS = 12000000;
+	// Seconds the explosion is shown after a crash before the game ends
+	public static final float CRASH_DURATION = 3f;
+	// Up to how many seconds are randomly added to the time between aircraft
+	public static final float SPAWN_JITTER = 2f;
+
+	// From how many aircraft they are integrated on all cores, in chunks
+	public static final int PARALLEL_UPDATE_THRESHOLD = 512;
+	public static final int PARALLEL_UPDATE_CHUNK = 128;
+
+	// -Dseprini.record=file records the games into a replay,
+	// -Dseprini.replay=file plays one instead of showing the menu
+	public static final String RECORD_FILE = System
+			.getProperty("seprini.record");
+	public static final String REPLAY_FILE = System
+			.getProperty("seprini.replay");
+
+	// ticks between the keyframes of a replay, and its fastest speed
+	public static final int REPLAY_KEYFRAME_TICKS = 600;
+	public static final int REPLAY_MAX_SPEED = 64;
+
+	// keyframes between the games a replay keeps to seek back from, and how
+	// many of them it keeps
+	public static final int REPLAY_CHECKPOINT_KEYFRAMES = 2;
+	public static final int REPLAY_CHECKPOINTS = 3;
+
+	// runs the simulation on its own thread, -Dseprini.simthread=true
+	public static final boolean SIMULATION_THREAD = Boolean
+			.getBoolean("seprini.simthread");
+
+	// file the profiler timings are written to on exit
+	public static final String PROFILE_FILE = "profile.txt";
 
 	// other
 	public final static String COPYRIGHT_NOTICE = "Copyright Disclaimer Under Section 107 of the Copyright Act 1976, allowance is made "
@@ -0,0 +1,291 @@
+package seprini.data;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log of what happens in the game - spawns, redirects, landings and so on.
+ * <p>
+ * Logging an event only copies its arguments into a ring buffer of
+ * primitives, nothing is allocated or formatted. A background thread takes
+ * the events out of the buffer, formats them and writes them out. If the
+ * buffer is full the event is dropped rather than making the game wait.
+ * <p>
+ * Events must only be logged from the game thread.
+ */
+public final class EventLog {
+
+	public enum Event {
+		SPAWN {
+			@Override
+			void format(StringBuilder out, int id, float a, float b, float c) {
+				out.append("aircraft ").append(id).append(" spawned at ");
+				point(out, a, b);
+				out.append(", ").append((int) c).append(" waypoints");
+			}
+		},
+
+		REDIRECT {
+			@Override
+			void format(StringBuilder out, int id, float a, float b, float c) {
+				out.append("aircraft ").append(id).append(" redirected to ");
+				point(out, a, b);
+			}
+		},
+
+		SPEED {
+			@Override
+			void format(StringBuilder out, int id, float a, float b, float c) {
+				out.append("aircraft ").append(id).append(" speed changed to ")
+						.append(a);
+			}
+		},
+
+		WAYPOINT {
+			@Override
+			void format(StringBuilder out, int id, float a, float b, float c) {
+				out.append("waypoint created at ");
+				point(out, a, b);
+			}
+		},
+
+		BREACH {
+			@Override
+			void format(StringBuilder out, int id, float a, float b, float c) {
+				out.append("aircraft ").append(id)
+						.append(" breached separation with aircraft ")
+						.append((int) a);
+			}
+		},
+
+		CONFLICT {
+			@Override
+			void format(StringBuilder out, int id, float a, float b, float c) {
+				out.append("aircraft ").append(id)
+						.append(" predicted to breach separation with aircraft ")
+						.append((int) a).append(" in ").append(Math.round(b))
+						.append(" s, missing by ").append(Math.round(c));
+			}
+		},
+
+		LANDING {
+			@Override
+			void format(StringBuilder out, int id, float a, float b, float c) {
+				out.append("aircraft ").append(id).append(" landed at ");
+				point(out, a, b);
+			}
+		},
+
+		TAKEOFF {
+			@Override
+			void format(StringBuilder out, int id, float a, float b, float c) {
+				out.append("aircraft ").append(id).append(" took off");
+			}
+		},
+
+		CRASH {
+			@Override
+			void format(StringBuilder out, int id, float a, float b, float c) {
+				out.append("aircraft ").append(id)
+						.append(" crashed into aircraft ").append((int) a);
+			}
+		};
+
+		/**
+		 * Writes the text of the event, called by the writer thread only
+		 */
+		abstract void format(StringBuilder out, int id, float a, float b,
+				float c);
+
+		private static void point(StringBuilder out, float x, float y) {
+			out.append('(').append(Math.round(x)).append(", ")
+					.append(Math.round(y)).append(')');
+		}
+	}
+
+	private final static Event[] EVENTS = Event.values();
+
+	// must be a power of two
+	private final static int CAPACITY = 4096, MASK = CAPACITY - 1;
+
+	// milliseconds between the writer emptying the buffer
+	private final static long FLUSH_INTERVAL = 100;
+
+	private final static long START = System.nanoTime();
+
+	// the buffer, one slot per event
+	private final static long[] times = new long[CAPACITY];
+	private final static int[] events = new int[CAPACITY];
+	private final static int[] ids = new int[CAPACITY];
+	private final static float[] as = new float[CAPACITY];
+	private final static float[] bs = new float[CAPACITY];
+	private final static float[] cs = new float[CAPACITY];
+
+	// number of events ever written into and read out of the buffer
+	private final static AtomicLong head = new AtomicLong();
+	private final static AtomicLong tail = new AtomicLong();
+
+	private final static AtomicLong dropped = new AtomicLong();
+
+	private static volatile boolean enabled;
+
+	private static Thread writer;
+	private static Writer out;
+
+	private EventLog() {
+	}
+
+	public static void log(Event event, int id) {
+		log(event, id, 0, 0, 0);
+	}
+
+	public static void log(Event event, int id, float a, float b) {
+		log(event, id, a, b, 0);
+	}
+
+	/**
+	 * Adds an event to the log, does nothing if it isn't running
+	 *
+	 * @param id
+	 *            id of the aircraft the event is about
+	 * @param a
+	 *            arguments of the event, depending on its type
+	 */
+	public static void log(Event event, int id, float a, float b, float c) {
+		if (!enabled)
+			return;
+
+		long slot = head.get();
+
+		if (slot - tail.get() >= CAPACITY) {
+			dropped.incrementAndGet();
+			return;
+		}
+
+		int i = (int) slot & MASK;
+
+		times[i] = System.nanoTime() - START;
+		events[i] = event.ordinal();
+		ids[i] = id;
+		as[i] = a;
+		bs[i] = b;
+		cs[i] = c;
+
+		// publishes the slot to the writer
+		head.lazySet(slot + 1);
+	}
+
+	/**
+	 * Writes to the file given by -Dseprini.events=file, or to the console if
+	 * {@link Config#DEBUG_TEXT} is on. Does nothing otherwise.
+	 */
+	public static void startDefault() {
+		String file = System.getProperty("seprini.events");
+
+		try {
+			if (file != null)
+				start(new FileWriter(file));
+			else if (Config.DEBUG_TEXT)
+				start(new OutputStreamWriter(System.out) {
+					@Override
+					public void close() throws IOException {
+						// leave the console open
+						flush();
+					}
+				});
+		} catch (IOException e) {
+			Debug.error("could not open the event log: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Starts logging, and a daemon thread which writes the events out
+	 */
+	public static synchronized void start(Writer to) {
+		stop();
+
+		out = to;
+		enabled = true;
+
+		writer = new Thread("event log writer") {
+			@Override
+			public void run() {
+				while (!isInterrupted()) {
+					try {
+						Thread.sleep(FLUSH_INTERVAL);
+					} catch (InterruptedException e) {
+						break;
+					}
+
+					drain();
+				}
+			}
+		};
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Stops logging, writes out the remaining events and closes the output
+	 */
+	public static synchronized void stop() {
+		if (writer == null)
+			return;
+
+		enabled = false;
+
+		writer.interrupt();
+
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		drain();
+
+		try {
+			out.close();
+		} catch (IOException e) {
+			Debug.error("could not close the event log: " + e.getMessage());
+		}
+
+		writer = null;
+		out = null;
+	}
+
+	/**
+	 * Formats and writes out all the events in the buffer
+	 */
+	private static void drain() {
+		StringBuilder text = new StringBuilder();
+
+		long last = head.get();
+
+		for (long slot = tail.get(); slot < last; slot++) {
+			int i = (int) slot & MASK;
+
+			text.append(String.format("[%10.3f] ", times[i] / 1e9));
+			EVENTS[events[i]].format(text, ids[i], as[i], bs[i], cs[i]);
+			text.append('\n');
+
+			// frees the slot for the game
+			tail.lazySet(slot + 1);
+		}
+
+		long lost = dropped.getAndSet(0);
+
+		if (lost > 0)
+			text.append(lost).append(" events dropped, the log was full\n");
+
+		try {
+			out.write(text.toString());
+			out.flush();
+		} catch (IOException e) {
+			Debug.error("could not write the event log: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package seprini.data;
+
+import java.util.Random;
+
+/**
+ * Random numbers which remember the seed they started from, so a game can be
+ * played again exactly, e.g. from a replay. Every source of randomness in a
+ * game is seeded from the game's seed with {@link #mix(long, long)}.
+ */
+public class GameRandom extends Random {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long seed;
+
+	/**
+	 * Starts from a seed which is different every time
+	 */
+	public GameRandom() {
+		this(new Random().nextLong());
+	}
+
+	public GameRandom(long seed) {
+		super(seed);
+		this.seed = seed;
+	}
+
+	/**
+	 * @return seed this started from
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Derives a seed from another one, so that different salts give
+	 * unrelated numbers
+	 */
+	public static long mix(long seed, long salt) {
+		long z = seed + salt * 0x9e3779b97f4a7c15L;
+
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+
+		return z ^ (z >>> 31);
+	}
+}
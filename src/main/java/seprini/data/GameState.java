@@ -0,0 +1,9 @@
+package seprini.data;
+
+/**
+ * Stages a game goes through. The simulation only runs while PLAYING; during
+ * CRASHED the screen keeps drawing the explosion until the game ends.
+ */
+public enum GameState {
+	PLAYING, CRASHED, ENDED
+}
@@ -0,0 +1,121 @@
+package seprini.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations in nanoseconds into a fixed set of buckets, four for each
+ * power of two, so percentiles are accurate to within 25%. Recording never
+ * allocates or locks, and it can be read while being recorded into.
+ */
+public class Histogram {
+
+	// buckets per power of two
+	private final static int SUB_BITS = 2, SUB = 1 << SUB_BITS;
+
+	// enough for any positive long
+	final static int BUCKETS = SUB + (63 - SUB_BITS) * SUB;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Adds a duration
+	 *
+	 * @param nanos
+	 *            negative ones are counted as 0
+	 */
+	public void record(long nanos) {
+		if (nanos < 0)
+			nanos = 0;
+
+		counts.incrementAndGet(bucketOf(nanos));
+		count.incrementAndGet();
+
+		long current;
+
+		while (nanos > (current = max.get())) {
+			if (max.compareAndSet(current, nanos))
+				break;
+		}
+	}
+
+	/**
+	 * @param fraction
+	 *            from 0 to 1, e.g. 0.99 for the 99th percentile
+	 * @return upper bound of the bucket the percentile falls into, 0 if
+	 *         nothing has been recorded
+	 */
+	public long percentile(double fraction) {
+		long total = count.get();
+
+		if (total == 0)
+			return 0;
+
+		long rank = (long) Math.ceil(fraction * total);
+
+		if (rank < 1)
+			rank = 1;
+
+		long seen = 0;
+
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+
+			if (seen >= rank)
+				return Math.min(upperBound(i), getMax());
+		}
+
+		return getMax();
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Forgets everything recorded so far
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++)
+			counts.set(i, 0);
+
+		count.set(0);
+		max.set(0);
+	}
+
+	static int bucketOf(long nanos) {
+		if (nanos < SUB)
+			return (int) nanos;
+
+		int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		int mantissa = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB - 1);
+
+		return SUB + (exponent - SUB_BITS) * SUB + mantissa;
+	}
+
+	/**
+	 * @return the largest duration which falls into a bucket
+	 */
+	static long upperBound(int bucket) {
+		if (bucket < SUB)
+			return bucket;
+
+		if (bucket == BUCKETS - 1)
+			return Long.MAX_VALUE;
+
+		return lowerBound(bucket + 1) - 1;
+	}
+
+	private static long lowerBound(int bucket) {
+		int exponent = (bucket - SUB) / SUB + SUB_BITS;
+		int mantissa = (bucket - SUB) % SUB;
+
+		return (long) (SUB + mantissa) << (exponent - SUB_BITS);
+	}
+}
@@ -0,0 +1,168 @@
+package seprini.data;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Times the phases of a frame, each into its own histogram. Switched on and
+ * off with F3; while it's off timing a phase only reads a flag.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * long start = Profiler.start();
+ * ...
+ * Profiler.end(Phase.UPDATE, start);
+ * </pre>
+ */
+public final class Profiler {
+
+	public enum Phase {
+		/** the whole frame */
+		FRAME("frame"),
+
+		/** Stage.act, including everything below */
+		ACT("stage.act"),
+
+		/** one tick of the controller */
+		UPDATE("controller.update"),
+
+		/** collisions and separation breaches, part of the update */
+		COLLISION("updateCollision"),
+
+		/** creating a new aircraft, part of the update */
+		SPAWN("spawn"),
+
+		/** moving aircraft between altitude bands after a tick */
+		ALTITUDE_BANDS("altitude bands"),
+
+		/** sidebar or overlay */
+		HUD("hud update"),
+
+		/** Stage.draw */
+		DRAW("stage.draw");
+
+		private final String name;
+
+		private Phase(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private final static Phase[] PHASES = Phase.values();
+
+	// number of frames kept for the frame time graph
+	public final static int HISTORY = 240;
+
+	// can be switched on from the start with -Dseprini.profile=true
+	public static volatile boolean enabled = Boolean
+			.getBoolean("seprini.profile");
+
+	private final static Histogram[] histograms = new Histogram[PHASES.length];
+
+	// last frame times in nanoseconds, oldest first from historyIndex
+	private final static long[] history = new long[HISTORY];
+	private static int historyIndex;
+
+	static {
+		for (int i = 0; i < PHASES.length; i++)
+			histograms[i] = new Histogram();
+	}
+
+	private Profiler() {
+	}
+
+	/**
+	 * @return start time of a phase, 0 if the profiler is off
+	 */
+	public static long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Records the duration of a phase
+	 *
+	 * @param start
+	 *            returned by {@link #start()}
+	 */
+	public static void end(Phase phase, long start) {
+		if (start == 0)
+			return;
+
+		long nanos = System.nanoTime() - start;
+
+		histograms[phase.ordinal()].record(nanos);
+
+		if (phase == Phase.FRAME) {
+			history[historyIndex] = nanos;
+			historyIndex = (historyIndex + 1) % HISTORY;
+		}
+	}
+
+	public static Histogram get(Phase phase) {
+		return histograms[phase.ordinal()];
+	}
+
+	/**
+	 * @param i
+	 *            from 0, the oldest, to {@link #HISTORY} - 1
+	 * @return time of a recent frame in nanoseconds
+	 */
+	public static long getFrameTime(int i) {
+		return history[(historyIndex + i) % HISTORY];
+	}
+
+	/**
+	 * Forgets everything recorded so far
+	 */
+	public static void reset() {
+		for (int i = 0; i < PHASES.length; i++)
+			histograms[i].reset();
+
+		for (int i = 0; i < HISTORY; i++)
+			history[i] = 0;
+	}
+
+	/**
+	 * Writes the percentiles of every phase to a file, if anything has been
+	 * recorded
+	 */
+	public static void dump(String file) {
+		if (get(Phase.FRAME).getCount() == 0
+				&& get(Phase.UPDATE).getCount() == 0)
+			return;
+
+		PrintWriter out = null;
+
+		try {
+			out = new PrintWriter(new FileWriter(file));
+			out.printf("%-20s %10s %10s %10s %10s%n", "phase (ms)", "count",
+					"p50", "p99", "max");
+
+			for (Phase phase : PHASES) {
+				Histogram histogram = get(phase);
+
+				out.printf("%-20s %10d %10.3f %10.3f %10.3f%n", phase,
+						histogram.getCount(),
+						millis(histogram.percentile(0.5)),
+						millis(histogram.percentile(0.99)),
+						millis(histogram.getMax()));
+			}
+		} catch (IOException e) {
+			Debug.error("could not write the profile: " + e.getMessage());
+		} finally {
+			if (out != null)
+				out.close();
+		}
+	}
+
+	public static double millis(long nanos) {
+		return nanos / 1e6;
+	}
+}
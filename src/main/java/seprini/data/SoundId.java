@@ -0,0 +1,24 @@
+package seprini.data;
+
+/**
+ * Every sound of the game, with its file. Used as an index into the sounds
+ * loaded by {@link Art}.
+ */
+public enum SoundId {
+	COME_FLY_WITH_ME("comeflywithme.mp3", true),
+	DING("ding.wav", false),
+	WARNING("warning.mp3", false),
+	CRASH("crash.mp3", false),
+	AMBIENCE("ambience.mp3", true),
+	LIFE_DOWN("lifedown.mp3", false);
+
+	final String file;
+
+	// streamed as music instead of being loaded into memory
+	final boolean music;
+
+	private SoundId(String file, boolean music) {
+		this.file = "sounds/" + file;
+		this.music = music;
+	}
+}
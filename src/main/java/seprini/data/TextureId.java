@@ -0,0 +1,31 @@
+package seprini.data;
+
+/**
+ * Every texture region of the game, with the file it comes from and where it
+ * is in that file. Used as an index into the textures loaded by {@link Art}.
+ */
+public enum TextureId {
+	AIRSPACE(Art.COMBINED, 0, 0, 1079, 720),
+	MP_AIRSPACE(Art.COMBINED, 0, 740, 1280, 720),
+	SIDEBAR(Art.COMBINED, 1080, 0, 200, 720),
+	AIRCRAFT(Art.COMBINED, 1281, 0, 72, 63),
+	WAYPOINT(Art.COMBINED, 0, 721, 20, 19),
+	MENU_AIRCRAFT(Art.COMBINED, 1281, 64, 727, 249),
+	LIBGDX(Art.COMBINED, 1353, 0, 53, 10),
+	ENTRYPOINT(Art.COMBINED, 20, 720, 20, 20),
+	EXITPOINT(Art.COMBINED, 40, 720, 20, 20),
+	AIRPORT(Art.COMBINED, 1281, 312, 164, 124),
+	PAUSE_OVERLAY(Art.COMBINED, 1280, 436, 720, 1280),
+	EXPLOSION(Art.EXPLOSION, 0, 0, 1024, 1024);
+
+	final String file;
+	final int x, y, width, height;
+
+	private TextureId(String file, int x, int y, int width, int height) {
+		this.file = file;
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+	}
+}
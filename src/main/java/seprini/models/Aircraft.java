@@ -3,40 +3,65 @@ package seprini.models;
 import java.util.ArrayList;
 import java.util.Random;
 
+import seprini.controllers.components.CollisionComponent;
 import seprini.controllers.components.FlightPlanComponent;
 import seprini.data.Config;
-import seprini.data.Debug;
+import seprini.data.EventLog;
+import seprini.data.EventLog.Event;
+import seprini.data.GameRandom;
 import seprini.data.GameDifficulty;
 import seprini.data.GameMode;
 import seprini.models.types.AircraftType;
 import seprini.models.types.Player;
 import seprini.screens.AbstractScreen;
+import seprini.screens.ShapeQueue.Layer;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Group;
 
 public final class Aircraft extends Entity {
 
 	private static final float SPEED_CHANGE = 6f;
 	private static final Vector2 TEXT_OFFSET = new Vector2(30, 20);
+
+	// colour read from a snapshot, only used while drawing
+	private static final Color snapshotColor = new Color();
 	private static final Vector2 SIZE = new Vector2(76, 63);
 	private static final float SCALE = 0.5f;
 
 	private final int id;
 
-	public ArrayList<Waypoint> waypoints, excludedWaypoints;
+	public FlightPlan waypoints;
+	public ArrayList<Waypoint> excludedWaypoints;
 
 	private final AircraftType aircraftType;
 	private GameDifficulty difficulty;
 	private int altitude, targetAltitudeIndex;
 
 	private Vector2 velocity = new Vector2(0, 0);
+
+	// coordinates at the end of the previous tick, used to interpolate the
+	// drawn position between ticks
+	private final Vector2 previousCoords = new Vector2();
+
+	// scratch vectors for the calculations in act, so updating an aircraft
+	// doesn't allocate anything
+	private final Vector2 nextWaypointScratch = new Vector2();
+	private final Vector2 wayScratch = new Vector2();
+	private final Vector2 headingScratch = new Vector2();
 	private boolean breaching, isActive, ignorePath, selected, landed,
 			turnRight, turnLeft, rotateRight, breachingLastFrame,
 			enteredFullAirport, hasCollided;
 
+	// incremented every time the heading, speed or target altitude changes
+	private int stateRevision;
+
+	// set when a conflict with another aircraft is predicted
+	private boolean conflictPredicted;
+
 	// used for smooth turning - remember last angle to check if it's increasing
 	// or not.
 	private float previousAngle = 0;
@@ -55,6 +80,27 @@ public final class Aircraft extends Entity {
 	private int leftX = 0, leftY = 0, rightX = 0, rightY = 0;
 	private FlightPlanComponent flightPlanner;
 
+	// broad-phase grid this aircraft is in, and the index of its cell
+	private CollisionComponent collisionGrid;
+	private int collisionCell = -1;
+
+	// altitude band of the airspace the aircraft is drawn in
+	private int altitudeBand = -1;
+
+	// airport reached during the integration of this tick, landed in when
+	// the tick is committed
+	private Airport landingAirport;
+
+	// set when the current tick has already been integrated by prepare
+	private boolean prepared, preparedMoved;
+
+	// ticks in which neither waypoint testWaypointCollisions looks at can be
+	// reached, predicted on a straight leg, and what it was predicted from -
+	// a turn, a change of speed or of the flight plan makes it invalid
+	private int clearTicks, clearRevision, clearPlanRevision;
+	private FlightPlan clearPlan;
+	private float clearScale;
+
 	public Aircraft(AircraftType aircraftType, FlightPlanComponent flightPlan,
 			int id, GameMode gameMode, GameDifficulty difficulty) {
 		// allows drawing debug shape of this entity
@@ -64,7 +110,7 @@ public final class Aircraft extends Entity {
 		this.aircraftType = aircraftType;
 		this.flightPlanner = flightPlan;
 		this.difficulty = difficulty;
-		rand = new Random();
+		rand = new GameRandom(flightPlan.aircraftSeed(id));
 
 		// number of points the aircraft enters the airspace with.
 		points[Player.ONE] = Config.AIRCRAFT_POINTS;
@@ -76,7 +122,7 @@ public final class Aircraft extends Entity {
 		// initialize velocity and altitude
 		velocity = new Vector2(aircraftType.getInitialSpeed(), 0);
 		// choose from between the last 3 of the 6 velocity levels
-		targetAltitudeIndex = rand.nextInt(3) + 3;
+		setTargetAltitudeIndex(rand.nextInt(3) + 3);
 		altitude = Config.ALTITUDES[targetAltitudeIndex];
 
 		// set the flightplan to the generated by the controller
@@ -86,9 +132,9 @@ public final class Aircraft extends Entity {
 		size = SIZE;
 
 		// set the coords to the entry point, remove it from the flight plan
-		entryPoint = waypoints.get(0);
-		waypoints.remove(0);
+		entryPoint = waypoints.removeFirst();
 		coords = new Vector2(entryPoint.getX(), entryPoint.getY());
+		previousCoords.set(coords);
 
 		// set origin to center of the aircraft, makes rotation more intuitive
 		setOrigin(size.x / 2, size.y / 2);
@@ -115,10 +161,78 @@ public final class Aircraft extends Entity {
 		isActive = true;
 		hasCollided = false;
 
-		Debug.msg("||\nGenerated aircraft id " + id + "\nEntry point: "
-				+ getCoords() + "\nRelative angle to first waypoint: "
-				+ relativeAngle + "\nVelocity" + velocity + "\nWaypoints: "
-				+ waypoints + "\n||");
+		EventLog.log(Event.SPAWN, id, getCoords().x, getCoords().y,
+				waypoints.size());
+	}
+
+	/**
+	 * @return colour of the altitude label
+	 */
+	private static Color altitudeColor(int altitude) {
+		if (altitude <= 7500) {
+			return Color.GREEN;
+		} else if (altitude <= 12500) {
+			return Color.ORANGE;
+		} else {
+			return Color.RED;
+		}
+	}
+
+	/**
+	 * Draws an aircraft from a snapshot, looking the same as when it draws
+	 * itself
+	 * 
+	 * @param i
+	 *            index of the aircraft in the snapshot
+	 * @param alpha
+	 *            how far between its previous and current position it's drawn
+	 */
+	static void draw(SpriteBatch batch, WorldSnapshot snapshot, int i,
+			float alpha, float parentAlpha) {
+		float drawX = snapshot.previousX[i]
+				+ (snapshot.x[i] - snapshot.previousX[i]) * alpha;
+		float drawY = snapshot.previousY[i]
+				+ (snapshot.y[i] - snapshot.previousY[i]) * alpha;
+		float width = snapshot.width[i], height = snapshot.height[i];
+		int flags = snapshot.flags[i];
+
+		batch.setColor(1, 1, 1, parentAlpha);
+		batch.draw(snapshot.regions[i], drawX - width / 2, drawY - height / 2,
+				width / 2, height / 2, width, height, snapshot.scale[i],
+				snapshot.scale[i], snapshot.rotation[i]);
+
+		if ((flags & WorldSnapshot.SELECTED) != 0) {
+			Color.rgba8888ToColor(snapshotColor, snapshot.lineColor[i]);
+
+			float previousX = drawX;
+			float previousY = drawY;
+
+			for (int j = 0; j < snapshot.routeLength[i]; j++) {
+				int point = (snapshot.routeStart[i] + j) * 2;
+				float x = snapshot.routes.get(point);
+				float y = snapshot.routes.get(point + 1);
+
+				AbstractScreen.shapes.line(Layer.ROUTES, snapshotColor,
+						previousX, previousY, x, y);
+
+				previousX = x;
+				previousY = y;
+			}
+		}
+
+		if ((flags & (WorldSnapshot.SELECTED | WorldSnapshot.BREACHING)) != 0) {
+			Color.rgba8888ToColor(snapshotColor, snapshot.ringColor[i]);
+
+			AbstractScreen.shapes.circle(Layer.RINGS, snapshotColor, drawX,
+					drawY, snapshot.separationRadius[i]);
+		} else if ((flags & WorldSnapshot.CONFLICT) != 0) {
+			AbstractScreen.shapes.circle(Layer.RINGS, Color.YELLOW, drawX,
+					drawY, snapshot.separationRadius[i]);
+		}
+
+		AbstractScreen.altitudeLabels.draw(batch, snapshot.altitude[i],
+				altitudeColor(snapshot.altitude[i]), drawX - TEXT_OFFSET.x,
+				drawY - TEXT_OFFSET.y);
 	}
 
 	/**
@@ -134,56 +248,49 @@ public final class Aircraft extends Entity {
 		// show full flight plan.
 		if (selected) {
 			// Initialises previous to plane's current position.
-			Vector2 previous = getCoords();
-
-			batch.end();
+			float previousX = getDrawX();
+			float previousY = getDrawY();
 
 			// Loops through waypoints in flight plan drawing a line between
 			// them
-			for (Waypoint waypoint : waypoints) {
-				Vector2 wCoords = waypoint.getCoords();
+			for (int i = 0; i < waypoints.size(); i++) {
+				Vector2 wCoords = waypoints.get(i).getCoords();
 
-				AbstractScreen.drawLine(lineColor, previous.x, previous.y,
-						wCoords.x, wCoords.y, null);
+				AbstractScreen.shapes.line(Layer.ROUTES, lineColor, previousX,
+						previousY, wCoords.x, wCoords.y);
 
-				previous = wCoords;
+				previousX = wCoords.x;
+				previousY = wCoords.y;
 			}
-
-			batch.begin();
 		}
 
 		// if the aircraft is either selected or is breaching, draw a circle
 		// around it
 		if (selected || breaching) {
 
-			AbstractScreen.drawCircle(getPlayer().getColor(), getX(), getY(),
-					getSeparationRadius(), batch);
+			AbstractScreen.shapes.circle(Layer.RINGS, getPlayer().getColor(),
+					getDrawX(), getDrawY(), getSeparationRadius());
 
-		}
+		} else if (conflictPredicted) {
+
+			// warn about a predicted conflict before it actually happens
+			AbstractScreen.shapes.circle(Layer.RINGS, Color.YELLOW,
+					getDrawX(), getDrawY(), getSeparationRadius());
 
-		// draw the altitude for each aircraft
-		Color color;
-
-		if (getAltitude() <= 7500) {
-			color = Color.GREEN;
-		} else if (getAltitude() <= 12500) {
-			color = Color.ORANGE;
-		} else if (getAltitude() > 12500) {
-			color = Color.RED;
-		} else {
-			color = Color.BLACK;
 		}
 
-		AbstractScreen.drawString("alt: " + getAltitude(), getX()
-				- TEXT_OFFSET.x, getY() - TEXT_OFFSET.y, color, batch, true, 1);
+		// draw the altitude for each aircraft
+		AbstractScreen.altitudeLabels.draw(batch, getAltitude(),
+				altitudeColor(getAltitude()), getDrawX() - TEXT_OFFSET.x,
+				getDrawY() - TEXT_OFFSET.y);
 
 		// debug line from aircraft centre to waypoint centre
 		if (Config.DEBUG_UI) {
 			if (waypoints.size() > 0) {
 				Vector2 nextWaypoint = vectorToWaypoint();
 
-				AbstractScreen.drawLine(lineColor, getX(), getY(),
-						nextWaypoint.x, nextWaypoint.y, batch);
+				AbstractScreen.shapes.line(Layer.DEBUG, lineColor,
+						getDrawX(), getDrawY(), nextWaypoint.x, nextWaypoint.y);
 
 			}
 		}
@@ -195,9 +302,41 @@ public final class Aircraft extends Entity {
 	 */
 	@Override
 	public void act(float delta) {
+		boolean moved;
+
+		if (prepared) {
+			prepared = false;
+			moved = preparedMoved;
+		} else {
+			moved = integrate(delta);
+		}
+
+		if (moved)
+			commit();
+	}
+
+	/**
+	 * Integrates the tick ahead of {@link #act(float)}, which then only
+	 * commits it. Used by the airspace to integrate many aircraft in parallel.
+	 */
+	void prepare(float delta) {
+		preparedMoved = integrate(delta);
+		prepared = true;
+	}
 
+	/**
+	 * First half of a tick - moves, turns and climbs the aircraft and follows
+	 * its flight plan. Only touches the state of this aircraft, so different
+	 * aircraft can be integrated at the same time.
+	 * 
+	 * @return whether the aircraft is flying, i.e. has to be committed
+	 */
+	private boolean integrate(float delta) {
 		if (!isActive || landed)
-			return;
+			return false;
+
+		// remember where the aircraft was, for interpolation
+		previousCoords.set(coords);
 
 		// handle aircraft rotation
 		rotateAircraft(delta);
@@ -206,24 +345,127 @@ public final class Aircraft extends Entity {
 		updateAltitude(delta);
 
 		// finally updating coordinates
-		getCoords().add(
-				velocity.cpy().scl(
-						(float) (delta * difficulty.getVelocityMultiplier())));
+		float scale = (float) (delta * difficulty.getVelocityMultiplier());
+		getCoords().add(velocity.x * scale, velocity.y * scale);
 
 		// updating bounds to make sure the aircraft is clickable
 		this.setBounds(getX() - getWidth() / 2, getY() - getWidth() / 2,
 				getWidth(), getHeight());
 
-		// test waypoint collisions
-		try {
+		// test waypoint collisions, landing is left to the commit. On a
+		// straight leg the ticks in which no waypoint is reached are skipped
+		if (waypointTestDue(scale)) {
 			testWaypointCollisions();
-		} catch (IllegalStateException e) {
-			// aircraft has entered a full airport, set var to true so the
-			// AircraftController can pick it up
-			enteredFullAirport = true;
-			isActive = false;
-		} catch (InterruptedException e) {
+			predictWaypointArrival(scale);
+		}
 
+		return true;
+	}
+
+	/**
+	 * @param scale
+	 *            how far the velocity moves the aircraft this tick
+	 * @return whether the waypoints have to be tested this tick, counts down
+	 *         the predicted ticks if they don't
+	 */
+	private boolean waypointTestDue(float scale) {
+		if (clearTicks > 0 && clearRevision == stateRevision
+				&& clearPlan == waypoints
+				&& clearPlanRevision == waypoints.getRevision()
+				&& clearScale == scale) {
+			clearTicks--;
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Predicts for how many ticks the aircraft can't reach the waypoints
+	 * tested by {@link #testWaypointCollisions()}, if it keeps its heading
+	 * and speed. Nothing is predicted while it is turning or changing speed.
+	 */
+	private void predictWaypointArrival(float scale) {
+		clearTicks = 0;
+
+		if (stateRevision != clearRevision || !isActive
+				|| landingAirport != null || waypoints.isEmpty()) {
+			clearRevision = stateRevision;
+			return;
+		}
+
+		float dx = velocity.x * scale, dy = velocity.y * scale;
+
+		clearTicks = Math.min(
+				ticksClearOf(getLastWaypoint().getCoords(),
+						Config.EXIT_WAYPOINT_SIZE.x / 2, dx, dy),
+				ticksClearOf(getNextWaypoint().getCoords(),
+						Config.WAYPOINT_SIZE.x / 2, dx, dy));
+
+		clearPlan = waypoints;
+		clearPlanRevision = waypoints.getRevision();
+		clearScale = scale;
+	}
+
+	/**
+	 * Solves when the aircraft, moving by (dx, dy) every tick, first comes
+	 * within radius of a point
+	 * 
+	 * @return number of the next ticks in which it certainly doesn't
+	 */
+	private int ticksClearOf(Vector2 point, float radius, float dx, float dy) {
+		// wider by more than the rounding of adding up the moves can be
+		double r = radius + Math.abs(dx) + Math.abs(dy) + 1;
+		double px = getX() - point.x, py = getY() - point.y;
+
+		double a = dx * dx + dy * dy;
+		double b = px * dx + py * dy;
+		double c = px * px + py * py - r * r;
+
+		if (c <= 0)
+			return 0;
+
+		// standing still or moving away
+		if (a == 0 || b >= 0)
+			return Integer.MAX_VALUE;
+
+		double discriminant = b * b - a * c;
+
+		// passes by
+		if (discriminant < 0)
+			return Integer.MAX_VALUE;
+
+		double entry = (-b - Math.sqrt(discriminant)) / a;
+
+		return (int) Math.max(0,
+				Math.min(Integer.MAX_VALUE, Math.ceil(entry) - 2));
+	}
+
+	/**
+	 * Second half of a tick - applies everything which touches shared state,
+	 * in the order the aircraft act in
+	 */
+	private void commit() {
+		// keep the broad-phase grid up to date
+		if (collisionGrid != null)
+			collisionGrid.move(this);
+
+		updateAltitudeBand();
+
+		if (landingAirport != null) {
+			Airport airport = landingAirport;
+			landingAirport = null;
+
+			try {
+				airport.insertAircraft(this);
+				EventLog.log(Event.LANDING, id, airport.getX(), airport.getY());
+				insertThisIntoAirport(airport);
+			} catch (IllegalStateException e) {
+				// aircraft has entered a full airport, set var to true so the
+				// AircraftController can pick it up
+				enteredFullAirport = true;
+				isActive = false;
+			}
 		}
 
 		// test screen boundary
@@ -234,6 +476,45 @@ public final class Aircraft extends Entity {
 		checkBreaching();
 	}
 
+	/**
+	 * Draws the aircraft between its position at the previous tick and the
+	 * last one, so movement looks smooth at any frame rate
+	 */
+	@Override
+	protected float getDrawX() {
+		return previousCoords.x + (coords.x - previousCoords.x)
+				* interpolationAlpha();
+	}
+
+	@Override
+	protected float getDrawY() {
+		return previousCoords.y + (coords.y - previousCoords.y)
+				* interpolationAlpha();
+	}
+
+	/**
+	 * @return interpolation factor of the airspace this aircraft is in, or 1
+	 *         if it isn't in one
+	 */
+	private float interpolationAlpha() {
+		Airspace airspace = getAirspace();
+
+		return (airspace != null) ? airspace.getInterpolationAlpha() : 1;
+	}
+
+	/**
+	 * @return the airspace this aircraft is in, or null
+	 */
+	private Airspace getAirspace() {
+		for (Group parent = getParent(); parent != null; parent = parent
+				.getParent()) {
+			if (parent instanceof Airspace)
+				return (Airspace) parent;
+		}
+
+		return null;
+	}
+
 	/**
 	 * Calculate the angle between the aircraft's coordinates and the vector the
 	 * next waypoint
@@ -242,9 +523,9 @@ public final class Aircraft extends Entity {
 	 * @return angle <b>IN DEGREES, NOT RADIANS</b>
 	 */
 	private float angleCoordsToWaypoint(Vector2 waypoint) {
-		Vector2 way = new Vector2(waypoint.x - getCoords().x, waypoint.y
-				- getCoords().y).nor();
-		Vector2 coord = velocity.cpy().nor();
+		Vector2 way = wayScratch.set(waypoint.x - getCoords().x,
+				waypoint.y - getCoords().y).nor();
+		Vector2 coord = headingScratch.set(velocity).nor();
 
 		float angle = (float) Math.acos(way.dot(coord) / way.len()
 				* coord.len())
@@ -256,11 +537,11 @@ public final class Aircraft extends Entity {
 	/**
 	 * Calculates the vector to the next waypoint
 	 * 
-	 * @return 3d vector to the next waypoint
+	 * @return 3d vector to the next waypoint, only valid until the next call
 	 */
 	private Vector2 vectorToWaypoint() {
-		// Creates a new vector to store the new velocity in temporarily
-		Vector2 nextWaypoint = new Vector2();
+		// reuses the same vector to store the new velocity in temporarily
+		Vector2 nextWaypoint = nextWaypointScratch;
 
 		// round it to 2 points after decimal, makes it more manageable later
 		nextWaypoint.x = (float) (Math
@@ -287,7 +568,8 @@ public final class Aircraft extends Entity {
 	 * @return angle in degrees, rounded to 2 points after decimal
 	 */
 	private float relativeAngleToWaypoint(Vector2 waypoint) {
-		return new Vector2(waypoint.x - getX(), waypoint.y - getY()).angle();
+		return wayScratch.set(waypoint.x - getX(), waypoint.y - getY())
+				.angle();
 	}
 
 	/**
@@ -351,6 +633,7 @@ public final class Aircraft extends Entity {
 
 			setRotation(newRotation);
 			velocity.setAngle(getRotation());
+			stateRevision++;
 		}
 	}
 
@@ -374,20 +657,38 @@ public final class Aircraft extends Entity {
 			if (altitude < Config.ALTITUDES[targetAltitudeIndex])
 				altitude = Config.ALTITUDES[targetAltitudeIndex];
 		}
+
+	}
+
+	/**
+	 * Tells the airspace when the aircraft has to be drawn in a different
+	 * altitude band
+	 */
+	private void updateAltitudeBand() {
+		int band = Airspace.bandOf(altitude);
+
+		if (band == altitudeBand)
+			return;
+
+		altitudeBand = band;
+
+		Airspace airspace = getAirspace();
+
+		if (airspace != null)
+			airspace.altitudeBandChanged(this);
 	}
 
 	/**
 	 * Tests whether this aircraft has collided with any waypoints and take
-	 * appropriate action
-	 * 
-	 * @throws InterruptedException
-	 * @throws IllegalStateException
-	 *             upon trying to enter a full airport
+	 * appropriate action. Landing in an airport is only noted, it happens in
+	 * {@link #commit()}.
 	 */
-	private void testWaypointCollisions() throws InterruptedException,
-			IllegalStateException {
+	private void testWaypointCollisions() {
+
+		float exitRadius = Config.EXIT_WAYPOINT_SIZE.x / 2;
 
-		if (getCoords().cpy().sub(getLastWaypoint().getCoords()).len() < Config.EXIT_WAYPOINT_SIZE.x / 2) {
+		if (getCoords().dst2(getLastWaypoint().getCoords()) < exitRadius
+				* exitRadius) {
 
 			// Test if exit point is an airport, and add aircraft into
 			// airport while removing it from the airspace.
@@ -401,22 +702,18 @@ public final class Aircraft extends Entity {
 					// Reset flightplan and add landing waypoints to
 					// flightplan if the flightplan is empty.
 					setSpeed(400 / Config.AIRCRAFT_SPEED_MULTIPLIER);
-					targetAltitudeIndex = 2;
-					insertWaypoint(airport.runwayStart);
-					insertWaypoint(airport.runwayLeft);
-					insertWaypoint(airport.goAroundTwo);
-					insertWaypoint(airport.goAroundOne);
-					insertWaypoint(airport.runwayEnd);
+					setTargetAltitudeIndex(2);
+					waypoints.insert(airport.goAround);
 					return;
 				}
 
-				airport.insertAircraft(this);
-				insertThisIntoAirport(airport);
+				landingAirport = airport;
+				return;
 
 			} else if (getLastWaypoint() instanceof Airport) {
 				return;
 			} else {
-				waypoints.remove(0);
+				waypoints.removeFirst();
 			}
 
 			if (waypoints.isEmpty()) {
@@ -426,7 +723,10 @@ public final class Aircraft extends Entity {
 			return;
 		}
 
-		if (getCoords().cpy().sub(getNextWaypoint().getCoords()).len() < Config.WAYPOINT_SIZE.x / 2) {
+		float waypointRadius = Config.WAYPOINT_SIZE.x / 2;
+
+		if (getCoords().dst2(getNextWaypoint().getCoords()) < waypointRadius
+				* waypointRadius) {
 
 			// These checks concern the stages of the aircrafts approach to
 			// the airport, incrementally decreasing speed and altitude.
@@ -434,24 +734,24 @@ public final class Aircraft extends Entity {
 
 				if (getNextWaypoint().equals(
 						waypoints.get(waypoints.size() - 2))) {
-					targetAltitudeIndex = 0;
+					setTargetAltitudeIndex(0);
 				} else if (getNextWaypoint().equals(
 						waypoints.get(waypoints.size() - 3))) {
-					targetAltitudeIndex = 1;
+					setTargetAltitudeIndex(1);
 					setSpeed(400 / Config.AIRCRAFT_SPEED_MULTIPLIER);
 				} else if (getNextWaypoint().equals(
 						waypoints.get(waypoints.size() - 4))) {
-					targetAltitudeIndex = 2;
+					setTargetAltitudeIndex(2);
 					setSpeed(400 / Config.AIRCRAFT_SPEED_MULTIPLIER);
 				} else if (getNextWaypoint().equals(
 						waypoints.get(waypoints.size() - 5))) {
-					targetAltitudeIndex = 3;
+					setTargetAltitudeIndex(3);
 				}
 
 			}
 
 			// for when aircraft is at any other waypoint.
-			waypoints.remove(0);
+			waypoints.removeFirst();
 
 			if (waypoints.isEmpty()) {
 				this.isActive = false;
@@ -465,9 +765,7 @@ public final class Aircraft extends Entity {
 	 * flightplan and then remove it from the airspace.
 	 */
 	private void insertThisIntoAirport(Airport airport) {
-		ArrayList<Waypoint> newFlightPlan = flightPlanner.generate(airport);
-		waypoints.clear();
-		waypoints = newFlightPlan;
+		flightPlanner.generate(waypoints, airport);
 		isActive = false;
 	}
 
@@ -503,7 +801,7 @@ public final class Aircraft extends Entity {
 	 * @param newWaypoint
 	 */
 	public void insertWaypoint(Waypoint newWaypoint) {
-		waypoints.add(0, newWaypoint);
+		waypoints.insert(newWaypoint);
 	}
 
 	/**
@@ -520,7 +818,7 @@ public final class Aircraft extends Entity {
 			newSpeed = aircraftType.getMaxSpeed();
 
 		setSpeed(newSpeed);
-		Debug.msg("Increasing speed; New Speed: " + newSpeed);
+		EventLog.log(Event.SPEED, id, newSpeed, 0);
 	}
 
 	/**
@@ -537,7 +835,7 @@ public final class Aircraft extends Entity {
 			newSpeed = aircraftType.getMinSpeed();
 
 		setSpeed(newSpeed);
-		Debug.msg("Decreasing speed; New Speed: " + newSpeed);
+		EventLog.log(Event.SPEED, id, newSpeed, 0);
 	}
 
 	/**
@@ -547,7 +845,7 @@ public final class Aircraft extends Entity {
 		if (targetAltitudeIndex <= 3)
 			return;
 		else {
-			targetAltitudeIndex--;
+			setTargetAltitudeIndex(targetAltitudeIndex - 1);
 		}
 	}
 
@@ -558,10 +856,21 @@ public final class Aircraft extends Entity {
 		if (targetAltitudeIndex == Config.ALTITUDES.length - 1)
 			return;
 		else {
-			targetAltitudeIndex++;
+			setTargetAltitudeIndex(targetAltitudeIndex + 1);
 		}
 	}
 
+	/**
+	 * Changes the altitude level the aircraft is climbing or descending to
+	 * 
+	 * @param index
+	 *            index into {@link Config#ALTITUDES}
+	 */
+	private void setTargetAltitudeIndex(int index) {
+		targetAltitudeIndex = index;
+		stateRevision++;
+	}
+
 	public void turnRight(boolean set) {
 		if (set)
 			turnLeft = false;
@@ -622,7 +931,8 @@ public final class Aircraft extends Entity {
 		this.isActive = true;
 		this.landed = false;
 		this.altitude = 0;
-		this.targetAltitudeIndex = rand.nextInt(3) + 3;
+		updateAltitudeBand();
+		setTargetAltitudeIndex(rand.nextInt(3) + 3);
 		this.setSpeed(800 / Config.AIRCRAFT_SPEED_MULTIPLIER);
 	}
 
@@ -634,11 +944,11 @@ public final class Aircraft extends Entity {
 		return turnLeft;
 	}
 
-	private int getId() {
+	public int getId() {
 		return id;
 	}
 
-	public ArrayList<Waypoint> getFlightPlan() {
+	public FlightPlan getFlightPlan() {
 		return waypoints;
 	}
 
@@ -667,6 +977,42 @@ public final class Aircraft extends Entity {
 		return altitude;
 	}
 
+	/**
+	 * @return the altitude the aircraft is climbing or descending to
+	 */
+	public int getTargetAltitude() {
+		return Config.ALTITUDES[targetAltitudeIndex];
+	}
+
+	/**
+	 * Returns the velocity vector, before the difficulty's velocity multiplier
+	 * is applied. Must not be modified.
+	 * 
+	 * @return velocity
+	 */
+	public Vector2 getVelocity() {
+		return velocity;
+	}
+
+	/**
+	 * Returns a number which changes every time the heading, speed or target
+	 * altitude of the aircraft changes. Predictions made using the same
+	 * revision are still valid.
+	 * 
+	 * @return state revision
+	 */
+	public int getStateRevision() {
+		return stateRevision;
+	}
+
+	public boolean isConflictPredicted() {
+		return conflictPredicted;
+	}
+
+	public void setConflictPredicted(boolean predicted) {
+		this.conflictPredicted = predicted;
+	}
+
 	/**
 	 * Sets the speed of the aircraft (ignoring minimum and maximum speeds)
 	 * 
@@ -678,6 +1024,7 @@ public final class Aircraft extends Entity {
 			throw new IllegalArgumentException("speed cannot be 0");
 
 		velocity.clamp(speed, speed);
+		stateRevision++;
 	}
 
 	/**
@@ -722,6 +1069,21 @@ public final class Aircraft extends Entity {
 		this.lineColor = lineColor;
 	}
 
+	public Color getLineColor() {
+		return lineColor;
+	}
+
+	public boolean isSelected() {
+		return selected;
+	}
+
+	/**
+	 * @return position at the end of the previous tick
+	 */
+	public Vector2 getPreviousCoords() {
+		return previousCoords;
+	}
+
 	public Waypoint getEntryPoint() {
 		return entryPoint;
 	}
@@ -734,6 +1096,30 @@ public final class Aircraft extends Entity {
 		return waypoints.get(waypoints.size() - 1);
 	}
 
+	public int getCollisionCell() {
+		return collisionCell;
+	}
+
+	void setAltitudeBand(int band) {
+		altitudeBand = band;
+	}
+
+	/**
+	 * @return ticks left in which the waypoints aren't tested, 0 if nothing
+	 *         is predicted
+	 */
+	int getClearTicks() {
+		return clearTicks;
+	}
+
+	public void setCollisionCell(int cell) {
+		this.collisionCell = cell;
+	}
+
+	public void setCollisionGrid(CollisionComponent grid) {
+		this.collisionGrid = grid;
+	}
+
 	public boolean hasEnteredFullAirport() {
 		return enteredFullAirport;
 	}
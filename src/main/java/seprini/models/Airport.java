@@ -1,9 +1,14 @@
 package seprini.models;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import seprini.controllers.components.SchedulerComponent;
 import seprini.data.Art;
 import seprini.data.Config;
+import seprini.data.TextureId;
 
 public class Airport extends Waypoint {
 
@@ -11,26 +16,34 @@ public class Airport extends Waypoint {
 	public Waypoint runwayStart, runwayEnd, runwayLeft, runwayRight,
 			goAroundOne, goAroundTwo;
 
+	// Waypoints flown when an aircraft is too high to land, in order. Shared
+	// by all the aircraft going around this airport.
+	public final List<Waypoint> goAround;
+
 	// Maximum number of aircraft that can be in the airport at once. If
-	// exceeded, game ends. This number must never be greater than 5!
-	private final static int MAX_AIRCRAFT_NUMBER = 5;
+	// exceeded, game ends. The sidebar and overlay have a slot for each.
+	public final static int MAX_AIRCRAFT_NUMBER = 5;
+
+	// states of a slot returned by getSlot, besides the boarding time
+	public final static int SLOT_EMPTY = -1, SLOT_READY = -2;
 
 	// Time remaining before an aircraft can take off.
 	public float timeTillFreeRunway = 5;
 	public ArrayList<Aircraft> aircraftList = new ArrayList<Aircraft>();
 	public int boardingAircraft = 0;
 
-	public float[] countdown = { Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY,
-			Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY,
-			Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY,
-			Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY,
-			Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY, timeTillFreeRunway };
-
-	public int[] timeElapsed = { 0, 0, 0, 0, 0, 0 };
 	public boolean takeoffReady = true;
 
 	public ArrayList<Aircraft> waitingAircraft = new ArrayList<Aircraft>();
 
+	// boarding timer of each waiting aircraft, in the same order
+	private final ArrayList<SchedulerComponent.Timer> boardingTimers = new ArrayList<SchedulerComponent.Timer>();
+
+	// time until the runway is free again after a takeoff
+	private SchedulerComponent.Timer runwayTimer;
+
+	private SchedulerComponent scheduler;
+
 	public Airport(float x, float y, boolean visible) {
 		super(x, y, visible);
 
@@ -42,34 +55,20 @@ public class Airport extends Waypoint {
 		goAroundTwo = new Waypoint(x - 200, y, false);
 		goAroundOne = new Waypoint(x - 100, y + 150, false);
 
-		texture = Art.getTextureRegion("airport");
+		goAround = Collections.unmodifiableList(Arrays.asList(runwayEnd,
+				goAroundOne, goAroundTwo, runwayLeft, runwayStart));
+
+		texture = Art.getTextureRegion(TextureId.AIRPORT);
 		size = Config.AIRPORT_SIZE;
 
 	}
 
 	/**
-	 * Updates all of the timers for the airport
+	 * Sets the scheduler which runs the boarding and takeoff timers. Without
+	 * one, aircraft board and the runway frees up straight away.
 	 */
-	@Override
-	public void act(float delta) {
-		for (int i = 0; i < waitingAircraft.size(); i++) {
-			countdown[i] -= delta;
-			if (countdown[i] <= 0) {
-				countdown[i] = Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY;
-
-				aircraftList.add(waitingAircraft.get(0));
-				waitingAircraft.remove(0);
-			}
-		}
-
-		if (takeoffReady == false) {
-			countdown[5] -= delta;
-			if (countdown[5] <= 0) {
-				countdown[5] = timeTillFreeRunway;
-				takeoffReady = true;
-			}
-		}
-
+	public void setScheduler(SchedulerComponent scheduler) {
+		this.scheduler = scheduler;
 	}
 
 	public void setTimeLeft(int timeTillFreeRunway) {
@@ -96,7 +95,61 @@ public class Airport extends Waypoint {
 		}
 		boardingAircraft += 1;
 
+		if (scheduler == null) {
+			aircraftList.add(aircraft);
+			return;
+		}
+
 		waitingAircraft.add(aircraft);
+		boardingTimers.add(scheduler.schedule(
+				Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY, new Runnable() {
+					@Override
+					public void run() {
+						// boarded, ready for takeoff
+						int i = waitingAircraft.indexOf(aircraft);
+						waitingAircraft.remove(i);
+						boardingTimers.remove(i);
+						aircraftList.add(aircraft);
+					}
+				}));
+	}
+
+	/**
+	 * @param i
+	 *            index into {@link #waitingAircraft}
+	 * @return seconds until the waiting aircraft has boarded
+	 */
+	public float getBoardingTimeLeft(int i) {
+		return boardingTimers.get(i).getTimeLeft();
+	}
+
+	/**
+	 * Slots are filled with the aircraft ready for takeoff first, then the
+	 * boarding ones
+	 * 
+	 * @param slot
+	 *            from 0 to {@link #MAX_AIRCRAFT_NUMBER} - 1
+	 * @return {@link #SLOT_READY}, whole seconds left until the aircraft in
+	 *         the slot has boarded, or {@link #SLOT_EMPTY}
+	 */
+	public int getSlot(int slot) {
+		if (slot < aircraftList.size())
+			return SLOT_READY;
+
+		slot -= aircraftList.size();
+
+		if (slot < waitingAircraft.size())
+			return (int) getBoardingTimeLeft(slot);
+
+		return SLOT_EMPTY;
+	}
+
+	/**
+	 * @return seconds until the runway is free for the next takeoff, 0 if it
+	 *         already is
+	 */
+	public float getTakeoffTimeLeft() {
+		return (runwayTimer == null) ? 0 : runwayTimer.getTimeLeft();
 	}
 
 	/**
@@ -115,16 +168,22 @@ public class Airport extends Waypoint {
 		if (aircraftList.size() == 0)
 			return null;
 
-		for (int j = 0; j < aircraftList.size() + waitingAircraft.size(); j++) {
-			countdown[j] = countdown[j + 1];
-		}
-
-		takeoffReady = false;
-
 		Aircraft aircraft = aircraftList.get(i);
 		aircraftList.remove(i);
 		boardingAircraft -= 1;
 
+		// the runway is busy for a while after each takeoff
+		if (scheduler != null) {
+			takeoffReady = false;
+			runwayTimer = scheduler.schedule(timeTillFreeRunway,
+					new Runnable() {
+						@Override
+						public void run() {
+							takeoffReady = true;
+						}
+					});
+		}
+
 		return aircraft;
 	}
 }
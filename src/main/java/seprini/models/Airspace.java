@@ -1,36 +1,329 @@
 package seprini.models;
 
-import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+import seprini.data.Config;
+import seprini.data.Profiler;
+import seprini.data.Profiler.Phase;
+import seprini.screens.AbstractScreen;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+public class Airspace extends Group implements Disposable {
+
+	// the map, waypoints and airports, drawn below everything else
+	private final StaticLayer staticLayer = new StaticLayer();
+
+	// aircraft are drawn in order of altitude, using one group for each band
+	// between two altitude levels
+	private final Group[] altitudeBands = new Group[Config.ALTITUDES.length];
+
+	// aircraft which have moved to a different band during the current tick
+	private final Array<Aircraft> bandChanges = new Array<Aircraft>(false, 16);
+
+	// how far the current frame is between the last two simulation ticks
+	private float interpolationAlpha = 1;
+
+	// from how many aircraft they are integrated in parallel
+	private int parallelThreshold = Config.PARALLEL_UPDATE_THRESHOLD;
+
+	// aircraft integrated in parallel during the current tick
+	private final Array<Aircraft> flying = new Array<Aircraft>(false, 64,
+			Aircraft.class);
+
+	// shared by all airspaces, its threads are daemons
+	private static ForkJoinPool pool;
+
+	// when the simulation runs on its own thread, what is drawn instead of
+	// the aircraft
+	private SnapshotBuffer snapshots;
+
+	public Airspace() {
+		super.addActor(staticLayer);
+
+		for (int i = 0; i < altitudeBands.length; i++) {
+			altitudeBands[i] = new Group();
+			altitudeBands[i].setTransform(false);
+			super.addActor(altitudeBands[i]);
+		}
+	}
+
+	/**
+	 * Adds an actor, static entities go into the static layer and aircraft
+	 * into the band of their altitude
+	 */
+	@Override
+	public void addActor(Actor actor) {
+		if (actor instanceof Entity && ((Entity) actor).isStatic()) {
+			staticLayer.addActor(actor);
+			return;
+		}
+
+		if (actor instanceof Aircraft) {
+			Aircraft aircraft = (Aircraft) actor;
+			int band = bandOf(aircraft.getAltitude());
+
+			aircraft.setAltitudeBand(band);
+			altitudeBands[band].addActor(aircraft);
+			return;
+		}
+
+		super.addActor(actor);
+	}
+
+	/**
+	 * @return index of the altitude band an altitude is in, i.e. of the
+	 *         highest level in {@link Config#ALTITUDES} it has reached
+	 */
+	static int bandOf(int altitude) {
+		for (int i = Config.ALTITUDES.length - 1; i > 0; i--) {
+			if (altitude >= Config.ALTITUDES[i])
+				return i;
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Called by an aircraft which has crossed into a different altitude band.
+	 * It is moved at the end of the tick, so it doesn't act twice.
+	 */
+	void altitudeBandChanged(Aircraft aircraft) {
+		bandChanges.add(aircraft);
+	}
+
+	Group getAltitudeBand(int band) {
+		return altitudeBands[band];
+	}
+
+	/**
+	 * Does nothing - the airspace is only updated by the controller through
+	 * {@link #step(float)} so it moves in fixed size ticks
+	 */
+	@Override
+	public void act(float delta) {
+	}
+
+	/**
+	 * Runs one simulation tick for all of the actors in this airspace
+	 * 
+	 * @param delta
+	 *            length of the tick
+	 */
+	public void step(float delta) {
+		if (aircraftCount() >= parallelThreshold)
+			prepareParallel(delta);
+
+		// commits the prepared aircraft in order, or updates them if they
+		// haven't been
+		super.act(delta);
+
+		long start = Profiler.start();
+
+		// only the aircraft which have climbed or descended past a level
+		// have to be moved
+		for (int i = 0; i < bandChanges.size; i++) {
+			Aircraft aircraft = bandChanges.get(i);
 
-public class Airspace extends Group {
+			// removed in the meantime
+			if (aircraft.getParent() == null)
+				continue;
+
+			Group band = altitudeBands[bandOf(aircraft.getAltitude())];
+
+			if (aircraft.getParent() != band)
+				band.addActor(aircraft);
+		}
+
+		bandChanges.clear();
+
+		Profiler.end(Phase.ALTITUDE_BANDS, start);
+	}
 
 	/**
-	 * Sorts this airspace's aircraft so they appear in altitude order
+	 * Integrates all the aircraft in chunks on a fork-join pool. What they
+	 * change in the airspace is applied afterwards, as they act.
 	 */
-	public void sortAircraft() {
-		this.getChildren().sort(AltitudeComparator.INSTANCE);
+	private void prepareParallel(float delta) {
+		flying.clear();
+
+		for (int i = 0; i < altitudeBands.length; i++) {
+			Array<Actor> children = altitudeBands[i].getChildren();
+
+			for (int j = 0; j < children.size; j++)
+				flying.add((Aircraft) children.get(j));
+		}
+
+		if (pool == null)
+			pool = new ForkJoinPool();
+
+		pool.invoke(new Integrate(flying.items, 0, flying.size, delta));
+
+		flying.clear();
 	}
 
-	private static class AltitudeComparator implements Comparator<Actor> {
-		public static final AltitudeComparator INSTANCE = new AltitudeComparator();
+	/**
+	 * Integrates a range of aircraft, split up until it's a single chunk
+	 */
+	private static class Integrate extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Aircraft[] aircraft;
+		private final int from, to;
+		private final float delta;
+
+		Integrate(Aircraft[] aircraft, int from, int to, float delta) {
+			this.aircraft = aircraft;
+			this.from = from;
+			this.to = to;
+			this.delta = delta;
+		}
 
 		@Override
-		public int compare(Actor o1, Actor o2) {
-			if (o1 instanceof Aircraft) {
-				if (o2 instanceof Aircraft) {
-					// Test altitudes
-					return Float.compare(((Aircraft) o1).getAltitude(),
-							((Aircraft) o2).getAltitude());
-				} else {
-					// aircraft > non-aircraft
-					return 1;
-				}
-			} else {
-				return (o2 instanceof Aircraft) ? -1 : 0;
+		protected void compute() {
+			if (to - from <= Config.PARALLEL_UPDATE_CHUNK) {
+				for (int i = from; i < to; i++)
+					aircraft[i].prepare(delta);
+
+				return;
 			}
+
+			int middle = (from + to) >>> 1;
+
+			invokeAll(new Integrate(aircraft, from, middle, delta),
+					new Integrate(aircraft, middle, to, delta));
+		}
+	}
+
+	/**
+	 * @return number of aircraft in the airspace
+	 */
+	public int aircraftCount() {
+		int count = 0;
+
+		for (int i = 0; i < altitudeBands.length; i++)
+			count += altitudeBands[i].getChildren().size;
+
+		return count;
+	}
+
+	/**
+	 * Sets from how many aircraft they are integrated in parallel, by
+	 * default {@link Config#PARALLEL_UPDATE_THRESHOLD}
+	 */
+	public void setParallelThreshold(int threshold) {
+		this.parallelThreshold = threshold;
+	}
+
+	/**
+	 * Makes the airspace draw the latest snapshot rather than its aircraft,
+	 * which are being changed by the simulation thread
+	 */
+	public void setSnapshots(SnapshotBuffer snapshots) {
+		this.snapshots = snapshots;
+	}
+
+	/**
+	 * Adds all the aircraft to a snapshot, in the order they are drawn
+	 */
+	public void writeAircraft(WorldSnapshot snapshot) {
+		for (int i = 0; i < altitudeBands.length; i++) {
+			Array<Actor> children = altitudeBands[i].getChildren();
+
+			for (int j = 0; j < children.size; j++)
+				snapshot.addAircraft((Aircraft) children.get(j));
 		}
 	}
+
+	@Override
+	protected void drawChildren(SpriteBatch batch, float parentAlpha) {
+		if (snapshots == null) {
+			super.drawChildren(batch, parentAlpha);
+			return;
+		}
+
+		parentAlpha *= getColor().a;
+
+		staticLayer.draw(batch, parentAlpha);
+
+		WorldSnapshot snapshot = snapshots.latest();
+
+		// how far the frame is past the last tick
+		float alpha = (System.nanoTime() - snapshot.tickTime) / 1e9f
+				/ snapshot.step;
+		alpha = Math.min(1, Math.max(0, alpha));
+
+		for (int i = 0; i < snapshot.count; i++)
+			Aircraft.draw(batch, snapshot, i, alpha, parentAlpha);
+
+		if (snapshot.crashed)
+			Explosion.draw(batch, snapshot.explosionX, snapshot.explosionY,
+					snapshot.explosionProgress, parentAlpha);
+	}
+
+	/**
+	 * Aircraft of the latest snapshot hit the airspace itself, the input
+	 * listener works out which one it was
+	 */
+	@Override
+	public Actor hit(float x, float y, boolean touchable) {
+		if (snapshots == null)
+			return super.hit(x, y, touchable);
+
+		if (touchable && getTouchable() != Touchable.enabled)
+			return null;
+
+		if (snapshots.latest().aircraftAt(x, y) != -1)
+			return this;
+
+		Actor hit = staticLayer.hit(x - staticLayer.getX(),
+				y - staticLayer.getY(), touchable);
+
+		if (hit != null)
+			return hit;
+
+		return x >= 0 && x < getWidth() && y >= 0 && y < getHeight() ? this
+				: null;
+	}
+
+	/**
+	 * Draws the actors, then all of the lines and circles they have queued
+	 * in one go
+	 */
+	@Override
+	public void draw(SpriteBatch batch, float parentAlpha) {
+		super.draw(batch, parentAlpha);
+
+		AbstractScreen.shapes.flush(AbstractScreen.shapeRenderer, batch);
+	}
+
+	public StaticLayer getStaticLayer() {
+		return staticLayer;
+	}
+
+	public float getInterpolationAlpha() {
+		return interpolationAlpha;
+	}
+
+	/**
+	 * Sets how far between the last two ticks things should be drawn
+	 * 
+	 * @param alpha
+	 *            from 0 (previous tick) to 1 (last tick)
+	 */
+	public void setInterpolationAlpha(float alpha) {
+		this.interpolationAlpha = alpha;
+	}
+
+	@Override
+	public void dispose() {
+		staticLayer.dispose();
+	}
 }
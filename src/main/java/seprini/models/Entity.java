@@ -2,16 +2,18 @@ package seprini.models;
 
 import seprini.data.Config;
 import seprini.screens.AbstractScreen;
+import seprini.screens.ShapeQueue.Layer;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 
 public abstract class Entity extends Actor {
 
+	private static final Color DEBUG_COLOR = new Color(1, 0, 0, 0);
+
 	protected Vector2 coords;
 	protected TextureRegion texture;
 	protected Vector2 size;
@@ -24,8 +26,8 @@ public abstract class Entity extends Actor {
 
 		batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
 
-		batch.draw(getRegion(), getX() - getWidth() / 2, getY() - getHeight()
-				/ 2, getOriginX(), getOriginY(), getWidth(), getHeight(),
+		batch.draw(getRegion(), getDrawX() - getWidth() / 2, getDrawY()
+				- getHeight() / 2, getOriginX(), getOriginY(), getWidth(), getHeight(),
 				getScaleX(), getScaleX(), getRotation());
 
 		additionalDraw(batch);
@@ -44,25 +46,43 @@ public abstract class Entity extends Actor {
 		if (!debugShape)
 			return;
 
-		batch.end();
-
-		AbstractScreen.shapeRenderer.begin(ShapeType.Line);
-		AbstractScreen.shapeRenderer.setColor(1, 0, 0, 0);
-		AbstractScreen.shapeRenderer.box(getX() - getWidth() / 2, getY()
-				- getHeight() / 2, 0, getWidth(), getHeight(), 0);
-		AbstractScreen.shapeRenderer.end();
-
-		batch.begin();
+		AbstractScreen.shapes.rect(Layer.DEBUG, DEBUG_COLOR, getDrawX()
+				- getWidth() / 2, getDrawY() - getHeight() / 2, getWidth(),
+				getHeight());
 	}
 
 	protected void additionalDraw(SpriteBatch batch) {
 
 	}
 
+	/**
+	 * Whether this entity looks the same every frame, so the airspace can
+	 * draw it once into its static layer
+	 */
+	public boolean isStatic() {
+		return false;
+	}
+
 	public TextureRegion getRegion() {
 		return texture;
 	}
 
+	/**
+	 * X coordinate the entity is drawn at, which may differ from its position
+	 * in the simulation
+	 */
+	protected float getDrawX() {
+		return getX();
+	}
+
+	/**
+	 * Y coordinate the entity is drawn at, which may differ from its position
+	 * in the simulation
+	 */
+	protected float getDrawY() {
+		return getY();
+	}
+
 	public Vector2 getCoords() {
 		return coords;
 	}
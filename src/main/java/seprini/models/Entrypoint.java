@@ -1,6 +1,7 @@
 package seprini.models;
 
 import seprini.data.Art;
+import seprini.data.TextureId;
 
 import com.badlogic.gdx.math.Vector2;
 
@@ -12,7 +13,7 @@ public class Entrypoint extends Waypoint {
 
 	public Entrypoint(Vector2 position) {
 		super(position, true);
-		this.texture = Art.getTextureRegion("entrypoint");
+		this.texture = Art.getTextureRegion(TextureId.ENTRYPOINT);
 	}
 
 }
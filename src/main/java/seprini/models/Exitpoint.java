@@ -1,6 +1,7 @@
 package seprini.models;
 
 import seprini.data.Art;
+import seprini.data.TextureId;
 
 import com.badlogic.gdx.math.Vector2;
 
@@ -8,6 +9,6 @@ public final class Exitpoint extends Waypoint {
 
 	public Exitpoint(Vector2 position) {
 		super(position, true);
-		this.texture = Art.getTextureRegion("exitpoint");
+		this.texture = Art.getTextureRegion(TextureId.EXITPOINT);
 	}
 }
@@ -0,0 +1,63 @@
+package seprini.models;
+
+import seprini.data.Art;
+import seprini.data.Config;
+import seprini.data.TextureId;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Explosion shown where two aircraft have crashed
+ */
+public class Explosion extends Entity {
+
+	public Explosion(float x, float y) {
+		coords = new Vector2(x, y);
+
+		texture = Art.getTextureRegion(TextureId.EXPLOSION);
+		size = Config.EXPLOSION_SIZE;
+
+		setOrigin(getWidth() / 2, getHeight() / 2);
+		setProgress(0);
+	}
+
+	/**
+	 * Grows the explosion, then fades it out towards the end
+	 * 
+	 * @param progress
+	 *            from 0 (just crashed) to 1 (game over)
+	 */
+	public void setProgress(float progress) {
+		progress = Math.min(1, Math.max(0, progress));
+
+		setScale(scaleAt(progress));
+		getColor().a = alphaAt(progress);
+	}
+
+	/**
+	 * Draws an explosion from a snapshot, looking the same as when it draws
+	 * itself
+	 */
+	static void draw(SpriteBatch batch, float x, float y, float progress,
+			float parentAlpha) {
+		progress = Math.min(1, Math.max(0, progress));
+
+		TextureRegion region = Art.getTextureRegion(TextureId.EXPLOSION);
+		float width = Config.EXPLOSION_SIZE.x, height = Config.EXPLOSION_SIZE.y;
+		float scale = scaleAt(progress);
+
+		batch.setColor(1, 1, 1, alphaAt(progress) * parentAlpha);
+		batch.draw(region, x - width / 2, y - height / 2, width / 2,
+				height / 2, width, height, scale, scale, 0);
+	}
+
+	private static float scaleAt(float progress) {
+		return 0.2f + 0.8f * Math.min(1, progress * 3);
+	}
+
+	private static float alphaAt(float progress) {
+		return Math.min(1, (1 - progress) * 4);
+	}
+}
@@ -0,0 +1,167 @@
+package seprini.models;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * The waypoints an aircraft still has to fly through, in order.
+ * <p>
+ * The route itself is immutable and shared by every aircraft flying it; each
+ * flight plan only keeps a cursor to its next waypoint. Waypoints inserted at
+ * the head, e.g. by redirecting the aircraft or going around an airport, are
+ * kept as a stack of segments on top of the route, which can also be shared.
+ * Reaching a waypoint and inserting one are both O(1).
+ */
+public class FlightPlan extends AbstractList<Waypoint> {
+
+	private List<Waypoint> route;
+	private int cursor;
+
+	// inserted segments, the last one is the head of the flight plan. Sized
+	// up front so going around an airport doesn't allocate
+	private final ArrayList<List<Waypoint>> segments = new ArrayList<List<Waypoint>>(
+			4);
+	private final IntArray segmentCursors = new IntArray();
+
+	/**
+	 * @param route
+	 *            route to fly, which must not change afterwards
+	 */
+	public FlightPlan(List<Waypoint> route) {
+		this.route = route;
+	}
+
+	@Override
+	public Waypoint get(int index) {
+		if (index < 0)
+			throw new IndexOutOfBoundsException("Index: " + index);
+
+		for (int i = segments.size() - 1; i >= 0; i--) {
+			List<Waypoint> segment = segments.get(i);
+			int remaining = segment.size() - segmentCursors.get(i);
+
+			if (index < remaining)
+				return segment.get(segmentCursors.get(i) + index);
+
+			index -= remaining;
+		}
+
+		if (cursor + index >= route.size())
+			throw new IndexOutOfBoundsException("Index: " + index);
+
+		return route.get(cursor + index);
+	}
+
+	@Override
+	public int size() {
+		int size = route.size() - cursor;
+
+		for (int i = 0; i < segments.size(); i++)
+			size += segments.get(i).size() - segmentCursors.get(i);
+
+		return size;
+	}
+
+	/**
+	 * Moves on to the next waypoint
+	 *
+	 * @return the waypoint which was at the head
+	 */
+	public Waypoint removeFirst() {
+		Waypoint first = get(0);
+
+		int top = segments.size() - 1;
+
+		if (top >= 0) {
+			segmentCursors.incr(top, 1);
+
+			if (segmentCursors.get(top) == segments.get(top).size()) {
+				segments.remove(top);
+				segmentCursors.pop();
+			}
+		} else {
+			cursor++;
+		}
+
+		modCount++;
+		return first;
+	}
+
+	/**
+	 * Inserts a single waypoint at the head
+	 */
+	public void insert(Waypoint waypoint) {
+		insert(Collections.singletonList(waypoint));
+	}
+
+	/**
+	 * Inserts a segment of waypoints at the head, in order. The segment isn't
+	 * copied, so it can be shared but must not change afterwards.
+	 */
+	public void insert(List<Waypoint> segment) {
+		if (segment.isEmpty())
+			return;
+
+		segments.add(segment);
+		segmentCursors.add(0);
+		modCount++;
+	}
+
+	/**
+	 * Only the head of a flight plan can be removed
+	 */
+	@Override
+	public Waypoint remove(int index) {
+		if (index != 0)
+			throw new UnsupportedOperationException(
+					"Only the next waypoint can be removed");
+
+		return removeFirst();
+	}
+
+	/**
+	 * Only inserting at the head of a flight plan is supported
+	 */
+	@Override
+	public void add(int index, Waypoint waypoint) {
+		if (index != 0)
+			throw new UnsupportedOperationException(
+					"Waypoints can only be inserted at the head");
+
+		insert(waypoint);
+	}
+
+	/**
+	 * @return number which changes every time the waypoints change
+	 */
+	public int getRevision() {
+		return modCount;
+	}
+
+	/**
+	 * Starts flying a new route from its first waypoint, dropping everything
+	 * inserted
+	 *
+	 * @param route
+	 *            route to fly, which must not change afterwards
+	 */
+	public void reset(List<Waypoint> route) {
+		this.route = route;
+		cursor = 0;
+		segments.clear();
+		segmentCursors.clear();
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		segments.clear();
+		segmentCursors.clear();
+		cursor = route.size();
+		modCount++;
+	}
+}
@@ -3,22 +3,19 @@ package seprini.models;
 import seprini.data.Art;
 import seprini.data.Config;
 import seprini.data.GameMode;
+import seprini.data.TextureId;
 
 import com.badlogic.gdx.math.Vector2;
 
 public final class GameMap extends Entity {
 
-	// names of the textures for the multiplayer and single player maps
-	public final static String MP_AIRSPACE = "mp-airspace";
-	public final static String SP_AIRSPACE = "airspace";
-
 	public GameMap(GameMode mode) {
 
 		// switches map texture depending on the game mode
 		switch (mode) {
 			case SINGLE :
 
-				texture = Art.getTextureRegion(SP_AIRSPACE);
+				texture = Art.getTextureRegion(TextureId.AIRSPACE);
 				coords = new Vector2(Config.AIRSPACE_SIZE.x / 2,
 						Config.AIRSPACE_SIZE.y / 2);
 				size = Config.AIRSPACE_SIZE;
@@ -27,7 +24,7 @@ public final class GameMap extends Entity {
 
 			case MULTI :
 
-				texture = Art.getTextureRegion(MP_AIRSPACE);
+				texture = Art.getTextureRegion(TextureId.MP_AIRSPACE);
 				coords = new Vector2(Config.MULTIPLAYER_SIZE.x / 2,
 						Config.MULTIPLAYER_SIZE.y / 2);
 				size = Config.MULTIPLAYER_SIZE;
@@ -40,4 +37,9 @@ public final class GameMap extends Entity {
 
 
 	}
+
+	@Override
+	public boolean isStatic() {
+		return true;
+	}
 }
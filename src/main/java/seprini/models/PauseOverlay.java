@@ -1,6 +1,7 @@
 package seprini.models;
 
 import seprini.data.Art;
+import seprini.data.TextureId;
 
 import com.badlogic.gdx.math.Vector2;
 
@@ -10,7 +11,7 @@ public class PauseOverlay extends Entity {
 	 * The pause overlay in MP which displays the controls for the game
 	 */
 	public PauseOverlay() {
-		texture = Art.getTextureRegion("pauseOverlay");
+		texture = Art.getTextureRegion(TextureId.PAUSE_OVERLAY);
 		coords = new Vector2(1280 / 2, 720 / 2);
 		size = new Vector2(720, 1280);
 
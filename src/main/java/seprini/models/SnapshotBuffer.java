@@ -0,0 +1,50 @@
+package seprini.models;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Passes snapshots from the simulation thread to the render thread without
+ * locking. There are three snapshots: one being written, one being drawn, and
+ * the latest finished one in between, which the two threads swap theirs with.
+ */
+public class SnapshotBuffer {
+
+	// set on the middle index when it holds a snapshot not yet taken
+	private final static int FRESH = 4, INDEX = 3;
+
+	private final WorldSnapshot[] snapshots = { new WorldSnapshot(),
+			new WorldSnapshot(), new WorldSnapshot() };
+
+	private final AtomicInteger middle = new AtomicInteger(1);
+
+	// only used by the simulation thread
+	private int back = 0;
+
+	// only used by the render thread
+	private int front = 2;
+
+	/**
+	 * @return snapshot for the simulation thread to write
+	 */
+	public WorldSnapshot back() {
+		return snapshots[back];
+	}
+
+	/**
+	 * Publishes the written snapshot, called by the simulation thread
+	 */
+	public void publish() {
+		back = middle.getAndSet(back | FRESH) & INDEX;
+	}
+
+	/**
+	 * @return the latest published snapshot, kept for the render thread until
+	 *         it calls this again
+	 */
+	public WorldSnapshot latest() {
+		if ((middle.get() & FRESH) != 0)
+			front = middle.getAndSet(front) & INDEX;
+
+		return snapshots[front];
+	}
+}
@@ -0,0 +1,157 @@
+package seprini.models;
+
+import seprini.data.Config;
+import seprini.screens.AbstractScreen;
+import seprini.screens.ShapeQueue;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Holds the parts of the airspace which never change - the map, waypoints and
+ * airports. They are drawn once into an off-screen frame buffer, and after
+ * that every frame only draws the frame buffer. It is drawn again whenever
+ * something is added or removed.
+ * <p>
+ * Frame buffers need GL2, without it the children are simply drawn every
+ * frame.
+ */
+public class StaticLayer extends Group implements Disposable {
+
+	// lines drawn on top of the children, e.g. the no man's land
+	private final ShapeQueue decorations = new ShapeQueue();
+
+	private FrameBuffer frameBuffer;
+	private TextureRegion region;
+
+	private boolean dirty = true;
+
+	// matrices of the batch and the shape renderer, kept while drawing into
+	// the frame buffer
+	private final Matrix4 projection = new Matrix4();
+	private final Matrix4 transform = new Matrix4();
+	private final Matrix4 shapeProjection = new Matrix4();
+	private final Matrix4 bufferProjection = new Matrix4();
+	private final Matrix4 identity = new Matrix4();
+
+	public StaticLayer() {
+		// children are drawn at their own position, no need to transform them
+		setTransform(false);
+	}
+
+	/**
+	 * Does nothing, nothing in here moves
+	 */
+	@Override
+	public void act(float delta) {
+	}
+
+	@Override
+	public void draw(SpriteBatch batch, float parentAlpha) {
+		if (!Gdx.graphics.isGL20Available()) {
+			super.draw(batch, parentAlpha);
+			decorations.draw(AbstractScreen.shapeRenderer, batch);
+			return;
+		}
+
+		if (dirty)
+			render(batch);
+
+		Color color = getColor();
+
+		batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
+		batch.draw(region, getX(), getY(), region.getRegionWidth(),
+				region.getRegionHeight());
+	}
+
+	/**
+	 * Draws the children and decorations into the frame buffer
+	 *
+	 * @param batch
+	 *            batch which is currently drawing
+	 */
+	private void render(SpriteBatch batch) {
+		if (frameBuffer == null) {
+			frameBuffer = new FrameBuffer(Format.RGBA8888, Config.SCREEN_WIDTH,
+					Config.SCREEN_HEIGHT, false);
+
+			// frame buffers are upside down
+			region = new TextureRegion(frameBuffer.getColorBufferTexture());
+			region.flip(false, true);
+		}
+
+		batch.end();
+
+		projection.set(batch.getProjectionMatrix());
+		transform.set(batch.getTransformMatrix());
+		shapeProjection.set(AbstractScreen.shapeRenderer.getProjectionMatrix());
+
+		bufferProjection.setToOrtho2D(0, 0, frameBuffer.getWidth(),
+				frameBuffer.getHeight());
+
+		batch.setProjectionMatrix(bufferProjection);
+		batch.setTransformMatrix(identity);
+		AbstractScreen.shapeRenderer.setProjectionMatrix(bufferProjection);
+
+		frameBuffer.begin();
+
+		Gdx.gl.glClearColor(0, 0, 0, 0);
+		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
+
+		batch.begin();
+		drawChildren(batch, 1);
+		batch.end();
+
+		decorations.draw(AbstractScreen.shapeRenderer, null);
+
+		// debug shapes of the children
+		AbstractScreen.shapes.flush(AbstractScreen.shapeRenderer, null);
+
+		frameBuffer.end();
+
+		batch.setProjectionMatrix(projection);
+		batch.setTransformMatrix(transform);
+		AbstractScreen.shapeRenderer.setProjectionMatrix(shapeProjection);
+
+		batch.begin();
+
+		dirty = false;
+	}
+
+	/**
+	 * Makes the layer draw its children again on the next frame
+	 */
+	public void invalidate() {
+		dirty = true;
+	}
+
+	@Override
+	protected void childrenChanged() {
+		invalidate();
+	}
+
+	/**
+	 * Lines drawn on top of the static layer. Call {@link #invalidate()} after
+	 * changing them.
+	 */
+	public ShapeQueue getDecorations() {
+		return decorations;
+	}
+
+	@Override
+	public void dispose() {
+		if (frameBuffer != null)
+			frameBuffer.dispose();
+
+		frameBuffer = null;
+		dirty = true;
+	}
+}
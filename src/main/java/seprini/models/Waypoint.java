@@ -2,6 +2,7 @@ package seprini.models;
 
 import seprini.data.Art;
 import seprini.data.Config;
+import seprini.data.TextureId;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
@@ -19,7 +20,7 @@ public class Waypoint extends Entity {
 		this.visible = visible;
 
 		this.debugShape = true;
-		this.texture = Art.getTextureRegion("waypoint");
+		this.texture = Art.getTextureRegion(TextureId.WAYPOINT);
 		this.size = Config.WAYPOINT_SIZE;
 
 		// set the origin to the centre
@@ -35,6 +36,11 @@ public class Waypoint extends Entity {
 		return visible;
 	}
 
+	@Override
+	public boolean isStatic() {
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return "Waypoint - x: " + getX() + " y: " + getY();
@@ -0,0 +1,174 @@
+package seprini.models;
+
+import java.util.Arrays;
+
+import seprini.models.types.Player;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * Copy of everything that is drawn or shown in the HUD, taken at the end of a
+ * simulation tick. The simulation writes one while the screen draws another,
+ * see {@link SnapshotBuffer}.
+ * <p>
+ * Aircraft are stored in flat arrays, in the order they are drawn. The
+ * arrays only grow, so writing a snapshot doesn't allocate once they're big
+ * enough.
+ */
+public class WorldSnapshot {
+
+	// flags of an aircraft
+	public final static int SELECTED = 1, BREACHING = 2, CONFLICT = 4;
+
+	// speed and altitude when no aircraft is selected
+	public final static int NONE = Integer.MIN_VALUE;
+
+	// time the last tick ended, System.nanoTime()
+	public long tickTime;
+
+	// length of a tick in seconds
+	public float step;
+
+	/*
+	 * aircraft
+	 */
+	public int count;
+	public int[] ids = new int[0];
+	public float[] x = new float[0], y = new float[0];
+	public float[] previousX = new float[0], previousY = new float[0];
+	public float[] rotation = new float[0];
+	public float[] width = new float[0], height = new float[0];
+	public float[] scale = new float[0];
+	public float[] separationRadius = new float[0];
+	public int[] altitude = new int[0];
+	public int[] flags = new int[0];
+	public TextureRegion[] regions = new TextureRegion[0];
+
+	// colour of the separation ring and the route, rgba8888
+	public int[] ringColor = new int[0], lineColor = new int[0];
+
+	// x, y of the remaining waypoints of the selected aircraft, from
+	// routeStart for routeLength points
+	public final FloatArray routes = new FloatArray();
+	public int[] routeStart = new int[0], routeLength = new int[0];
+
+	/*
+	 * crash
+	 */
+	public boolean crashed;
+	public float explosionX, explosionY, explosionProgress;
+
+	/*
+	 * HUD
+	 */
+	public float timer, score;
+	public final int[] lives = new int[2];
+	public final int[] scores = new int[2];
+	public int totalScore;
+
+	// selected aircraft in single player
+	public int selectedSpeed = NONE, selectedAltitude = NONE;
+	public boolean turningLeft, turningRight;
+
+	// slots and runway countdown of the left and right airport
+	public final int[][] airportSlots = new int[2][Airport.MAX_AIRCRAFT_NUMBER];
+	public final int[] takeoffTimeLeft = new int[2];
+
+	/**
+	 * Removes all the aircraft, before writing a new snapshot
+	 */
+	public void clearAircraft() {
+		count = 0;
+		routes.clear();
+		crashed = false;
+	}
+
+	/**
+	 * Adds an aircraft, which is drawn after the ones added before
+	 */
+	public void addAircraft(Aircraft aircraft) {
+		ensureCapacity(count + 1);
+
+		int i = count++;
+
+		ids[i] = aircraft.getId();
+		x[i] = aircraft.getX();
+		y[i] = aircraft.getY();
+		previousX[i] = aircraft.getPreviousCoords().x;
+		previousY[i] = aircraft.getPreviousCoords().y;
+		rotation[i] = aircraft.getRotation();
+		width[i] = aircraft.getWidth();
+		height[i] = aircraft.getHeight();
+		scale[i] = aircraft.getScaleX();
+		separationRadius[i] = aircraft.getSeparationRadius();
+		altitude[i] = aircraft.getAltitude();
+		regions[i] = aircraft.getRegion();
+
+		flags[i] = (aircraft.isSelected() ? SELECTED : 0)
+				| (aircraft.isBreaching() ? BREACHING : 0)
+				| (aircraft.isConflictPredicted() ? CONFLICT : 0);
+
+		Player player = aircraft.getPlayer();
+		ringColor[i] = Color.rgba8888(player != null ? player.getColor()
+				: Color.WHITE);
+		lineColor[i] = Color.rgba8888(aircraft.getLineColor() != null ? aircraft
+				.getLineColor() : Color.WHITE);
+
+		routeStart[i] = routes.size;
+		routeLength[i] = 0;
+
+		if (aircraft.isSelected()) {
+			FlightPlan plan = aircraft.getFlightPlan();
+
+			for (int j = 0; j < plan.size(); j++) {
+				routes.add(plan.get(j).getX());
+				routes.add(plan.get(j).getY());
+			}
+
+			routeLength[i] = plan.size();
+		}
+	}
+
+	/**
+	 * @return index of the top aircraft at a point, or -1
+	 */
+	public int aircraftAt(float px, float py) {
+		for (int i = count - 1; i >= 0; i--) {
+			float radius = width[i] * scale[i] / 2;
+			float dx = px - x[i], dy = py - y[i];
+
+			if (dx * dx + dy * dy <= radius * radius)
+				return i;
+		}
+
+		return -1;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= ids.length)
+			return;
+
+		int size = Math.max(16, capacity * 2);
+
+		ids = Arrays.copyOf(ids, size);
+		x = Arrays.copyOf(x, size);
+		y = Arrays.copyOf(y, size);
+		previousX = Arrays.copyOf(previousX, size);
+		previousY = Arrays.copyOf(previousY, size);
+		rotation = Arrays.copyOf(rotation, size);
+		width = Arrays.copyOf(width, size);
+		height = Arrays.copyOf(height, size);
+		scale = Arrays.copyOf(scale, size);
+		separationRadius = Arrays.copyOf(separationRadius, size);
+		altitude = Arrays.copyOf(altitude, size);
+		flags = Arrays.copyOf(flags, size);
+		ringColor = Arrays.copyOf(ringColor, size);
+		lineColor = Arrays.copyOf(lineColor, size);
+		routeStart = Arrays.copyOf(routeStart, size);
+		routeLength = Arrays.copyOf(routeLength, size);
+
+		regions = Arrays.copyOf(regions, size);
+	}
+}
@@ -3,6 +3,8 @@ package seprini.screens;
 import seprini.ATC;
 import seprini.data.Art;
 import seprini.data.Config;
+import seprini.data.Profiler;
+import seprini.data.Profiler.Phase;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
@@ -11,13 +13,18 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 
 public class AbstractScreen implements ScreenBase {
 	public final static ShapeRenderer shapeRenderer = new ShapeRenderer();
 
+	// lines and circles to draw at the end of the airspace
+	public final static ShapeQueue shapes = new ShapeQueue();
+
+	// altitude tags of the aircraft
+	public final static LabelCache altitudeLabels = new LabelCache("alt: ",
+			512);
+
 	private final ATC atc;
 	private final Stage stage;
 	protected boolean paused;
@@ -68,11 +75,23 @@ public class AbstractScreen implements ScreenBase {
 		Gdx.gl.glClearColor(1, 1, 1, 1);
 		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
 
+		long frameStart = Profiler.start();
+
 		// Act and render stage
-		if (!paused)
+		if (!paused) {
+			long start = Profiler.start();
 			stage.act(delta);
+			Profiler.end(Phase.ACT, start);
+		}
 
+		long start = Profiler.start();
 		stage.draw();
+		Profiler.end(Phase.DRAW, start);
+
+		Profiler.end(Phase.FRAME, frameStart);
+
+		if (Profiler.enabled)
+			ProfilerOverlay.draw(stage.getSpriteBatch());
 	}
 
 	@Override
@@ -138,7 +157,7 @@ public class AbstractScreen implements ScreenBase {
 	 */
 	public static void drawString(CharSequence str, float x, float y,
 			Color color, SpriteBatch batch, boolean isNative, float scale) {
-		BitmapFont font = Art.getSkin().get(BitmapFont.class);
+		BitmapFont font = Art.getFont();
 
 		if (!isNative)
 			batch.begin();
@@ -150,81 +169,4 @@ public class AbstractScreen implements ScreenBase {
 		if (!isNative)
 			batch.end();
 	}
-
-	/**
-	 * Convenience method to draw circles
-	 * 
-	 * @param color
-	 * @param x
-	 * @param y
-	 * @param radius
-	 * @param batch
-	 */
-	public static void drawCircle(Color color, float x, float y, float radius,
-			SpriteBatch batch) {
-		batch.end();
-
-		shapeRenderer.begin(ShapeType.Line);
-		shapeRenderer.setColor(color);
-		shapeRenderer.circle(x, y, radius);
-		shapeRenderer.end();
-
-		batch.begin();
-	}
-
-	/**
-	 * Convenience method to draw lines
-	 * 
-	 * @param color
-	 * @param x
-	 * @param y
-	 * @param xTo
-	 * @param yTo
-	 * @param batch
-	 */
-	public static void drawLine(Color color, float x, float y, float xTo,
-			float yTo, SpriteBatch batch) {
-		if (batch != null)
-			batch.end();
-
-		shapeRenderer.begin(ShapeType.Line);
-		shapeRenderer.setColor(color);
-		shapeRenderer.line(x, y, xTo, yTo);
-		shapeRenderer.end();
-
-		if (batch != null)
-			batch.begin();
-	}
-
-	/**
-	 * Draws a dotted line between to points (x1,y1) and (x2,y2).
-	 * 
-	 * @param shapeRenderer
-	 * @param dotDist
-	 *            (distance between dots)
-	 * @param x1
-	 * @param y1
-	 * @param x2
-	 * @param y2
-	 */
-	protected static void drawDottedLine(int dotDist, float x1, float y1,
-			float x2, float y2, SpriteBatch batch) {
-
-		if (batch != null)
-			batch.end();
-
-		shapeRenderer.begin(ShapeType.Point);
-
-		Vector2 vec2 = new Vector2(x2, y2).sub(new Vector2(x1, y1));
-		float length = vec2.len();
-		for (int i = 0; i < length; i += dotDist) {
-			vec2.clamp(length - i, length - i);
-			shapeRenderer.point(x1 + vec2.x, y1 + vec2.y, 0);
-		}
-
-		shapeRenderer.end();
-
-		if (batch != null)
-			batch.begin();
-	}
 }
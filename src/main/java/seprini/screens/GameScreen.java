@@ -1,12 +1,23 @@
 package seprini.screens;
 
+import java.io.IOException;
+
 import seprini.ATC;
 import seprini.controllers.AircraftController;
+import seprini.controllers.RenderThreadListener;
 import seprini.controllers.SidebarController;
+import seprini.controllers.SimulationThread;
+import seprini.controllers.SoundController;
+import seprini.controllers.components.ReplayRecorder;
 import seprini.data.Art;
 import seprini.data.Config;
+import seprini.data.Debug;
 import seprini.data.GameDifficulty;
+import seprini.data.Profiler;
+import seprini.data.Profiler.Phase;
+import seprini.data.SoundId;
 import seprini.models.Airspace;
+import seprini.models.WorldSnapshot;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
@@ -25,6 +36,15 @@ import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 public class GameScreen extends AbstractScreen {
 	private final AircraftController controller;
 
+	// runs the game when it doesn't run on the render thread
+	private final SimulationThread simulation;
+
+	// what the sidebar shows, when the game runs on the render thread
+	private final WorldSnapshot hud = new WorldSnapshot();
+
+	// records the game, if -Dseprini.record is set
+	private final ReplayRecorder recorder;
+
 	public GameScreen(ATC game, GameDifficulty diff) {
 
 		super(game);
@@ -43,6 +63,18 @@ public class GameScreen extends AbstractScreen {
 		// create and add the Airspace group, contains aircraft and waypoints
 		Airspace airspace = new Airspace();
 		controller = new AircraftController(diff, airspace);
+
+		recorder = ReplayRecorder.record(controller);
+
+		if (Config.SIMULATION_THREAD) {
+			simulation = new SimulationThread(controller);
+			controller.addGameListener(new RenderThreadListener(
+					new SoundController()));
+		} else {
+			simulation = null;
+			controller.addGameListener(new SoundController());
+		}
+
 		root.setKeyboardFocus(airspace);
 
 		// create sidebar
@@ -53,13 +85,19 @@ public class GameScreen extends AbstractScreen {
 		ui.addActor(new Actor() {
 			@Override
 			public void act(float delta) {
-				try {
-					controller.update(delta);
-				} catch (InterruptedException e) {
-					// TODO Auto-generated catch block
-					e.printStackTrace();
+				WorldSnapshot snapshot;
+
+				if (simulation != null) {
+					snapshot = simulation.getSnapshots().latest();
+				} else {
+					controller.advance(delta);
+					controller.writeHud(hud);
+					snapshot = hud;
 				}
-				sidebarController.update();
+
+				long start = Profiler.start();
+				sidebarController.update(snapshot);
+				Profiler.end(Phase.HUD, start);
 			}
 		});
 
@@ -68,6 +106,9 @@ public class GameScreen extends AbstractScreen {
 		root.addActor(ui);
 
 		airspace.addListener(controller);
+
+		if (simulation != null)
+			airspace.addListener(simulation.getInputListener());
 		ui.add(airspace).width(Config.AIRSPACE_SIZE.x)
 				.height(Config.AIRSPACE_SIZE.y);
 
@@ -85,7 +126,7 @@ public class GameScreen extends AbstractScreen {
 		ui.add(sidebar).width(Config.SIDEBAR_SIZE.x)
 				.height(Config.SIDEBAR_SIZE.y);
 
-		Art.getSound("ambience").playLooping(0.7f);
+		Art.getSound(SoundId.AMBIENCE).playLooping(0.7f);
 	}
 
 	@Override
@@ -111,4 +152,27 @@ public class GameScreen extends AbstractScreen {
 		}
 	}
 
+	@Override
+	public void show() {
+		super.show();
+
+		if (simulation != null && !simulation.isAlive())
+			simulation.start();
+	}
+
+	@Override
+	public void hide() {
+		if (simulation != null)
+			simulation.shutdown();
+
+		if (recorder != null) {
+			try {
+				recorder.close();
+			} catch (IOException e) {
+				Debug.error("could not finish the replay: " + e.getMessage());
+			}
+		}
+
+		controller.getAirspace().dispose();
+	}
 }
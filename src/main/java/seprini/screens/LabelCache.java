@@ -0,0 +1,153 @@
+package seprini.screens;
+
+import seprini.data.Art;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * Draws labels made of a fixed prefix and a number, e.g. the altitude of
+ * aircraft. The glyphs of each number and colour are laid out once and kept,
+ * so drawing a label which has been drawn before only moves and draws the
+ * cached glyphs, without building a string.
+ * <p>
+ * At most capacity labels are kept. Once full, all of them are thrown away
+ * and their caches reused for the next labels.
+ */
+public class LabelCache {
+
+	/**
+	 * Gives the labels their font and creates the caches they are laid out
+	 * in
+	 */
+	interface Factory {
+		/**
+		 * @return font to lay the labels out with, all of them are laid out
+		 *         again when it changes
+		 */
+		BitmapFont getFont();
+
+		/**
+		 * @return an empty cache for a label laid out with the font
+		 */
+		BitmapFontCache newCache(BitmapFont font);
+	}
+
+	/**
+	 * Lays the labels out with the default font
+	 */
+	private final static Factory ART_FONT = new Factory() {
+		@Override
+		public BitmapFont getFont() {
+			return Art.getFont();
+		}
+
+		@Override
+		public BitmapFontCache newCache(BitmapFont font) {
+			return new BitmapFontCache(font);
+		}
+	};
+
+	private final String prefix;
+	private final int capacity;
+	private final Factory factory;
+
+	// laid out labels, by number and colour
+	private final LongMap<BitmapFontCache> labels = new LongMap<BitmapFontCache>();
+
+	// caches thrown away when the labels were full, reused for new labels
+	private final Array<BitmapFontCache> free = new Array<BitmapFontCache>();
+
+	// text of a new label
+	private final StringBuilder text = new StringBuilder();
+
+	// font the labels were laid out with
+	private BitmapFont font;
+
+	/**
+	 * @param prefix
+	 *            text in front of every number
+	 * @param capacity
+	 *            maximum number of labels kept
+	 */
+	public LabelCache(String prefix, int capacity) {
+		this(prefix, capacity, ART_FONT);
+	}
+
+	LabelCache(String prefix, int capacity, Factory factory) {
+		this.prefix = prefix;
+		this.capacity = capacity;
+		this.factory = factory;
+	}
+
+	/**
+	 * Draws a label with the font of the factory, at scale 1
+	 *
+	 * @param batch
+	 *            batch which is currently drawing
+	 */
+	public void draw(SpriteBatch batch, int value, Color color, float x,
+			float y) {
+		BitmapFontCache label = get(value, color);
+
+		label.setPosition(x, y);
+		label.draw(batch);
+	}
+
+	/**
+	 * @return the label of a number, laid out if it hasn't been already
+	 */
+	BitmapFontCache get(int value, Color color) {
+		// loaded again, the old glyphs are gone
+		if (font != factory.getFont()) {
+			font = factory.getFont();
+			labels.clear();
+			free.clear();
+		}
+
+		long key = key(value, color);
+		BitmapFontCache label = labels.get(key);
+
+		if (label != null)
+			return label;
+
+		if (labels.size >= capacity) {
+			for (BitmapFontCache old : labels.values())
+				free.add(old);
+
+			labels.clear();
+		}
+
+		label = (free.size > 0) ? free.pop() : factory.newCache(font);
+
+		text.setLength(0);
+		text.append(prefix).append(value);
+
+		font.setScale(1);
+		label.setColor(color);
+		label.setText(text, 0, 0);
+
+		labels.put(key, label);
+
+		return label;
+	}
+
+	/**
+	 * @return key of a label, the number in the upper half and the colour in
+	 *         the lower half
+	 */
+	static long key(int value, Color color) {
+		return ((long) value << 32) | (Color.rgba8888(color) & 0xffffffffL);
+	}
+
+	/**
+	 * @return number of labels currently kept
+	 */
+	public int size() {
+		return labels.size;
+	}
+}
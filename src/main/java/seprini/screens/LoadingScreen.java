@@ -0,0 +1,50 @@
+package seprini.screens;
+
+import seprini.ATC;
+import seprini.data.Art;
+import seprini.data.Config;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+
+/**
+ * Shown while the menu's textures and sounds are loading, with a progress
+ * bar. Switches to the menu as soon as it can be shown, the rest keeps
+ * loading behind the menu.
+ */
+public class LoadingScreen extends AbstractScreen {
+
+	private final static float BAR_WIDTH = 400, BAR_HEIGHT = 20;
+
+	public LoadingScreen(ATC game) {
+		super(game);
+	}
+
+	@Override
+	public void render(float delta) {
+		super.render(delta);
+
+		Art.update();
+
+		if (Art.isMenuLoaded()) {
+			getGame().showFirstScreen();
+			return;
+		}
+
+		float x = (Config.SCREEN_WIDTH - BAR_WIDTH) / 2;
+		float y = (Config.SCREEN_HEIGHT - BAR_HEIGHT) / 2;
+
+		shapeRenderer.begin(ShapeType.Filled);
+		shapeRenderer.setColor(Color.LIGHT_GRAY);
+		shapeRenderer.rect(x, y, BAR_WIDTH, BAR_HEIGHT);
+		shapeRenderer.setColor(Color.DARK_GRAY);
+		shapeRenderer.rect(x, y, BAR_WIDTH * Art.getProgress(), BAR_HEIGHT);
+		shapeRenderer.end();
+
+		Stage root = getStage();
+
+		drawString("Loading...", x, y + BAR_HEIGHT + 25, Color.BLACK,
+				root.getSpriteBatch(), false, 1);
+	}
+}
@@ -4,6 +4,8 @@ import seprini.ATC;
 import seprini.controllers.MenuController;
 import seprini.data.Art;
 import seprini.data.Config;
+import seprini.data.SoundId;
+import seprini.data.TextureId;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.scenes.scene2d.Stage;
@@ -39,20 +41,23 @@ public class MenuScreen extends AbstractScreen {
 	public void render(float delta) {
 		super.render(delta);
 
+		// keep loading the game's assets in the background
+		Art.update();
+
 		Stage root = getStage();
 
 		drawString(Config.COPYRIGHT_NOTICE, 10, 10, Color.BLACK,
 				root.getSpriteBatch(), false, 0.5f);
 
-		draw(Art.getTextureRegion("menuAircraft"), 300, 400,
+		draw(Art.getTextureRegion(TextureId.MENU_AIRCRAFT), 300, 400,
 				root.getSpriteBatch());
 
-		draw(Art.getTextureRegion("libgdx"), 1228, 0, root.getSpriteBatch());
+		draw(Art.getTextureRegion(TextureId.LIBGDX), 1228, 0, root.getSpriteBatch());
 	}
 
 	@Override
 	public void show() {
 		super.show();
-		Art.getSound("comeflywithme").play(1f);
+		Art.getSound(SoundId.COME_FLY_WITH_ME).play(1f);
 	}
 }
@@ -1,14 +1,26 @@
 package seprini.screens;
 
+import java.io.IOException;
+
 import seprini.ATC;
 import seprini.controllers.MultiplayerController;
 import seprini.controllers.OverlayController;
+import seprini.controllers.RenderThreadListener;
+import seprini.controllers.SimulationThread;
+import seprini.controllers.SoundController;
+import seprini.controllers.components.ReplayRecorder;
 import seprini.data.Art;
 import seprini.data.Config;
+import seprini.data.Debug;
 import seprini.data.GameDifficulty;
+import seprini.data.Profiler;
+import seprini.data.Profiler.Phase;
+import seprini.data.SoundId;
 import seprini.models.Airspace;
 import seprini.models.PauseOverlay;
+import seprini.models.WorldSnapshot;
 import seprini.models.types.Player;
+import seprini.screens.ShapeQueue.Layer;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
@@ -30,6 +42,15 @@ public class MultiplayerScreen extends AbstractScreen {
 	private final MultiplayerController controller;
 	private final PauseOverlay overlay;
 
+	// runs the game when it doesn't run on the render thread
+	private final SimulationThread simulation;
+
+	// what the overlay shows, when the game runs on the render thread
+	private final WorldSnapshot hud = new WorldSnapshot();
+
+	// records the game, if -Dseprini.record is set
+	private final ReplayRecorder recorder;
+
 	public MultiplayerScreen(ATC game, GameDifficulty diff) {
 		super(game);
 
@@ -50,7 +71,22 @@ public class MultiplayerScreen extends AbstractScreen {
 
 		controller = new MultiplayerController(diff, airspace);
 
+		recorder = ReplayRecorder.record(controller);
+
+		if (Config.SIMULATION_THREAD) {
+			simulation = new SimulationThread(controller);
+			controller.addGameListener(new RenderThreadListener(
+					new SoundController()));
+		} else {
+			simulation = null;
+			controller.addGameListener(new SoundController());
+		}
+
 		airspace.addListener(controller);
+
+		if (simulation != null)
+			airspace.addListener(simulation.getInputListener());
+		addNoMansLand(airspace.getStaticLayer().getDecorations());
 		ui.add(airspace).width(Config.MULTIPLAYER_SIZE.x)
 				.height(Config.MULTIPLAYER_SIZE.y);
 
@@ -63,12 +99,14 @@ public class MultiplayerScreen extends AbstractScreen {
 		ui.addActor(new Actor() {
 			@Override
 			public void act(float delta) {
-				try {
-					controller.update(delta);
-				} catch (InterruptedException e) {
-					e.printStackTrace();
+				if (simulation == null) {
+					controller.advance(delta);
+					controller.writeHud(hud);
 				}
-				overlayController.update(delta);
+
+				long start = Profiler.start();
+				overlayController.update(getHud());
+				Profiler.end(Phase.HUD, start);
 			}
 		});
 
@@ -76,7 +114,7 @@ public class MultiplayerScreen extends AbstractScreen {
 		ui.setFillParent(true);
 		root.addActor(ui);
 
-		Art.getSound("ambience").playLooping(0.7f);
+		Art.getSound(SoundId.AMBIENCE).playLooping(0.7f);
 
 		overlay = new PauseOverlay();
 	}
@@ -97,12 +135,11 @@ public class MultiplayerScreen extends AbstractScreen {
 					controller.getTotalScore());
 
 		getStage().getSpriteBatch().begin();
-		
-		// draw NML
-		drawNoMansLand();
+
+		WorldSnapshot hud = getHud();
 
 		// draw the player scores
-		int[] scores = controller.getPlayerScores();
+		int[] scores = hud.scores;
 		for (int i = 0; i < scores.length; i++) {
 
 			drawString("Score: " + scores[i], SCORE_POS[i].x,
@@ -111,14 +148,14 @@ public class MultiplayerScreen extends AbstractScreen {
 		}
 
 		// draw player lives
-		int[] lives = controller.getPlayerLives();
+		int[] lives = hud.lives;
 		for (int i = 0; i < lives.length; i++) {
 			drawString("Lives: " + lives[i], LIVES_POS[i].x, LIVES_POS[i].y,
 					Color.BLUE, getStage().getSpriteBatch(), true, 1);
 		}
 
 		// draw the total score
-		int totalScore = controller.getTotalScore();
+		int totalScore = hud.totalScore;
 		drawString("Total Score: " + totalScore, 600, 715,
 				Color.BLUE, getStage().getSpriteBatch(), true, 1);
 
@@ -140,16 +177,50 @@ public class MultiplayerScreen extends AbstractScreen {
 		}
 	}
 
-	private void drawNoMansLand() {
+	@Override
+	public void show() {
+		super.show();
+
+		if (simulation != null && !simulation.isAlive())
+			simulation.start();
+	}
+
+	@Override
+	public void hide() {
+		if (simulation != null)
+			simulation.shutdown();
+
+		if (recorder != null) {
+			try {
+				recorder.close();
+			} catch (IOException e) {
+				Debug.error("could not finish the replay: " + e.getMessage());
+			}
+		}
+
+		controller.getAirspace().dispose();
+	}
+
+	/**
+	 * @return snapshot of what the overlay shows
+	 */
+	private WorldSnapshot getHud() {
+		return simulation != null ? simulation.getSnapshots().latest() : hud;
+	}
+
+	/**
+	 * Adds the no man's land to the static layer of the airspace, it never
+	 * changes
+	 */
+	private void addNoMansLand(ShapeQueue decorations) {
 		// draw left edge of of NML
-		drawLine(Color.RED, 540, 0, 540, 720, getStage()
-				.getSpriteBatch());
+		decorations.line(Layer.DECORATION, Color.RED, 540, 0, 540, 720);
 
 		// draw midline
-		drawDottedLine(3, 640, 0, 640, 720, getStage().getSpriteBatch());
+		decorations.dottedLine(Layer.DECORATION, Color.RED, 3, 640, 0, 640,
+				720);
 
 		// draw right edge of NML
-		drawLine(Color.RED, 740, 0, 740, 720, getStage()
-				.getSpriteBatch());
+		decorations.line(Layer.DECORATION, Color.RED, 740, 0, 740, 720);
 	}
 }
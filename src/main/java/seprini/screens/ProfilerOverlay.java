@@ -0,0 +1,123 @@
+package seprini.screens;
+
+import seprini.data.Histogram;
+import seprini.data.Profiler;
+import seprini.data.Profiler.Phase;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+
+/**
+ * Shows the p50, p99 and max time of every phase of the profiler, and a graph
+ * of the last frame times, in the bottom left corner
+ */
+public final class ProfilerOverlay {
+
+	private final static Phase[] PHASES = Phase.values();
+
+	private final static float X = 10, Y = 10, LINE_HEIGHT = 16;
+
+	// x of each column of the table
+	private final static float[] COLUMNS = { X, X + 140, X + 200, X + 260 };
+
+	// height of a millisecond in the graph
+	private final static float PIXELS_PER_MS = 4;
+
+	private final static long FRAME_60FPS = 16666667, FRAME_30FPS = 33333333;
+
+	private final static StringBuilder text = new StringBuilder();
+
+	private ProfilerOverlay() {
+	}
+
+	/**
+	 * @param batch
+	 *            batch which is not drawing
+	 */
+	public static void draw(SpriteBatch batch) {
+		drawGraph(AbstractScreen.shapeRenderer);
+
+		float y = Y + graphHeight() + 10 + (PHASES.length + 1) * LINE_HEIGHT;
+
+		batch.begin();
+
+		drawCell("ms", 0, y, batch);
+		drawCell("p50", 1, y, batch);
+		drawCell("p99", 2, y, batch);
+		drawCell("max", 3, y, batch);
+
+		for (Phase phase : PHASES) {
+			Histogram histogram = Profiler.get(phase);
+
+			y -= LINE_HEIGHT;
+
+			text.setLength(0);
+			text.append(phase);
+			drawCell(text, 0, y, batch);
+
+			drawMillis(histogram.percentile(0.5), 1, y, batch);
+			drawMillis(histogram.percentile(0.99), 2, y, batch);
+			drawMillis(histogram.getMax(), 3, y, batch);
+		}
+
+		batch.end();
+	}
+
+	/**
+	 * Bars of the last frames, with lines at 60 and 30 frames per second
+	 */
+	private static void drawGraph(ShapeRenderer renderer) {
+		renderer.begin(ShapeType.Line);
+
+		for (int i = 0; i < Profiler.HISTORY; i++) {
+			long nanos = Profiler.getFrameTime(i);
+
+			renderer.setColor(nanos > FRAME_60FPS ? Color.RED : Color.GREEN);
+			renderer.line(X + i, Y, X + i,
+					Y + Math.min(height(nanos), graphHeight()));
+		}
+
+		renderer.setColor(Color.BLACK);
+		renderer.line(X, Y + height(FRAME_60FPS), X + Profiler.HISTORY, Y
+				+ height(FRAME_60FPS));
+		renderer.line(X, Y + height(FRAME_30FPS), X + Profiler.HISTORY, Y
+				+ height(FRAME_30FPS));
+
+		renderer.end();
+	}
+
+	/**
+	 * @return height of the graph, longer frames are cut off
+	 */
+	private static float graphHeight() {
+		return height(2 * FRAME_30FPS);
+	}
+
+	private static float height(long nanos) {
+		return (float) Profiler.millis(nanos) * PIXELS_PER_MS;
+	}
+
+	private static void drawMillis(long nanos, int column, float y,
+			SpriteBatch batch) {
+		// two decimals, without formatting a string
+		long hundredths = (nanos + 5000) / 10000;
+
+		text.setLength(0);
+		text.append(hundredths / 100).append('.');
+
+		if (hundredths % 100 < 10)
+			text.append('0');
+
+		text.append(hundredths % 100);
+
+		drawCell(text, column, y, batch);
+	}
+
+	private static void drawCell(CharSequence str, int column, float y,
+			SpriteBatch batch) {
+		AbstractScreen.drawString(str, COLUMNS[column], y, Color.BLACK,
+				batch, true, 1);
+	}
+}
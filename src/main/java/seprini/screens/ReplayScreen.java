@@ -0,0 +1,152 @@
+package seprini.screens;
+
+import java.io.File;
+import java.io.IOException;
+
+import seprini.ATC;
+import seprini.controllers.components.ReplayPlayer;
+import seprini.data.Config;
+import seprini.data.GameMode;
+import seprini.models.Airspace;
+
+import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.InputListener;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.esotericsoftware.tablelayout.Cell;
+
+/**
+ * Plays a recorded game. Space pauses, left and right seek 10 seconds, up and
+ * down double or halve the speed, escape goes back to the menu.
+ */
+public class ReplayScreen extends AbstractScreen {
+
+	private final static int SEEK_TICKS = 10 * Config.SIMULATION_TICK_RATE;
+
+	private final ReplayPlayer player;
+
+	private final Cell<Actor> airspaceCell;
+
+	// the airspace being shown, replaced when seeking back starts it again
+	private Airspace airspace;
+
+	private final StringBuilder status = new StringBuilder();
+
+	public ReplayScreen(ATC game, File file) throws IOException {
+		super(game);
+
+		player = new ReplayPlayer(file, false);
+
+		Stage root = getStage();
+		Table ui = new Table();
+
+		ui.setFillParent(true);
+		root.addActor(ui);
+
+		ui.addActor(new Actor() {
+			@Override
+			public void act(float delta) {
+				player.advance(delta);
+				showAirspace();
+			}
+		});
+
+		ui.addListener(new InputListener() {
+			@Override
+			public boolean keyDown(InputEvent event, int keycode) {
+				switch (keycode) {
+				case Keys.SPACE:
+					player.setPaused(!player.isPaused());
+					break;
+
+				case Keys.LEFT:
+					player.seek(player.getTick() - SEEK_TICKS);
+					break;
+
+				case Keys.RIGHT:
+					player.seek(player.getTick() + SEEK_TICKS);
+					break;
+
+				case Keys.UP:
+					player.setSpeed(player.getSpeed() * 2);
+					break;
+
+				case Keys.DOWN:
+					player.setSpeed(player.getSpeed() / 2);
+					break;
+
+				case Keys.ESCAPE:
+					getGame().showMenuScreen();
+					return true;
+
+				default:
+					return false;
+				}
+
+				showAirspace();
+				return true;
+			}
+		});
+
+		root.setKeyboardFocus(ui);
+
+		airspace = player.getAirspace();
+		airspace.setTouchable(Touchable.disabled);
+
+		// tables only give raw cells
+		@SuppressWarnings("unchecked")
+		Cell<Actor> cell = ui.add(airspace);
+		airspaceCell = cell;
+
+		if (player.getGameMode() == GameMode.MULTI) {
+			airspaceCell.width(Config.MULTIPLAYER_SIZE.x).height(
+					Config.MULTIPLAYER_SIZE.y);
+		} else {
+			airspaceCell.width(Config.AIRSPACE_SIZE.x).height(
+					Config.AIRSPACE_SIZE.y);
+		}
+	}
+
+	/**
+	 * Swaps in the airspace of the player, if it has started the game again
+	 */
+	private void showAirspace() {
+		if (player.getAirspace() == airspace)
+			return;
+
+		airspace.dispose();
+
+		airspace = player.getAirspace();
+		airspace.setTouchable(Touchable.disabled);
+		airspaceCell.setWidget(airspace);
+	}
+
+	@Override
+	public void render(float delta) {
+		super.render(delta);
+
+		status.setLength(0);
+		status.append(player.getTick() / Config.SIMULATION_TICK_RATE)
+				.append(" / ")
+				.append(player.getLength() / Config.SIMULATION_TICK_RATE)
+				.append(" s   x").append(player.getSpeed());
+
+		if (player.isPaused())
+			status.append("   paused");
+
+		if (player.getDesyncTick() != -1)
+			status.append("   differs from the recording");
+
+		drawString(status, 10, 20, Color.BLACK, getStage().getSpriteBatch(),
+				false, 1);
+	}
+
+	@Override
+	public void hide() {
+		airspace.dispose();
+	}
+}
@@ -0,0 +1,220 @@
+package seprini.screens;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Collects the lines and circles drawn during a frame and draws them all at
+ * once, instead of ending the sprite batch and starting the shape renderer
+ * for every single shape.
+ * <p>
+ * Shapes are drawn in the order of their layers, and in the order they were
+ * added within a layer.
+ */
+public class ShapeQueue {
+
+	/**
+	 * Layers, from the bottom to the top
+	 */
+	public enum Layer {
+		/** static lines which are part of the map */
+		DECORATION,
+
+		/** flight plans */
+		ROUTES,
+
+		/** separation and conflict rings around aircraft */
+		RINGS,
+
+		/** debug shapes */
+		DEBUG
+	}
+
+	private static final Layer[] LAYERS = Layer.values();
+
+	// x1, y1, x2, y2 of every line, and its colour
+	private final FloatArray[] lines = new FloatArray[LAYERS.length];
+	private final IntArray[] lineColors = new IntArray[LAYERS.length];
+
+	// x, y, radius of every circle, and its colour
+	private final FloatArray[] circles = new FloatArray[LAYERS.length];
+	private final IntArray[] circleColors = new IntArray[LAYERS.length];
+
+	private final Color color = new Color();
+
+	public ShapeQueue() {
+		for (int i = 0; i < LAYERS.length; i++) {
+			lines[i] = new FloatArray();
+			lineColors[i] = new IntArray();
+			circles[i] = new FloatArray();
+			circleColors[i] = new IntArray();
+		}
+	}
+
+	public void line(Layer layer, Color color, float x, float y, float xTo,
+			float yTo) {
+		FloatArray queue = lines[layer.ordinal()];
+
+		queue.add(x);
+		queue.add(y);
+		queue.add(xTo);
+		queue.add(yTo);
+		lineColors[layer.ordinal()].add(Color.rgba8888(color));
+	}
+
+	/**
+	 * Adds a line made of short dashes
+	 *
+	 * @param dotDist
+	 *            distance between the dashes
+	 */
+	public void dottedLine(Layer layer, Color color, int dotDist, float x,
+			float y, float xTo, float yTo) {
+		float dx = xTo - x;
+		float dy = yTo - y;
+		float length = (float) Math.sqrt(dx * dx + dy * dy);
+
+		if (length == 0)
+			return;
+
+		// a dash is a single pixel long
+		dx /= length;
+		dy /= length;
+
+		for (int i = 0; i < length; i += dotDist) {
+			line(layer, color, x + dx * i, y + dy * i, x + dx * (i + 1), y
+					+ dy * (i + 1));
+		}
+	}
+
+	public void circle(Layer layer, Color color, float x, float y,
+			float radius) {
+		FloatArray queue = circles[layer.ordinal()];
+
+		queue.add(x);
+		queue.add(y);
+		queue.add(radius);
+		circleColors[layer.ordinal()].add(Color.rgba8888(color));
+	}
+
+	/**
+	 * Adds the outline of a rectangle
+	 */
+	public void rect(Layer layer, Color color, float x, float y, float width,
+			float height) {
+		line(layer, color, x, y, x + width, y);
+		line(layer, color, x + width, y, x + width, y + height);
+		line(layer, color, x + width, y + height, x, y + height);
+		line(layer, color, x, y + height, x, y);
+	}
+
+	/**
+	 * Draws and removes everything in the queue
+	 *
+	 * @param renderer
+	 * @param batch
+	 *            sprite batch which is currently drawing and has to be
+	 *            stopped meanwhile, or null
+	 */
+	public void flush(ShapeRenderer renderer, SpriteBatch batch) {
+		draw(renderer, batch);
+		clear();
+	}
+
+	/**
+	 * Draws everything in the queue, keeping it for the next time
+	 *
+	 * @param renderer
+	 * @param batch
+	 *            sprite batch which is currently drawing and has to be
+	 *            stopped meanwhile, or null
+	 */
+	public void draw(ShapeRenderer renderer, SpriteBatch batch) {
+		if (isEmpty())
+			return;
+
+		if (batch != null)
+			batch.end();
+
+		renderer.begin(ShapeType.Line);
+
+		int current = 0;
+		boolean colorSet = false;
+
+		for (int layer = 0; layer < LAYERS.length; layer++) {
+			float[] line = lines[layer].items;
+			int[] colors = lineColors[layer].items;
+
+			for (int i = 0; i < lineColors[layer].size; i++) {
+				if (!colorSet || colors[i] != current) {
+					current = colors[i];
+					colorSet = true;
+					Color.rgba8888ToColor(color, current);
+					renderer.setColor(color);
+				}
+
+				renderer.line(line[i * 4], line[i * 4 + 1], line[i * 4 + 2],
+						line[i * 4 + 3]);
+			}
+
+			float[] circle = circles[layer].items;
+			colors = circleColors[layer].items;
+
+			for (int i = 0; i < circleColors[layer].size; i++) {
+				if (!colorSet || colors[i] != current) {
+					current = colors[i];
+					colorSet = true;
+					Color.rgba8888ToColor(color, current);
+					renderer.setColor(color);
+				}
+
+				renderer.circle(circle[i * 3], circle[i * 3 + 1],
+						circle[i * 3 + 2]);
+			}
+		}
+
+		renderer.end();
+
+		if (batch != null)
+			batch.begin();
+	}
+
+	/**
+	 * Removes everything in the queue without drawing it
+	 */
+	public void clear() {
+		for (int i = 0; i < LAYERS.length; i++) {
+			lines[i].clear();
+			lineColors[i].clear();
+			circles[i].clear();
+			circleColors[i].clear();
+		}
+	}
+
+	public boolean isEmpty() {
+		for (int i = 0; i < LAYERS.length; i++) {
+			if (lineColors[i].size > 0 || circleColors[i].size > 0)
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return number of lines queued on a layer
+	 */
+	public int lineCount(Layer layer) {
+		return lineColors[layer.ordinal()].size;
+	}
+
+	/**
+	 * @return number of circles queued on a layer
+	 */
+	public int circleCount(Layer layer) {
+		return circleColors[layer.ordinal()].size;
+	}
+}
@@ -0,0 +1,39 @@
+package seprini;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import seprini.controllers.AircraftController;
+import seprini.data.GameDifficulty;
+import seprini.data.GameMode;
+
+public class HeadlessRunnerTest {
+
+	/**
+	 * Test method for
+	 * {@link seprini.HeadlessRunner#runGame(GameDifficulty, GameMode, float)}
+	 * .
+	 */
+	@Test
+	public void testRunGame() {
+		AircraftController controller = HeadlessRunner.runGame(
+				GameDifficulty.MEDIUM, GameMode.SINGLE, 120);
+
+		// either crashed or ran until the time limit
+		assertTrue(controller.gameHasEnded || controller.getTimer() >= 120);
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.HeadlessRunner#runGame(GameDifficulty, GameMode, float)}
+	 * .
+	 */
+	@Test
+	public void testRunMultiplayerGame() {
+		AircraftController controller = HeadlessRunner.runGame(
+				GameDifficulty.MEDIUM, GameMode.MULTI, 120);
+
+		assertTrue(controller.gameHasEnded || controller.getTimer() >= 120);
+	}
+}
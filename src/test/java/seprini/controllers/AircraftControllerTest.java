@@ -12,13 +12,17 @@ import java.util.ArrayList;
 import org.junit.Before;
 import org.junit.Test;
 
+import seprini.data.Config;
 import seprini.data.GameDifficulty;
 import seprini.data.GameMode;
+import seprini.data.GameState;
 import seprini.models.Aircraft;
 import seprini.models.Airspace;
 import seprini.models.Waypoint;
 import seprini.models.types.Player;
 
+import com.badlogic.gdx.Input.Keys;
+
 /**
  * @author Leslie
  * 
@@ -144,11 +148,9 @@ public class AircraftControllerTest {
 	/**
 	 * Test method for {@link seprini.controllers.AircraftController#getTimer()}
 	 * .
-	 * 
-	 * @throws InterruptedException
 	 */
 	@Test
-	public void testGetTimer() throws InterruptedException {
+	public void testGetTimer() {
 		assertEquals(aircraftController.getTimer(), 0f, 0);
 
 		aircraftController.update(0.3f);
@@ -156,6 +158,95 @@ public class AircraftControllerTest {
 		assertEquals(aircraftController.getTimer(), 0.3f, 0);
 	}
 
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.AircraftController#collisionOccured(Aircraft, Aircraft)}
+	 * . A crash must stop the simulation without blocking, and end the game
+	 * once the explosion is over.
+	 */
+	@Test
+	public void testCrash() {
+		Aircraft a = aircraftController.generateAircraft();
+		Aircraft b = aircraftController.generateAircraft();
+
+		aircraftController.lives[Player.ONE] = 1;
+
+		assertTrue(aircraftController.collisionOccured(a, b));
+		assertEquals(GameState.CRASHED, aircraftController.state);
+		assertFalse(aircraftController.gameHasEnded);
+
+		// the simulation is stopped while the explosion is shown
+		aircraftController.advance(1f);
+		assertEquals(0, aircraftController.getTimer(), 0);
+		assertFalse(aircraftController.gameHasEnded);
+
+		aircraftController.advance(Config.CRASH_DURATION);
+		assertEquals(GameState.ENDED, aircraftController.state);
+		assertTrue(aircraftController.gameHasEnded);
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.AircraftController#setTimeScale(int)}. A
+	 * faster game runs more ticks for the same frame.
+	 */
+	@Test
+	public void testTimeScale() {
+		float step = 1f / Config.SIMULATION_TICK_RATE;
+
+		assertEquals(1, aircraftController.advance(step));
+
+		aircraftController.setTimeScale(4);
+		assertEquals(4, aircraftController.advance(step));
+		assertEquals(5 * step, aircraftController.getTimer(), 1e-4);
+
+		// the final state of the frame is drawn
+		assertEquals(1, airspace.getInterpolationAlpha(), 0);
+
+		aircraftController.setTimeScale(0);
+		assertTrue(aircraftController.advance(step) > 0);
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.AircraftController#advance(float)}. A game
+	 * which has ended doesn't run any more ticks, however fast it runs.
+	 */
+	@Test
+	public void testAdvanceEnded() {
+		float step = 1f / Config.SIMULATION_TICK_RATE;
+
+		Aircraft aircraft = aircraftController.generateAircraft();
+		airspace.addActor(aircraft);
+		float x = aircraft.getX(), y = aircraft.getY();
+
+		aircraftController.endGame();
+
+		for (int i = 0; i < Config.TIME_SCALES.length; i++) {
+			aircraftController.setTimeScale(Config.TIME_SCALES[i]);
+			aircraftController.advance(step);
+
+			assertEquals(x, aircraft.getX(), 0);
+			assertEquals(y, aircraft.getY(), 0);
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.AircraftController#nextTimeScale()}.
+	 */
+	@Test
+	public void testNextTimeScale() {
+		for (int i = 1; i < Config.TIME_SCALES.length; i++) {
+			aircraftController.nextTimeScale();
+			assertEquals(Config.TIME_SCALES[i],
+					aircraftController.getTimeScale());
+		}
+
+		aircraftController.nextTimeScale();
+		assertEquals(1, aircraftController.getTimeScale());
+	}
+
 	/**
 	 * Test method for
 	 * {@link seprini.controllers.AircraftController#getPlayerScore()}.
@@ -280,6 +371,39 @@ public class AircraftControllerTest {
 	 */
 	@Test
 	public void testKeyDownInputEventInt() {
+		Aircraft aircraft = aircraftController.generateAircraft();
+		aircraftController.selectAircraft(aircraft);
+
+		aircraftController.keyDown(null, Keys.A);
+
+		// applied at the start of the next tick
+		assertFalse(aircraft.isTurningLeft());
+
+		aircraftController.update(1 / 60f);
+		assertTrue(aircraft.isTurningLeft());
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.AircraftController#keyDown(com.badlogic.gdx.scenes.scene2d.InputEvent, int)}
+	 * . The selection can still be switched while paused, other commands are
+	 * ignored.
+	 */
+	@Test
+	public void testKeyDownPaused() {
+		Aircraft aircraftA = aircraftController.generateAircraft();
+		Aircraft aircraftB = aircraftController.generateAircraft();
+		aircraftController.selectAircraft(aircraftA);
+
+		aircraftController.keyDown(null, Keys.SPACE);
+		assertTrue(aircraftController.paused);
+
+		aircraftController.keyDown(null, Keys.A);
+		aircraftController.keyDown(null, Keys.TAB);
+
+		aircraftController.update(1 / 60f);
+		assertEquals(aircraftB, aircraftController.getSelectedAircraft());
+		assertFalse(aircraftB.isTurningLeft());
 	}
 
 	/**
@@ -289,6 +413,16 @@ public class AircraftControllerTest {
 	 */
 	@Test
 	public void testKeyUpInputEventInt() {
+		Aircraft aircraft = aircraftController.generateAircraft();
+		aircraftController.selectAircraft(aircraft);
+
+		aircraftController.keyDown(null, Keys.D);
+		aircraftController.update(1 / 60f);
+		assertTrue(aircraft.isTurningRight());
+
+		aircraftController.keyUp(null, Keys.D);
+		aircraftController.update(1 / 60f);
+		assertFalse(aircraft.isTurningRight());
 	}
 
 	/**
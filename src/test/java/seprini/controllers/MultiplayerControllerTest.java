@@ -16,6 +16,7 @@ import seprini.controllers.components.FlightPlanComponent;
 import seprini.data.Art;
 import seprini.data.GameDifficulty;
 import seprini.data.GameMode;
+import seprini.data.TextureId;
 import seprini.models.Aircraft;
 import seprini.models.Airspace;
 import seprini.models.Entrypoint;
@@ -105,7 +106,7 @@ public class MultiplayerControllerTest {
 				.setMinSpeed(30f).setMaxSpeed(90f).setMaxTurningSpeed(48f)
 				.setRadius(15)
 				.setSeparationRadius(gameDifficulty.getSeparationRadius())
-				.setTexture(Art.getTextureRegion("aircraft"))
+				.setTexture(Art.getTextureRegion(TextureId.AIRCRAFT))
 				.setInitialSpeed(60f);
 
 		testAircraft = new Aircraft(aircraftType, flightplan, 0,
@@ -152,7 +153,7 @@ public class MultiplayerControllerTest {
 				.setMinSpeed(30f).setMaxSpeed(90f).setMaxTurningSpeed(48f)
 				.setRadius(15)
 				.setSeparationRadius(gameDifficulty.getSeparationRadius())
-				.setTexture(Art.getTextureRegion("aircraft"))
+				.setTexture(Art.getTextureRegion(TextureId.AIRCRAFT))
 				.setInitialSpeed(60f);
 
 		testAircraft = new Aircraft(aircraftType, flightplan, 0,
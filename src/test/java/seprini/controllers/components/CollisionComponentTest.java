@@ -0,0 +1,136 @@
+package seprini.controllers.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import seprini.data.GameDifficulty;
+import seprini.models.Aircraft;
+import seprini.models.TestAircraft;
+
+public class CollisionComponentTest {
+
+	CollisionComponent grid;
+	GameDifficulty difficulty;
+
+	int collisions, breaches;
+
+	CollisionComponent.Listener listener = new CollisionComponent.Listener() {
+		@Override
+		public boolean collisionOccured(Aircraft a, Aircraft b) {
+			collisions++;
+			return false;
+		}
+
+		@Override
+		public void separationBreached(Aircraft a, Aircraft b) {
+			breaches++;
+		}
+	};
+
+	@Before
+	public void setUp() throws Exception {
+		difficulty = new GameDifficulty(10, 3, 100, 1, 500, 5, 1);
+
+		grid = new CollisionComponent(100);
+		collisions = 0;
+		breaches = 0;
+	}
+
+	private Aircraft aircraftAt(int id, float x, float y) {
+		Aircraft aircraft = TestAircraft.create(id);
+
+		aircraft.getCoords().set(x, y);
+		grid.add(aircraft);
+
+		return aircraft;
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.CollisionComponent#move(Aircraft)}
+	 * .
+	 */
+	@Test
+	public void testMove() {
+		Aircraft aircraft = aircraftAt(0, 50, 50);
+		int cell = aircraft.getCollisionCell();
+
+		aircraft.getCoords().set(60, 60);
+		grid.move(aircraft);
+
+		assertEquals(cell, aircraft.getCollisionCell());
+
+		aircraft.getCoords().set(250, 50);
+		grid.move(aircraft);
+
+		assertFalse(cell == aircraft.getCollisionCell());
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.CollisionComponent#test(Aircraft, int, CollisionComponent.Listener)}
+	 * .
+	 */
+	@Test
+	public void testBreachAcrossCellBorder() {
+		Aircraft a = aircraftAt(0, 95, 50);
+		Aircraft b = aircraftAt(1, 105, 50);
+
+		// force both to the same altitude
+		for (int i = 0; i < 3; i++) {
+			a.increaseAltitude();
+			b.increaseAltitude();
+		}
+		a.act(60);
+		b.act(60);
+		a.getCoords().set(95, 50);
+		b.getCoords().set(105, 50);
+		grid.move(a);
+		grid.move(b);
+
+		assertFalse(grid.test(a, difficulty.getVerticalSeparationRadius(),
+				listener));
+
+		assertEquals(1, collisions);
+		assertEquals(1, breaches);
+	}
+
+	/**
+	 * Aircraft which are far apart must never reach the narrow-phase
+	 */
+	@Test
+	public void testFarApart() {
+		Aircraft a = aircraftAt(0, 50, 50);
+		aircraftAt(1, 500, 500);
+		aircraftAt(2, 1000, 50);
+
+		grid.test(a, Integer.MAX_VALUE, listener);
+
+		assertEquals(0, collisions);
+		assertEquals(0, breaches);
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.CollisionComponent#remove(Aircraft)}
+	 * .
+	 */
+	@Test
+	public void testRemove() {
+		Aircraft a = aircraftAt(0, 50, 50);
+		Aircraft b = aircraftAt(1, 60, 50);
+
+		grid.remove(b);
+
+		assertEquals(-1, b.getCollisionCell());
+		assertTrue(a.getCollisionCell() != -1);
+
+		grid.test(a, Integer.MAX_VALUE, listener);
+
+		assertEquals(0, breaches);
+	}
+}
@@ -0,0 +1,64 @@
+package seprini.controllers.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import seprini.controllers.components.Command.Action;
+
+public class CommandQueueTest {
+
+	CommandQueue queue;
+
+	@Before
+	public void setUp() throws Exception {
+		queue = new CommandQueue();
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.CommandQueue#submit(Action, int, int, int)}
+	 * . Commands are stamped with the next tick and only due once it starts.
+	 */
+	@Test
+	public void testSubmit() {
+		queue.submit(Action.CLIMB, 0, 0, 0);
+		queue.submit(Action.TURN_LEFT, 1, 0, 1);
+
+		assertNull(queue.poll());
+
+		queue.startTick();
+
+		Command command = queue.poll();
+		assertEquals(1, command.tick);
+		assertEquals(Action.CLIMB, command.action);
+
+		command = queue.poll();
+		assertEquals(Action.TURN_LEFT, command.action);
+		assertEquals(1, command.player);
+		assertEquals(1, command.value);
+
+		assertNull(queue.poll());
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.CommandQueue#poll()}. Commands
+	 * for a later tick wait for it.
+	 */
+	@Test
+	public void testPoll() {
+		Command later = new Command(3, Action.SWITCH, 0, 0, 0);
+		queue.submit(later);
+
+		queue.startTick();
+		queue.startTick();
+		assertNull(queue.poll());
+
+		queue.startTick();
+		assertSame(later, queue.poll());
+	}
+}
@@ -0,0 +1,156 @@
+package seprini.controllers.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import seprini.data.GameDifficulty;
+import seprini.models.Aircraft;
+import seprini.models.TestAircraft;
+
+public class ConflictProbeComponentTest {
+
+	GameDifficulty difficulty;
+	ConflictProbeComponent probe;
+
+	ArrayList<Aircraft> aircraftList = new ArrayList<Aircraft>();
+
+	int reported;
+	float lastTimeToConflict;
+
+	@Before
+	public void setUp() throws Exception {
+		difficulty = new GameDifficulty(10, 3, 100, 1, 500, 5, 1);
+
+		probe = new ConflictProbeComponent(30, 1, new CollisionComponent(100));
+		probe.addListener(new ConflictProbeComponent.Listener() {
+			@Override
+			public void conflictPredicted(Aircraft a, Aircraft b,
+					float timeToConflict, float missDistance) {
+				reported++;
+				lastTimeToConflict = timeToConflict;
+			}
+		});
+	}
+
+	/**
+	 * Creates an aircraft flying from the entry point towards (200, 200), at
+	 * the highest altitude level
+	 */
+	private Aircraft aircraft(int id, float entryX, float entryY,
+			float exitX, float exitY) {
+		Aircraft aircraft = TestAircraft.create(id, entryX, entryY, exitX,
+				exitY);
+
+		for (int i = 0; i < 3; i++)
+			aircraft.increaseAltitude();
+
+		aircraftList.add(aircraft);
+		return aircraft;
+	}
+
+	/**
+	 * Two aircraft flying head on must be reported before they breach
+	 */
+	@Test
+	public void testHeadOn() {
+		Aircraft a = aircraft(0, 0, 0, 500, 500);
+		Aircraft b = aircraft(1, 400, 400, 10, 50);
+
+		probe.update(aircraftList, 0, difficulty.getVerticalSeparationRadius());
+
+		assertTrue(a.isConflictPredicted());
+		assertTrue(b.isConflictPredicted());
+		assertEquals(1, reported);
+
+		// 565 pixels apart, closing at 120 pixels per second
+		assertEquals((Math.sqrt(2) * 400 - 100) / 120, lastTimeToConflict,
+				0.01);
+
+		// same course - must not be reported again
+		probe.update(aircraftList, 1, difficulty.getVerticalSeparationRadius());
+
+		assertEquals(1, reported);
+		assertTrue(a.isConflictPredicted());
+	}
+
+	/**
+	 * A pair is only evaluated again once one of the two changes course
+	 */
+	@Test
+	public void testOnlyChangedPairsEvaluated() {
+		Aircraft a = aircraft(0, 0, 0, 500, 500);
+		aircraft(1, 400, 400, 10, 50);
+
+		probe.update(aircraftList, 0, difficulty.getVerticalSeparationRadius());
+		assertEquals(1, probe.evaluations);
+
+		for (int i = 1; i < 10; i++)
+			probe.update(aircraftList, i,
+					difficulty.getVerticalSeparationRadius());
+
+		assertEquals(1, probe.evaluations);
+
+		a.increaseSpeed();
+		probe.update(aircraftList, 10, difficulty.getVerticalSeparationRadius());
+
+		assertEquals(2, probe.evaluations);
+		assertEquals(2, reported);
+	}
+
+	/**
+	 * Aircraft whose paths don't come near each other within the horizon
+	 * are never evaluated
+	 */
+	@Test
+	public void testDistantPathsNotEvaluated() {
+		aircraft(0, 0, 0, 500, 500);
+		Aircraft b = aircraft(1, 0, 0, 500, 500);
+
+		// flying in parallel, 700 pixels to the side
+		b.getCoords().set(1000, 0);
+
+		probe.update(aircraftList, 0, difficulty.getVerticalSeparationRadius());
+
+		assertEquals(0, probe.evaluations);
+		assertFalse(b.isConflictPredicted());
+	}
+
+	/**
+	 * Aircraft which are vertically separated are never in conflict
+	 */
+	@Test
+	public void testVerticallySeparated() {
+		aircraft(0, 0, 0, 500, 500);
+		Aircraft b = aircraft(1, 400, 400, 10, 50);
+
+		b.decreaseAltitude();
+
+		probe.update(aircraftList, 0, difficulty.getVerticalSeparationRadius());
+
+		assertFalse(b.isConflictPredicted());
+		assertEquals(0, reported);
+	}
+
+	/**
+	 * Aircraft flying away from each other are never in conflict
+	 */
+	@Test
+	public void testDiverging() {
+		aircraft(0, 0, 0, 500, 500);
+		Aircraft b = aircraft(1, 400, 400, 10, 50);
+
+		// move b behind a, so they fly away from each other
+		b.getCoords().set(-300, -300);
+
+		probe.update(aircraftList, 0, difficulty.getVerticalSeparationRadius());
+
+		assertFalse(b.isConflictPredicted());
+		assertEquals(0, reported);
+	}
+}
@@ -6,8 +6,6 @@ package seprini.controllers.components;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
-import java.util.ArrayList;
-
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -18,7 +16,7 @@ import seprini.controllers.AircraftController;
 import seprini.data.GameDifficulty;
 import seprini.data.GameMode;
 import seprini.models.Airspace;
-import seprini.models.Waypoint;
+import seprini.models.FlightPlan;
 
 /**
  * @author Leslie
@@ -79,7 +77,7 @@ public class FlightPlanComponentTest {
 	 */
 	@Test
 	public void testGenerate() {
-		ArrayList<Waypoint> flightPlan = flightPlanComponent.generate();
+		FlightPlan flightPlan = flightPlanComponent.generate();
 
 		assertTrue(waypointComponent.getEntryList().contains(flightPlan.get(0)));
 		assertTrue(waypointComponent.getExitList().contains(
@@ -95,7 +93,7 @@ public class FlightPlanComponentTest {
 	 */
 	@Test
 	public void testGenerateWaypoint() {
-		ArrayList<Waypoint> flightPlan = flightPlanComponent
+		FlightPlan flightPlan = flightPlanComponent
 				.generate(waypointComponent.getEntryList().get(0));
 
 		assertEquals(waypointComponent.getEntryList().get(0), flightPlan.get(0));
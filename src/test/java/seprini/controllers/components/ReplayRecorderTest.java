@@ -0,0 +1,157 @@
+package seprini.controllers.components;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import seprini.controllers.AircraftController;
+import seprini.controllers.components.Command.Action;
+import seprini.data.GameDifficulty;
+import seprini.data.GameMode;
+import seprini.data.GameState;
+import seprini.models.Aircraft;
+import seprini.models.Airspace;
+
+public class ReplayRecorderTest {
+
+	File file;
+
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("replay", ".atc");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		file.delete();
+	}
+
+	/**
+	 * Plays a game with some commands, recording it
+	 */
+	private AircraftController record(long seed, int ticks) throws Exception {
+		AircraftController controller = new AircraftController(
+				GameDifficulty.MEDIUM, new Airspace(), seed);
+		controller.setHeadless(true);
+
+		ReplayRecorder recorder = new ReplayRecorder(file, controller);
+		controller.setRecorder(recorder);
+
+		for (int i = 0; i < ticks
+				&& controller.getState() == GameState.PLAYING; i++) {
+			ArrayList<Aircraft> aircraftList = controller.getAircraftList();
+
+			if (i % 200 == 0 && !aircraftList.isEmpty()) {
+				controller.submit(Action.SELECT, 0, aircraftList.get(0)
+						.getId(), 0);
+				controller.submit(Action.TURN_LEFT, 0, 0, 1);
+				controller.submit(Action.CLIMB, 0);
+			}
+
+			if (i % 200 == 50)
+				controller.submit(Action.TURN_LEFT, 0, 0, 0);
+
+			controller.tick();
+		}
+
+		recorder.close();
+
+		return controller;
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.ReplayPlayer#seek(long)}. A
+	 * replay plays out exactly like the game which was recorded.
+	 */
+	@Test
+	public void testPlayBack() throws Exception {
+		AircraftController recorded = record(42, 3000);
+
+		ReplayPlayer player = new ReplayPlayer(file, true);
+
+		assertEquals(GameMode.SINGLE, player.getGameMode());
+		assertEquals(recorded.getTick(), player.getLength());
+
+		player.seek(player.getLength());
+
+		assertEquals(-1, player.getDesyncTick());
+		assertEquals(recorded.getTick(), player.getTick());
+		assertSameAircraft(recorded, player.getController());
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.ReplayPlayer#seek(long)}. Going
+	 * back before the first checkpoint plays the game again from the start.
+	 */
+	@Test
+	public void testSeekBack() throws Exception {
+		record(7, 1500);
+
+		ReplayPlayer player = new ReplayPlayer(file, true);
+
+		player.seek(1200);
+		AircraftController first = player.getController();
+
+		player.seek(300);
+		assertEquals(300, player.getTick());
+
+		player.seek(1200);
+		assertEquals(-1, player.getDesyncTick());
+		assertSameAircraft(first, player.getController());
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.ReplayPlayer#seek(long)}. Going
+	 * back carries on from the game kept at the keyframe before, which plays
+	 * out the same as starting again.
+	 */
+	@Test
+	public void testSeekBackToCheckpoint() throws Exception {
+		record(7, 1500);
+
+		ReplayPlayer player = new ReplayPlayer(file, true);
+
+		player.seek(1400);
+		assertArrayEquals(new long[] { 1200 }, player.getCheckpointTicks());
+
+		player.seek(1300);
+		assertEquals(1300, player.getTick());
+		assertEquals(-1, player.getDesyncTick());
+
+		// taken, a new one is on its way to replace it
+		assertArrayEquals(new long[] { 300 }, player.getCheckpointTicks());
+
+		ReplayPlayer again = new ReplayPlayer(file, true);
+		again.seek(1300);
+
+		assertSameAircraft(again.getController(), player.getController());
+	}
+
+	private static void assertSameAircraft(AircraftController expected,
+			AircraftController actual) {
+		ArrayList<Aircraft> expectedList = expected.getAircraftList();
+		ArrayList<Aircraft> actualList = actual.getAircraftList();
+
+		assertEquals(expectedList.size(), actualList.size());
+
+		for (int i = 0; i < expectedList.size(); i++) {
+			assertEquals(expectedList.get(i).getId(), actualList.get(i)
+					.getId());
+			assertEquals(expectedList.get(i).getX(), actualList.get(i).getX(),
+					0);
+			assertEquals(expectedList.get(i).getY(), actualList.get(i).getY(),
+					0);
+			assertEquals(expectedList.get(i).getAltitude(), actualList.get(i)
+					.getAltitude());
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package seprini.controllers.components;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import seprini.controllers.AircraftController;
+import seprini.data.Config;
+import seprini.data.GameDifficulty;
+import seprini.models.Airport;
+import seprini.models.Airspace;
+import seprini.models.Entrypoint;
+import seprini.models.Waypoint;
+
+public class RouteTableTest {
+
+	WaypointComponent waypointComponent;
+	RouteTable routeTable;
+
+	@Before
+	public void setUp() throws Exception {
+		AircraftController aircraftController = new AircraftController(
+				GameDifficulty.MEDIUM, new Airspace());
+
+		waypointComponent = aircraftController.waypoints;
+		routeTable = waypointComponent.getRouteTable();
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.RouteTable#routesFrom(Waypoint)}
+	 * .
+	 */
+	@Test
+	public void testRoutesFrom() {
+		for (Entrypoint entry : waypointComponent.getEntryList()) {
+			RouteTable.Routes routes = routeTable.routesFrom(entry);
+
+			assertTrue(routes.size() > 0);
+
+			for (int i = 0; i < routes.size(); i++) {
+				List<Waypoint> route = routes.getRoute(i);
+
+				assertSame(entry, route.get(0));
+				assertSame(routes.getExit(i), route.get(route.size() - 1));
+				assertTrue(entry.getCoords().dst(routes.getExit(i).getCoords()) >= Config.MIN_DIST_BETWEEN_ENTRY_EXIT_WAYPOINTS);
+			}
+		}
+	}
+
+	/**
+	 * Routes to an airport must end with the runway waypoints, routes from an
+	 * airport must start at the end of the runway
+	 */
+	@Test
+	public void testAirportRoutes() {
+		Airport airport = waypointComponent.getAirportList().get(0);
+		RouteTable.Routes routes = routeTable.routesFrom(airport);
+
+		for (int i = 0; i < routes.size(); i++) {
+			assertSame(airport.runwayEnd, routes.getRoute(i).get(1));
+		}
+
+		for (Entrypoint entry : waypointComponent.getEntryList()) {
+			routes = routeTable.routesFrom(entry);
+
+			for (int i = 0; i < routes.size(); i++) {
+				List<Waypoint> route = routes.getRoute(i);
+
+				if (routes.getExit(i) == airport)
+					assertSame(airport.runwayStart,
+							route.get(route.size() - 2));
+			}
+		}
+	}
+
+	/**
+	 * The table is built once and only rebuilt after the layout changes
+	 */
+	@Test
+	public void testRebuiltOnLayoutChange() {
+		assertSame(routeTable, waypointComponent.getRouteTable());
+
+		waypointComponent.createWaypoint(300, 300, true);
+
+		assertTrue(routeTable != waypointComponent.getRouteTable());
+	}
+
+	/**
+	 * Routes are shared between aircraft so they can't be changed
+	 */
+	@Test(expected = UnsupportedOperationException.class)
+	public void testRoutesAreImmutable() {
+		RouteTable.Routes routes = routeTable.routesFrom(waypointComponent
+				.getEntryList().get(0));
+
+		routes.getRoute(0).remove(0);
+	}
+}
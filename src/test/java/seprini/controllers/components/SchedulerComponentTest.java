@@ -0,0 +1,152 @@
+package seprini.controllers.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SchedulerComponentTest {
+
+	SchedulerComponent scheduler;
+
+	int runs;
+
+	Runnable counter = new Runnable() {
+		@Override
+		public void run() {
+			runs++;
+		}
+	};
+
+	@Before
+	public void setUp() throws Exception {
+		scheduler = new SchedulerComponent(1 / 60f);
+		runs = 0;
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.SchedulerComponent#schedule(float, Runnable)}
+	 * .
+	 */
+	@Test
+	public void testSchedule() {
+		SchedulerComponent.Timer timer = scheduler.schedule(1, counter);
+
+		assertTrue(timer.isScheduled());
+		assertEquals(1f, timer.getTimeLeft(), 0.001f);
+
+		scheduler.update(0.5f);
+		assertEquals(0, runs);
+		assertEquals(0.5f, timer.getTimeLeft(), 0.001f);
+
+		scheduler.update(0.5f);
+		assertEquals(1, runs);
+		assertFalse(timer.isScheduled());
+
+		scheduler.update(5);
+		assertEquals(1, runs);
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.SchedulerComponent#scheduleRepeating(float, float, Runnable)}
+	 * .
+	 */
+	@Test
+	public void testScheduleRepeating() {
+		SchedulerComponent.Timer timer = scheduler.scheduleRepeating(1, 2,
+				counter);
+
+		scheduler.update(1);
+		assertEquals(1, runs);
+
+		scheduler.update(4);
+		assertEquals(3, runs);
+
+		timer.cancel();
+		scheduler.update(10);
+		assertEquals(3, runs);
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.SchedulerComponent.Timer#cancel()}
+	 * .
+	 */
+	@Test
+	public void testCancel() {
+		SchedulerComponent.Timer timer = scheduler.schedule(1, counter);
+		timer.cancel();
+
+		assertFalse(timer.isScheduled());
+		assertEquals(0, timer.getTimeLeft(), 0);
+
+		scheduler.update(2);
+		assertEquals(0, runs);
+	}
+
+	/**
+	 * A task cancelling another timer due in the same tick must stop it
+	 */
+	@Test
+	public void testCancelFromTask() {
+		final SchedulerComponent.Timer[] other = new SchedulerComponent.Timer[1];
+
+		scheduler.schedule(1, new Runnable() {
+			@Override
+			public void run() {
+				other[0].cancel();
+			}
+		});
+		other[0] = scheduler.schedule(1, counter);
+
+		scheduler.update(1);
+		assertEquals(0, runs);
+	}
+
+	/**
+	 * Timers of any length, including ones cascaded down from the upper levels
+	 * of the wheel, must run on exactly the tick they are due
+	 */
+	@Test
+	public void testRandomDelays() {
+		Random rand = new Random(42);
+		final ArrayList<Long> expected = new ArrayList<Long>();
+		final ArrayList<Long> actual = new ArrayList<Long>();
+
+		// run the clock for a while first, so the wheel isn't aligned
+		for (int i = 0; i < 12345; i++)
+			scheduler.tick();
+
+		for (int i = 0; i < 500; i++) {
+			int ticks = 1 + rand.nextInt(i % 2 == 0 ? 5000 : 300000);
+			final long due = scheduler.getTick() + ticks;
+
+			expected.add(due);
+			scheduler.schedule(ticks * scheduler.getTickLength(),
+					new Runnable() {
+						@Override
+						public void run() {
+							actual.add(scheduler.getTick() - due);
+						}
+					});
+
+			for (int j = rand.nextInt(100); j > 0; j--)
+				scheduler.tick();
+		}
+
+		for (int i = 0; i < 300000; i++)
+			scheduler.tick();
+
+		assertEquals(expected.size(), actual.size());
+
+		for (Long difference : actual)
+			assertEquals(0L, (long) difference);
+	}
+}
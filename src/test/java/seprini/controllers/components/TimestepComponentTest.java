@@ -0,0 +1,89 @@
+package seprini.controllers.components;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TimestepComponentTest {
+
+	TimestepComponent timestep;
+
+	@Before
+	public void setUp() throws Exception {
+		timestep = new TimestepComponent(60, 5);
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.TimestepComponent#advance(float)}
+	 * .
+	 */
+	@Test
+	public void testAdvance() {
+		// half a tick - nothing to simulate yet
+		assertEquals(0, timestep.advance(1 / 120f));
+		assertEquals(0.5f, timestep.getAlpha(), 0.001f);
+
+		// the remainder is carried over
+		assertEquals(1, timestep.advance(1 / 120f));
+		assertEquals(0f, timestep.getAlpha(), 0.001f);
+
+		assertEquals(2, timestep.advance(2 / 60f));
+		assertEquals(3, timestep.getTick());
+	}
+
+	/**
+	 * The same amount of time must give the same number of ticks, no matter
+	 * how it's split into frames
+	 */
+	@Test
+	public void testFrameRateIndependent() {
+		TimestepComponent other = new TimestepComponent(60, 5);
+
+		int ticks = 0, otherTicks = 0;
+
+		for (int i = 0; i < 300; i++)
+			ticks += timestep.advance(1 / 30f);
+
+		for (int i = 0; i < 1440; i++)
+			otherTicks += other.advance(1 / 144f);
+
+		assertEquals(600, ticks);
+		assertEquals(600, otherTicks);
+	}
+
+	/**
+	 * A long stall must not run more than the maximum number of ticks
+	 */
+	@Test
+	public void testStall() {
+		assertEquals(5, timestep.advance(2f));
+
+		// the time that couldn't be caught up with is dropped
+		assertEquals(0, timestep.advance(0));
+	}
+
+	/**
+	 * A faster game gets a higher limit of ticks
+	 */
+	@Test
+	public void testMaxTicks() {
+		assertEquals(8, timestep.advance(8 / 60f, 40));
+		assertEquals(40, timestep.advance(2f, 40));
+		assertEquals(48, timestep.getTick());
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.controllers.components.TimestepComponent#skip(int)}.
+	 */
+	@Test
+	public void testSkip() {
+		timestep.advance(1 / 120f);
+		timestep.skip(100);
+
+		assertEquals(100, timestep.getTick());
+		assertEquals(0, timestep.advance(1 / 120f));
+	}
+}
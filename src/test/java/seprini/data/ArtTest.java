@@ -0,0 +1,33 @@
+package seprini.data;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+public class ArtTest extends FakeArtEnabler {
+
+	@AfterClass
+	public static void disableFakeArt() {
+		Art.setUseFakeArt(false);
+	}
+
+	/**
+	 * Fake art must be available for every handle, without creating new
+	 * objects on every call
+	 */
+	@Test
+	public void testFakeArt() {
+		for (TextureId id : TextureId.values()) {
+			assertNotNull(Art.getTextureRegion(id));
+			assertSame(Art.getTextureRegion(id),
+					Art.getTextureRegion(TextureId.AIRCRAFT));
+		}
+
+		for (SoundId id : SoundId.values()) {
+			assertNotNull(Art.getSound(id));
+			assertSame(Art.getSound(id), Art.getSound(SoundId.DING));
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package seprini.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+
+import org.junit.After;
+import org.junit.Test;
+
+import seprini.data.EventLog.Event;
+
+public class EventLogTest {
+
+	@After
+	public void tearDown() throws Exception {
+		EventLog.stop();
+	}
+
+	/**
+	 * Events are only formatted when written out, in the order they were
+	 * logged
+	 */
+	@Test
+	public void testLog() {
+		StringWriter out = new StringWriter();
+
+		EventLog.start(out);
+		EventLog.log(Event.SPAWN, 3, 10, 20, 4);
+		EventLog.log(Event.REDIRECT, 3, 100.4f, 200.6f);
+		EventLog.log(Event.TAKEOFF, 7);
+		EventLog.stop();
+
+		String[] lines = out.toString().split("\n");
+
+		assertEquals(3, lines.length);
+		assertTrue(lines[0].endsWith("aircraft 3 spawned at (10, 20), 4 waypoints"));
+		assertTrue(lines[1].endsWith("aircraft 3 redirected to (100, 201)"));
+		assertTrue(lines[2].endsWith("aircraft 7 took off"));
+	}
+
+	/**
+	 * Nothing is kept while the log isn't running
+	 */
+	@Test
+	public void testStopped() {
+		StringWriter out = new StringWriter();
+
+		EventLog.log(Event.TAKEOFF, 1);
+
+		EventLog.start(out);
+		EventLog.stop();
+
+		EventLog.log(Event.TAKEOFF, 2);
+
+		assertEquals("", out.toString());
+	}
+}
@@ -0,0 +1,65 @@
+package seprini.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class HistogramTest {
+
+	Histogram histogram;
+
+	@Before
+	public void setUp() throws Exception {
+		histogram = new Histogram();
+	}
+
+	/**
+	 * Every value falls into a bucket whose bounds contain it, and buckets
+	 * follow each other without gaps
+	 */
+	@Test
+	public void testBuckets() {
+		long[] values = { 0, 1, 3, 4, 7, 8, 1000, 16666667, Long.MAX_VALUE };
+
+		for (long value : values) {
+			int bucket = Histogram.bucketOf(value);
+
+			assertTrue(bucket < Histogram.BUCKETS);
+			assertTrue(value <= Histogram.upperBound(bucket));
+
+			if (bucket > 0)
+				assertTrue(value > Histogram.upperBound(bucket - 1));
+		}
+
+		for (int i = 1; i < Histogram.BUCKETS; i++)
+			assertEquals(i, Histogram.bucketOf(Histogram.upperBound(i - 1) + 1));
+	}
+
+	/**
+	 * Test method for {@link seprini.data.Histogram#percentile(double)}.
+	 */
+	@Test
+	public void testPercentile() {
+		assertEquals(0, histogram.percentile(0.5));
+
+		for (int i = 1; i <= 100; i++)
+			histogram.record(i * 1000000L);
+
+		assertEquals(100, histogram.getCount());
+		assertEquals(100000000L, histogram.getMax());
+
+		// accurate to within a quarter
+		long p50 = histogram.percentile(0.5);
+		assertTrue(p50 >= 50000000L && p50 <= 50000000L * 5 / 4);
+
+		long p99 = histogram.percentile(0.99);
+		assertTrue(p99 >= 99000000L && p99 <= 100000000L);
+
+		histogram.reset();
+
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+	}
+}
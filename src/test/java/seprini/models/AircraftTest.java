@@ -7,9 +7,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -17,9 +19,12 @@ import seprini.controllers.components.FlightPlanComponent;
 import seprini.data.Art;
 import seprini.data.GameDifficulty;
 import seprini.data.GameMode;
+import seprini.data.TextureId;
 import seprini.models.types.AircraftType;
 import seprini.models.types.Player;
 
+import com.sun.management.ThreadMXBean;
+
 /**
  * @author Leslie
  * 
@@ -34,13 +39,27 @@ public class AircraftTest {
 
 	ArrayList<Entrypoint> entrypoints = new ArrayList<Entrypoint>();
 
+	GameDifficulty gameDifficulty;
+
+	AircraftType aircraftType;
+
+	// used by testActDoesNotAllocate
+	ThreadMXBean threadBean;
+
+	long thread, overhead;
+
+	Airport airport;
+
+	FlightPlanComponent routes;
+
+	int landings, goArounds, exits, outOfBounds;
+
 	/**
 	 * @throws java.lang.Exception
 	 */
 	@Before
 	public void setUp() throws Exception {
-		GameDifficulty gameDifficulty = new GameDifficulty(10, 3, 100, 1, 500,
-				5, 1);
+		gameDifficulty = new GameDifficulty(10, 3, 100, 1, 500, 5, 1);
 
 		waypoints.add(new Waypoint(200, 200, true));
 
@@ -52,11 +71,11 @@ public class AircraftTest {
 		FlightPlanComponent flightplan = new FlightPlanComponent(waypoints,
 				exitpoints, entrypoints);
 
-		AircraftType aircraftType = new AircraftType().setMaxClimbRate(600)
+		aircraftType = new AircraftType().setMaxClimbRate(600)
 				.setMinSpeed(30f).setMaxSpeed(90f).setMaxTurningSpeed(48f)
 				.setRadius(15)
 				.setSeparationRadius(gameDifficulty.getSeparationRadius())
-				.setTexture(Art.getTextureRegion("aircraft"))
+				.setTexture(Art.getTextureRegion(TextureId.AIRCRAFT))
 				.setInitialSpeed(60f);
 
 		aircraft = new Aircraft(aircraftType, flightplan, 0, GameMode.SINGLE,
@@ -78,6 +97,119 @@ public class AircraftTest {
 	public void testAct() {
 	}
 
+	/**
+	 * Once warmed up, updating an aircraft must not allocate any memory, all
+	 * the way along its route - reaching waypoints, going around and landing
+	 * at an airport, taking off again and leaving the screen
+	 */
+	@Test
+	public void testActDoesNotAllocate() {
+		Assume.assumeTrue(ManagementFactory.getThreadMXBean()
+				instanceof ThreadMXBean);
+
+		threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+		Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		thread = Thread.currentThread().getId();
+
+		// cost of measuring itself
+		long before = threadBean.getThreadAllocatedBytes(thread);
+		overhead = threadBean.getThreadAllocatedBytes(thread) - before;
+
+		airport = new Airport(900, 200, true);
+
+		exitpoints.add(airport);
+
+		routes = new FlightPlanComponent(waypoints, exitpoints, entrypoints);
+
+		// warm up
+		flyRoutes(300);
+
+		landings = goArounds = exits = outOfBounds = 0;
+
+		assertEquals(0, flyRoutes(300));
+
+		// every part of the route has been measured
+		assertTrue(landings > 0);
+		assertTrue(goArounds > 0);
+		assertTrue(exits > 0);
+		assertTrue(outOfBounds > 0);
+	}
+
+	/**
+	 * Flies aircraft along their whole routes, to the exit point or the
+	 * airport and from there on to an exit point. Some of them are flown off
+	 * the screen by hand, some are kept too high to land the first time.
+	 * 
+	 * @return bytes allocated by updating the aircraft
+	 */
+	private long flyRoutes(int count) {
+		long allocated = 0;
+
+		for (int i = 0; i < count; i++) {
+			Aircraft aircraft = new Aircraft(aircraftType, routes, i,
+					GameMode.SINGLE, gameDifficulty);
+
+			allocated += fly(aircraft, i % 3 == 0, i % 2 == 0);
+
+			if (airport.aircraftList.remove(aircraft)) {
+				landings++;
+
+				aircraft.takingOff();
+				allocated += fly(aircraft, false, false);
+			}
+
+			if (aircraft.getFlightPlan().isEmpty())
+				exits++;
+			else
+				outOfBounds++;
+		}
+
+		return allocated;
+	}
+
+	/**
+	 * Acts until the aircraft has left the airspace
+	 * 
+	 * @param offScreen
+	 *            whether to turn it off its route
+	 * @param goAround
+	 *            whether to keep it too high to land on its first approach
+	 * @return bytes allocated by acting
+	 */
+	private long fly(Aircraft aircraft, boolean offScreen, boolean goAround) {
+		long allocated = 0;
+
+		for (int tick = 0; aircraft.isActive(); tick++) {
+			// commands are given between the ticks, like the controller does
+			if (offScreen && tick == 60)
+				aircraft.turnRight(true);
+			else if (offScreen && tick == 120)
+				aircraft.turnRight(false);
+
+			if (goAround && aircraft.getFlightPlan().size() == 1)
+				aircraft.increaseAltitude();
+
+			int size = aircraft.getFlightPlan().size();
+
+			long before = threadBean.getThreadAllocatedBytes(thread);
+			aircraft.act(1 / 60f);
+			allocated += threadBean.getThreadAllocatedBytes(thread) - before
+					- overhead;
+
+			if (aircraft.isActive() && aircraft.getFlightPlan().size() > size) {
+				goArounds++;
+				goAround = false;
+			}
+
+			assertTrue(tick < 100000);
+		}
+
+		return allocated;
+	}
+
 	/**
 	 * Test method for
 	 * {@link seprini.models.Aircraft#additionalDraw(com.badlogic.gdx.graphics.g2d.SpriteBatch)}
@@ -109,6 +241,93 @@ public class AircraftTest {
 		assertEquals(aircraft.waypoints.get(0), testWaypoint);
 	}
 
+	/**
+	 * A waypoint inserted on a straight leg is reached, even though the
+	 * arrival at the old one has already been predicted
+	 */
+	@Test
+	public void testInsertWaypointOnStraightLeg() {
+		for (int i = 0; i < 30; i++)
+			aircraft.act(1 / 60f);
+
+		assertTrue(aircraft.getClearTicks() > 0);
+
+		// just ahead, so the aircraft doesn't turn towards it
+		Waypoint here = new Waypoint(aircraft.getX() + 1,
+				aircraft.getY() + 1, true);
+		aircraft.insertWaypoint(here);
+
+		aircraft.act(1 / 60f);
+
+		assertFalse(aircraft.getNextWaypoint() == here);
+	}
+
+	/**
+	 * Speeding up on a straight leg drops the arrival predicted at the old
+	 * speed
+	 */
+	@Test
+	public void testIncreaseSpeedOnStraightLeg() {
+		for (int i = 0; i < 30; i++)
+			aircraft.act(1 / 60f);
+
+		assertTrue(aircraft.getClearTicks() > 0);
+
+		aircraft.increaseSpeed();
+		aircraft.act(1 / 60f);
+
+		assertEquals(0, aircraft.getClearTicks());
+
+		// predicted again at the new speed
+		aircraft.act(1 / 60f);
+
+		assertTrue(aircraft.getClearTicks() > 0);
+	}
+
+	/**
+	 * Turning off a straight leg drops the predicted arrival, and nothing is
+	 * predicted while turning
+	 */
+	@Test
+	public void testTurnLeftOnStraightLeg() {
+		for (int i = 0; i < 30; i++)
+			aircraft.act(1 / 60f);
+
+		assertTrue(aircraft.getClearTicks() > 0);
+
+		aircraft.turnLeft(true);
+
+		for (int i = 0; i < 30; i++) {
+			aircraft.act(1 / 60f);
+			assertEquals(0, aircraft.getClearTicks());
+		}
+	}
+
+	/**
+	 * Returning to the flight plan after flying straight by hand drops the
+	 * arrival predicted on the hand flown leg
+	 */
+	@Test
+	public void testReturnToPathOnStraightLeg() {
+		aircraft.turnLeft(true);
+
+		for (int i = 0; i < 60; i++)
+			aircraft.act(1 / 60f);
+
+		// carries on straight, away from the flight plan
+		aircraft.turnLeft(false);
+
+		for (int i = 0; i < 30; i++)
+			aircraft.act(1 / 60f);
+
+		assertTrue(aircraft.getClearTicks() > 0);
+
+		aircraft.returnToPath();
+		aircraft.act(1 / 60f);
+
+		assertEquals(0, aircraft.getClearTicks());
+	}
+
 	/**
 	 * Test method for {@link seprini.models.Aircraft#getNextWaypoint()}.
 	 */
@@ -4,6 +4,9 @@
 package seprini.models;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -11,6 +14,9 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import seprini.controllers.components.SchedulerComponent;
+import seprini.data.Config;
+
 /**
  * @author Leslie
  * 
@@ -108,6 +114,21 @@ public class AirportTest {
 	 */
 	@Test
 	public void testInsertAircraft() {
+		SchedulerComponent scheduler = new SchedulerComponent(1 / 60f);
+		airport.setScheduler(scheduler);
+
+		Aircraft aircraft = TestAircraft.create(0);
+		airport.insertAircraft(aircraft);
+
+		assertTrue(airport.waitingAircraft.contains(aircraft));
+		assertEquals(Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY,
+				airport.getBoardingTimeLeft(0), 0.01f);
+
+		// boarded once the delay is over
+		scheduler.update(Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY);
+
+		assertTrue(airport.waitingAircraft.isEmpty());
+		assertTrue(airport.aircraftList.contains(aircraft));
 	}
 
 	/**
@@ -115,6 +136,55 @@ public class AirportTest {
 	 */
 	@Test
 	public void testTakeoff() {
+		SchedulerComponent scheduler = new SchedulerComponent(1 / 60f);
+		airport.setScheduler(scheduler);
+
+		Aircraft first = TestAircraft.create(0);
+		Aircraft second = TestAircraft.create(1);
+
+		airport.insertAircraft(first);
+		airport.insertAircraft(second);
+		scheduler.update(Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY);
+
+		assertEquals(first, airport.takeoff(0));
+
+		// the runway is busy for a while after a takeoff
+		assertFalse(airport.takeoffReady);
+		assertNull(airport.takeoff(0));
+		assertEquals(airport.timeTillFreeRunway,
+				airport.getTakeoffTimeLeft(), 0.01f);
+
+		scheduler.update(airport.timeTillFreeRunway);
+
+		assertTrue(airport.takeoffReady);
+		assertEquals(second, airport.takeoff(0));
+	}
+
+	/**
+	 * Test method for {@link seprini.models.Airport#getSlot(int)}.
+	 */
+	@Test
+	public void testGetSlot() {
+		SchedulerComponent scheduler = new SchedulerComponent(1 / 60f);
+		airport.setScheduler(scheduler);
+
+		assertEquals(Airport.SLOT_EMPTY, airport.getSlot(0));
+
+		Aircraft ready = TestAircraft.create(0);
+		Aircraft boarding = TestAircraft.create(1);
+
+		airport.insertAircraft(ready);
+		scheduler.update(Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY);
+		airport.insertAircraft(boarding);
+
+		assertEquals(ready, airport.aircraftList.get(0));
+		assertEquals(boarding, airport.waitingAircraft.get(0));
+
+		// ready ones first, then the boarding ones
+		assertEquals(Airport.SLOT_READY, airport.getSlot(0));
+		assertEquals(Config.AIRCRAFT_TAKEOFF_AND_LANDING_DELAY,
+				airport.getSlot(1));
+		assertEquals(Airport.SLOT_EMPTY, airport.getSlot(2));
 	}
 
 }
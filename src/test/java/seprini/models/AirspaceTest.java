@@ -0,0 +1,158 @@
+package seprini.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import seprini.data.Config;
+import seprini.data.GameMode;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+
+public class AirspaceTest {
+
+	Airspace airspace;
+
+	@Before
+	public void setUp() throws Exception {
+		airspace = new Airspace();
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.models.Airspace#addActor(com.badlogic.gdx.scenes.scene2d.Actor)}
+	 * . The map and waypoints go into the static layer, anything else stays
+	 * in the airspace itself.
+	 */
+	@Test
+	public void testAddActor() {
+		GameMap map = new GameMap(GameMode.SINGLE);
+		Waypoint waypoint = new Waypoint(100, 100, true);
+		Airport airport = new Airport(250, 250, true);
+		Actor other = new Actor();
+
+		airspace.addActor(map);
+		airspace.addActor(waypoint);
+		airspace.addActor(airport);
+		airspace.addActor(other);
+
+		StaticLayer staticLayer = airspace.getStaticLayer();
+
+		assertSame(staticLayer, map.getParent());
+		assertSame(staticLayer, waypoint.getParent());
+		assertSame(staticLayer, airport.getParent());
+		assertSame(airspace, other.getParent());
+
+		// the static layer is drawn first, then the altitude bands
+		assertSame(staticLayer, airspace.getChildren().get(0));
+		assertSame(airspace.getAltitudeBand(0), airspace.getChildren().get(1));
+		assertSame(other, airspace.getChildren().peek());
+	}
+
+	/**
+	 * Aircraft are kept in the band of their altitude, and moved when they
+	 * climb past a level
+	 */
+	@Test
+	public void testAltitudeBands() {
+		Aircraft aircraft = TestAircraft.create(0);
+
+		airspace.addActor(aircraft);
+
+		assertSame(
+				airspace.getAltitudeBand(Airspace.bandOf(aircraft
+						.getAltitude())), aircraft.getParent());
+
+		aircraft.takingOff();
+		airspace.step(0.1f);
+
+		assertSame(airspace.getAltitudeBand(0), aircraft.getParent());
+
+		// climb past the first level
+		while (aircraft.getAltitude() < Config.ALTITUDES[1])
+			airspace.step(0.1f);
+
+		assertSame(airspace.getAltitudeBand(1), aircraft.getParent());
+		assertEquals(1, airspace.getAltitudeBand(1).getChildren().size);
+		assertEquals(0, airspace.getAltitudeBand(0).getChildren().size);
+	}
+
+	/**
+	 * Test method for {@link seprini.models.Airspace#bandOf(int)}.
+	 */
+	@Test
+	public void testBandOf() {
+		assertEquals(0, Airspace.bandOf(0));
+		assertEquals(0, Airspace.bandOf(999));
+		assertEquals(1, Airspace.bandOf(1000));
+		assertEquals(3, Airspace.bandOf(7500));
+		assertEquals(Config.ALTITUDES.length - 1, Airspace.bandOf(20000));
+	}
+
+	/**
+	 * Aircraft integrated in parallel end up exactly where they would have
+	 * been updated one by one
+	 */
+	@Test
+	public void testParallelParity() {
+		Airspace parallel = new Airspace();
+		Airspace serial = new Airspace();
+
+		parallel.setParallelThreshold(0);
+		serial.setParallelThreshold(Integer.MAX_VALUE);
+
+		ArrayList<Aircraft> parallelAircraft = new ArrayList<Aircraft>();
+		ArrayList<Aircraft> serialAircraft = new ArrayList<Aircraft>();
+
+		for (int i = 0; i < 300; i++) {
+			Aircraft a = TestAircraft.create(0);
+			Aircraft b;
+
+			// the starting altitude is random
+			do {
+				b = TestAircraft.create(0);
+			} while (b.getAltitude() != a.getAltitude());
+
+			a.getCoords().set(20 + i * 3, 400 - i);
+			b.getCoords().set(20 + i * 3, 400 - i);
+
+			if (i % 3 == 0) {
+				a.decreaseAltitude();
+				b.decreaseAltitude();
+			}
+
+			parallel.addActor(a);
+			serial.addActor(b);
+
+			parallelAircraft.add(a);
+			serialAircraft.add(b);
+		}
+
+		for (int tick = 0; tick < 600; tick++) {
+			parallel.step(1 / 60f);
+			serial.step(1 / 60f);
+		}
+
+		for (int i = 0; i < parallelAircraft.size(); i++) {
+			Aircraft a = parallelAircraft.get(i);
+			Aircraft b = serialAircraft.get(i);
+
+			assertEquals(Float.floatToIntBits(b.getX()),
+					Float.floatToIntBits(a.getX()));
+			assertEquals(Float.floatToIntBits(b.getY()),
+					Float.floatToIntBits(a.getY()));
+			assertEquals(Float.floatToIntBits(b.getRotation()),
+					Float.floatToIntBits(a.getRotation()));
+			assertEquals(b.getAltitude(), a.getAltitude());
+			assertEquals(b.isActive(), a.isActive());
+			assertSame(b.getParent(), serial.getAltitudeBand(Airspace
+					.bandOf(b.getAltitude())));
+			assertSame(a.getParent(), parallel.getAltitudeBand(Airspace
+					.bandOf(a.getAltitude())));
+		}
+	}
+}
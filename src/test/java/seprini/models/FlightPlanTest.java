@@ -0,0 +1,107 @@
+package seprini.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FlightPlanTest {
+
+	Waypoint a, b, c, x, y;
+	List<Waypoint> route;
+	FlightPlan flightPlan;
+
+	@Before
+	public void setUp() throws Exception {
+		a = new Waypoint(0, 0, true);
+		b = new Waypoint(100, 0, true);
+		c = new Waypoint(200, 0, true);
+		x = new Waypoint(0, 100, true);
+		y = new Waypoint(0, 200, true);
+
+		route = Arrays.asList(a, b, c);
+		flightPlan = new FlightPlan(route);
+	}
+
+	/**
+	 * Test method for {@link seprini.models.FlightPlan#removeFirst()}.
+	 */
+	@Test
+	public void testRemoveFirst() {
+		assertSame(a, flightPlan.removeFirst());
+		assertSame(b, flightPlan.get(0));
+		assertEquals(2, flightPlan.size());
+
+		// the shared route is left as it was
+		assertEquals(3, route.size());
+		assertSame(a, route.get(0));
+	}
+
+	/**
+	 * Test method for {@link seprini.models.FlightPlan#getRevision()}.
+	 */
+	@Test
+	public void testGetRevision() {
+		int revision = flightPlan.getRevision();
+
+		flightPlan.insert(x);
+		assertTrue(flightPlan.getRevision() != revision);
+
+		revision = flightPlan.getRevision();
+		flightPlan.removeFirst();
+		assertTrue(flightPlan.getRevision() != revision);
+	}
+
+	/**
+	 * Test method for {@link seprini.models.FlightPlan#insert(Waypoint)}.
+	 */
+	@Test
+	public void testInsert() {
+		flightPlan.removeFirst();
+		flightPlan.insert(x);
+
+		assertEquals(Arrays.asList(x, b, c), flightPlan);
+
+		flightPlan.removeFirst();
+
+		assertEquals(Arrays.asList(b, c), flightPlan);
+	}
+
+	/**
+	 * Test method for {@link seprini.models.FlightPlan#insert(List)}.
+	 */
+	@Test
+	public void testInsertSegment() {
+		List<Waypoint> segment = Arrays.asList(x, y);
+
+		flightPlan.insert(segment);
+		flightPlan.insert(c);
+
+		assertEquals(Arrays.asList(c, x, y, a, b, c), flightPlan);
+
+		flightPlan.removeFirst();
+		flightPlan.removeFirst();
+
+		assertEquals(Arrays.asList(y, a, b, c), flightPlan);
+		assertSame(c, flightPlan.get(flightPlan.size() - 1));
+
+		// the segment can still be used by another flight plan
+		assertEquals(2, segment.size());
+	}
+
+	/**
+	 * Test method for {@link seprini.models.FlightPlan#clear()}.
+	 */
+	@Test
+	public void testClear() {
+		flightPlan.insert(x);
+		flightPlan.clear();
+
+		assertTrue(flightPlan.isEmpty());
+	}
+}
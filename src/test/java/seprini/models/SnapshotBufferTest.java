@@ -0,0 +1,56 @@
+package seprini.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SnapshotBufferTest {
+
+	private SnapshotBuffer buffer;
+
+	@Before
+	public void setUp() throws Exception {
+		buffer = new SnapshotBuffer();
+	}
+
+	/**
+	 * Test method for {@link seprini.models.SnapshotBuffer#latest()}. The
+	 * reader gets the last published snapshot, and keeps it until a newer
+	 * one is published.
+	 */
+	@Test
+	public void testLatest() {
+		buffer.back().timer = 1;
+		buffer.publish();
+
+		WorldSnapshot latest = buffer.latest();
+		assertEquals(1, latest.timer, 0);
+		assertSame(latest, buffer.latest());
+
+		buffer.back().timer = 2;
+		buffer.publish();
+		buffer.back().timer = 3;
+		buffer.publish();
+
+		assertEquals(3, buffer.latest().timer, 0);
+	}
+
+	/**
+	 * Test method for {@link seprini.models.SnapshotBuffer#back()}. The writer
+	 * never gets the snapshot the reader is using.
+	 */
+	@Test
+	public void testBack() {
+		for (int i = 0; i < 10; i++) {
+			buffer.publish();
+			WorldSnapshot latest = buffer.latest();
+
+			assertNotSame(latest, buffer.back());
+			buffer.publish();
+			assertNotSame(latest, buffer.back());
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package seprini.models;
+
+import java.util.ArrayList;
+
+import seprini.controllers.components.FlightPlanComponent;
+import seprini.data.GameDifficulty;
+import seprini.data.GameMode;
+import seprini.models.types.AircraftType;
+
+/**
+ * Creates aircraft for tests, flying a short route through (200, 200)
+ */
+public class TestAircraft {
+
+	private TestAircraft() {
+	}
+
+	/**
+	 * @return aircraft flying from (0, 0) through (200, 200) to (500, 500)
+	 */
+	public static Aircraft create(int id) {
+		return create(id, 0, 0, 500, 500);
+	}
+
+	/**
+	 * @return aircraft flying from the entry point through (200, 200) to the
+	 *         exit point
+	 */
+	public static Aircraft create(int id, float entryX, float entryY,
+			float exitX, float exitY) {
+		ArrayList<Waypoint> waypoints = new ArrayList<Waypoint>();
+		ArrayList<Waypoint> exitpoints = new ArrayList<Waypoint>();
+		ArrayList<Entrypoint> entrypoints = new ArrayList<Entrypoint>();
+
+		waypoints.add(new Waypoint(200, 200, true));
+		exitpoints.add(new Waypoint(exitX, exitY, true));
+		entrypoints.add(new Entrypoint(entryX, entryY));
+
+		return new Aircraft(new AircraftType().setMaxClimbRate(600)
+				.setMinSpeed(30f).setMaxSpeed(90f).setMaxTurningSpeed(48f)
+				.setRadius(15).setSeparationRadius(100).setInitialSpeed(60f),
+				new FlightPlanComponent(waypoints, exitpoints, entrypoints), id,
+				GameMode.SINGLE, GameDifficulty.MEDIUM);
+	}
+}
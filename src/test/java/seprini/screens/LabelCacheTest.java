@@ -0,0 +1,144 @@
+package seprini.screens;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+public class LabelCacheTest {
+
+	BitmapFont font;
+	int created;
+
+	LabelCache.Factory factory = new LabelCache.Factory() {
+		@Override
+		public BitmapFont getFont() {
+			return font;
+		}
+
+		@Override
+		public BitmapFontCache newCache(BitmapFont font) {
+			created++;
+			return new BitmapFontCache(font);
+		}
+	};
+
+	@Before
+	public void setUp() throws Exception {
+		font = font();
+		created = 0;
+	}
+
+	/**
+	 * A font without any glyphs, which doesn't need a graphics system
+	 */
+	private static BitmapFont font() {
+		return new BitmapFont(new BitmapFont.BitmapFontData(),
+				new TextureRegion(), false);
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.screens.LabelCache#get(int, com.badlogic.gdx.graphics.Color)}
+	 * . A label is only laid out the first time it's drawn.
+	 */
+	@Test
+	public void testGet() {
+		LabelCache labels = new LabelCache("alt: ", 10, factory);
+
+		BitmapFontCache label = labels.get(5000, Color.GREEN);
+
+		assertSame(label, labels.get(5000, Color.GREEN));
+		assertEquals(1, created);
+
+		assertNotSame(label, labels.get(5000, Color.ORANGE));
+		assertNotSame(label, labels.get(10000, Color.GREEN));
+		assertEquals(3, created);
+		assertEquals(3, labels.size());
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.screens.LabelCache#get(int, com.badlogic.gdx.graphics.Color)}
+	 * . Once full, the labels are thrown away and their caches reused.
+	 */
+	@Test
+	public void testGetFull() {
+		LabelCache labels = new LabelCache("alt: ", 2, factory);
+
+		BitmapFontCache first = labels.get(5000, Color.GREEN);
+		BitmapFontCache second = labels.get(10000, Color.GREEN);
+
+		BitmapFontCache third = labels.get(15000, Color.GREEN);
+		BitmapFontCache fourth = labels.get(5000, Color.GREEN);
+
+		assertEquals(2, created);
+		assertEquals(2, labels.size());
+
+		// both old caches are reused, one for each new label
+		assertNotSame(third, fourth);
+		assertSame(first, (third == first) ? third : fourth);
+		assertSame(second, (third == second) ? third : fourth);
+
+		// full again
+		labels.get(10000, Color.GREEN);
+
+		assertEquals(2, created);
+		assertEquals(1, labels.size());
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.screens.LabelCache#get(int, com.badlogic.gdx.graphics.Color)}
+	 * . Labels laid out with an old font are thrown away, including the
+	 * reusable ones.
+	 */
+	@Test
+	public void testGetFontChanged() {
+		LabelCache labels = new LabelCache("alt: ", 2, factory);
+
+		labels.get(5000, Color.GREEN);
+		labels.get(10000, Color.GREEN);
+		BitmapFontCache old = labels.get(15000, Color.GREEN);
+
+		font = font();
+
+		BitmapFontCache label = labels.get(15000, Color.GREEN);
+
+		assertNotSame(old, label);
+		assertSame(font, label.getFont());
+		assertEquals(3, created);
+		assertEquals(1, labels.size());
+
+		// the old cache left over from the first font isn't reused
+		labels.get(5000, Color.GREEN);
+
+		assertEquals(4, created);
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.screens.LabelCache#key(int, com.badlogic.gdx.graphics.Color)}
+	 * . Labels are told apart by both the number and the colour.
+	 */
+	@Test
+	public void testKey() {
+		assertEquals(LabelCache.key(5000, Color.GREEN),
+				LabelCache.key(5000, new Color(Color.GREEN)));
+
+		assertNotEquals(LabelCache.key(5000, Color.GREEN),
+				LabelCache.key(5000, Color.ORANGE));
+		assertNotEquals(LabelCache.key(5000, Color.GREEN),
+				LabelCache.key(5001, Color.GREEN));
+		assertNotEquals(LabelCache.key(-1, Color.RED),
+				LabelCache.key(0, Color.RED));
+	}
+}
@@ -0,0 +1,77 @@
+package seprini.screens;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import seprini.screens.ShapeQueue.Layer;
+
+import com.badlogic.gdx.graphics.Color;
+
+public class ShapeQueueTest {
+
+	ShapeQueue shapes;
+
+	@Before
+	public void setUp() throws Exception {
+		shapes = new ShapeQueue();
+	}
+
+	/**
+	 * Shapes are kept apart by layer
+	 */
+	@Test
+	public void testLayers() {
+		assertTrue(shapes.isEmpty());
+
+		shapes.line(Layer.ROUTES, Color.RED, 0, 0, 10, 10);
+		shapes.line(Layer.ROUTES, Color.BLUE, 10, 10, 20, 0);
+		shapes.circle(Layer.RINGS, Color.YELLOW, 5, 5, 100);
+
+		assertFalse(shapes.isEmpty());
+		assertEquals(2, shapes.lineCount(Layer.ROUTES));
+		assertEquals(0, shapes.circleCount(Layer.ROUTES));
+		assertEquals(1, shapes.circleCount(Layer.RINGS));
+		assertEquals(0, shapes.lineCount(Layer.DEBUG));
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.screens.ShapeQueue#dottedLine(Layer, Color, int, float, float, float, float)}
+	 * .
+	 */
+	@Test
+	public void testDottedLine() {
+		shapes.dottedLine(Layer.DECORATION, Color.RED, 3, 640, 0, 640, 720);
+
+		assertEquals(240, shapes.lineCount(Layer.DECORATION));
+	}
+
+	/**
+	 * Test method for
+	 * {@link seprini.screens.ShapeQueue#rect(Layer, Color, float, float, float, float)}
+	 * .
+	 */
+	@Test
+	public void testRect() {
+		shapes.rect(Layer.DEBUG, Color.RED, 0, 0, 10, 20);
+
+		assertEquals(4, shapes.lineCount(Layer.DEBUG));
+	}
+
+	/**
+	 * Test method for {@link seprini.screens.ShapeQueue#clear()}.
+	 */
+	@Test
+	public void testClear() {
+		shapes.line(Layer.ROUTES, Color.RED, 0, 0, 10, 10);
+		shapes.circle(Layer.RINGS, Color.YELLOW, 5, 5, 100);
+
+		shapes.clear();
+
+		assertTrue(shapes.isEmpty());
+	}
+}